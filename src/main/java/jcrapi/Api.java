@@ -17,8 +17,13 @@
 package jcrapi;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
 
+import org.reactivestreams.Publisher;
+
+import java.io.Closeable;
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import jcrapi.model.AuthStats;
 import jcrapi.model.Battle;
@@ -82,7 +87,7 @@ import jcrapi.request.TournamentsRequest;
 /**
  * @author Michael Lieshoff
  */
-public class Api {
+public class Api implements Closeable {
 
   private final ClientFactory clientFactory;
 
@@ -98,6 +103,10 @@ public class Api {
     this(url, developerKey, new ClientFactory(), authMode);
   }
 
+  public Api(String url, String developerKey, AuthMode authMode, ApiConfig apiConfig) {
+    this(url, developerKey, new ClientFactory(apiConfig), authMode);
+  }
+
   Api(String url, String developerKey, ClientFactory clientFactory, AuthMode authMode) {
     checkString(url, "url");
     checkString(developerKey, "developerKey");
@@ -124,6 +133,27 @@ public class Api {
     return clientFactory.createClient(url, developerKey, authMode);
   }
 
+  @Override
+  public void close() {
+    try {
+      clientFactory.close();
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public Batch batch() {
+    return new Batch(createClient());
+  }
+
+  public CacheStats getCacheStats() {
+    return createClient().getCacheStats();
+  }
+
+  public MemoryUsage getMemoryUsage() {
+    return createClient().getMemoryUsage();
+  }
+
   public Profile getProfile(ProfileRequest profileRequest) {
     Preconditions.checkNotNull(profileRequest, "profileRequest");
     try {
@@ -133,6 +163,15 @@ public class Api {
     }
   }
 
+  public Polled<Profile> pollProfile(ProfileRequest profileRequest) {
+    Preconditions.checkNotNull(profileRequest, "profileRequest");
+    try {
+      return createClient().pollProfile(profileRequest);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
   public List<Profile> getProfiles(ProfilesRequest profilesRequest) {
     Preconditions.checkNotNull(profilesRequest, "profilesRequest");
     try {
@@ -142,6 +181,11 @@ public class Api {
     }
   }
 
+  public Publisher<Profile> getProfilesPublisher(ProfilesRequest profilesRequest) {
+    Preconditions.checkNotNull(profilesRequest, "profilesRequest");
+    return createClient().getProfilesPublisher(profilesRequest);
+  }
+
   public List<TopClan> getTopClans(TopClansRequest topClansRequest) {
     try {
       return createClient().getTopClans(topClansRequest);
@@ -150,6 +194,38 @@ public class Api {
     }
   }
 
+  public Polled<List<TopClan>> pollTopClans(TopClansRequest topClansRequest) {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    try {
+      return createClient().pollTopClans(topClansRequest);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public List<TopClan> getGlobalTopClans(TopClansRequest topClansRequest) {
+    return getGlobalTopClans(topClansRequest, null);
+  }
+
+  public List<TopClan> getGlobalTopClans(TopClansRequest topClansRequest, Collection<String> locationKeys) {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    try {
+      return createClient().getGlobalTopClans(topClansRequest, locationKeys);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public Publisher<TopClan> getTopClansPublisher(TopClansRequest topClansRequest) {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    return createClient().getTopClansPublisher(topClansRequest);
+  }
+
+  public Pages<TopClan> getTopClansPages(TopClansRequest topClansRequest) {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    return createClient().getTopClansPages(topClansRequest);
+  }
+
   public Clan getClan(ClanRequest clanRequest) {
     Preconditions.checkNotNull(clanRequest);
     try {
@@ -159,6 +235,28 @@ public class Api {
     }
   }
 
+  public Polled<Clan> pollClan(ClanRequest clanRequest) {
+    Preconditions.checkNotNull(clanRequest, "clanRequest");
+    try {
+      return createClient().pollClan(clanRequest);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public ClanRoster getClanRoster(ClanRequest clanRequest) {
+    return getClanRoster(clanRequest, null);
+  }
+
+  public ClanRoster getClanRoster(ClanRequest clanRequest, ClanRosterListener clanRosterListener) {
+    Preconditions.checkNotNull(clanRequest, "clanRequest");
+    try {
+      return createClient().getClanRoster(clanRequest, clanRosterListener);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
   public List<Clan> getClans(ClansRequest clansRequest) {
     Preconditions.checkNotNull(clansRequest);
     try {
@@ -176,6 +274,16 @@ public class Api {
     }
   }
 
+  public Publisher<Clan> getClanSearchPublisher(ClanSearchRequest clanSearchRequest) {
+    Preconditions.checkNotNull(clanSearchRequest, "clanSearchRequest");
+    return createClient().getClanSearchPublisher(clanSearchRequest);
+  }
+
+  public Pages<Clan> getClanSearchPages(ClanSearchRequest clanSearchRequest) {
+    Preconditions.checkNotNull(clanSearchRequest, "clanSearchRequest");
+    return createClient().getClanSearchPages(clanSearchRequest);
+  }
+
   public List<TopPlayer> getTopPlayers(TopPlayersRequest topPlayersRequest) {
     try {
       return createClient().getTopPlayers(topPlayersRequest);
@@ -184,6 +292,38 @@ public class Api {
     }
   }
 
+  public Polled<List<TopPlayer>> pollTopPlayers(TopPlayersRequest topPlayersRequest) {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    try {
+      return createClient().pollTopPlayers(topPlayersRequest);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public List<TopPlayer> getGlobalTopPlayers(TopPlayersRequest topPlayersRequest) {
+    return getGlobalTopPlayers(topPlayersRequest, null);
+  }
+
+  public List<TopPlayer> getGlobalTopPlayers(TopPlayersRequest topPlayersRequest, Collection<String> locationKeys) {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    try {
+      return createClient().getGlobalTopPlayers(topPlayersRequest, locationKeys);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public Publisher<TopPlayer> getTopPlayersPublisher(TopPlayersRequest topPlayersRequest) {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    return createClient().getTopPlayersPublisher(topPlayersRequest);
+  }
+
+  public Pages<TopPlayer> getTopPlayersPages(TopPlayersRequest topPlayersRequest) {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    return createClient().getTopPlayersPages(topPlayersRequest);
+  }
+
   public Tournament getTournaments(TournamentsRequest tournamentsRequest) {
     Preconditions.checkNotNull(tournamentsRequest);
     try {
@@ -209,6 +349,16 @@ public class Api {
     }
   }
 
+  public Publisher<PopularClan> getPopularClansPublisher(PopularClansRequest popularClansRequest) {
+    Preconditions.checkNotNull(popularClansRequest, "popularClansRequest");
+    return createClient().getPopularClansPublisher(popularClansRequest);
+  }
+
+  public Pages<PopularClan> getPopularClansPages(PopularClansRequest popularClansRequest) {
+    Preconditions.checkNotNull(popularClansRequest, "popularClansRequest");
+    return createClient().getPopularClansPages(popularClansRequest);
+  }
+
   public List<PopularPlayer> getPopularPlayers(PopularPlayersRequest popularPlayersRequest) {
     try {
       return createClient().getPopularPlayers(popularPlayersRequest);
@@ -217,6 +367,16 @@ public class Api {
     }
   }
 
+  public Publisher<PopularPlayer> getPopularPlayersPublisher(PopularPlayersRequest popularPlayersRequest) {
+    Preconditions.checkNotNull(popularPlayersRequest, "popularPlayersRequest");
+    return createClient().getPopularPlayersPublisher(popularPlayersRequest);
+  }
+
+  public Pages<PopularPlayer> getPopularPlayersPages(PopularPlayersRequest popularPlayersRequest) {
+    Preconditions.checkNotNull(popularPlayersRequest, "popularPlayersRequest");
+    return createClient().getPopularPlayersPages(popularPlayersRequest);
+  }
+
   public List<PopularTournament> getPopularTournaments(PopularTournamentsRequest popularTournamentsRequest) {
     try {
       return createClient().getPopularTournaments(popularTournamentsRequest);
@@ -225,6 +385,17 @@ public class Api {
     }
   }
 
+  public Publisher<PopularTournament> getPopularTournamentsPublisher(
+      PopularTournamentsRequest popularTournamentsRequest) {
+    Preconditions.checkNotNull(popularTournamentsRequest, "popularTournamentsRequest");
+    return createClient().getPopularTournamentsPublisher(popularTournamentsRequest);
+  }
+
+  public Pages<PopularTournament> getPopularTournamentsPages(PopularTournamentsRequest popularTournamentsRequest) {
+    Preconditions.checkNotNull(popularTournamentsRequest, "popularTournamentsRequest");
+    return createClient().getPopularTournamentsPages(popularTournamentsRequest);
+  }
+
   public List<Battle> getClanBattles(ClanBattlesRequest clanBattlesRequest) {
     try {
       return createClient().getClanBattles(clanBattlesRequest);
@@ -273,6 +444,16 @@ public class Api {
     }
   }
 
+  public Publisher<SearchedTournament> getTournamentSearchPublisher(TournamentSearchRequest tournamentSearchRequest) {
+    Preconditions.checkNotNull(tournamentSearchRequest, "tournamentSearchRequest");
+    return createClient().getTournamentSearchPublisher(tournamentSearchRequest);
+  }
+
+  public Pages<SearchedTournament> getTournamentSearchPages(TournamentSearchRequest tournamentSearchRequest) {
+    Preconditions.checkNotNull(tournamentSearchRequest, "tournamentSearchRequest");
+    return createClient().getTournamentSearchPages(tournamentSearchRequest);
+  }
+
   public List<List<Battle>> getPlayerBattles(PlayerBattlesRequest playerBattlesRequest) {
     try {
       return createClient().getPlayerBattles(playerBattlesRequest);
@@ -281,6 +462,11 @@ public class Api {
     }
   }
 
+  public Publisher<List<Battle>> getPlayerBattlesPublisher(PlayerBattlesRequest playerBattlesRequest) {
+    Preconditions.checkNotNull(playerBattlesRequest, "playerBattlesRequest");
+    return createClient().getPlayerBattlesPublisher(playerBattlesRequest);
+  }
+
   public List<ChestCycle> getPlayerChests(PlayerChestsRequest playerChestsRequest) {
     try {
       return createClient().getPlayerChests(playerChestsRequest);
@@ -297,6 +483,16 @@ public class Api {
     }
   }
 
+  public Publisher<PopularDeck> getPopularDecksPublisher(PopularDecksRequest popularDecksRequest) {
+    Preconditions.checkNotNull(popularDecksRequest, "popularDecksRequest");
+    return createClient().getPopularDecksPublisher(popularDecksRequest);
+  }
+
+  public Pages<PopularDeck> getPopularDecksPages(PopularDecksRequest popularDecksRequest) {
+    Preconditions.checkNotNull(popularDecksRequest, "popularDecksRequest");
+    return createClient().getPopularDecksPages(popularDecksRequest);
+  }
+
   public ClanTracking getClanTracking(ClanTrackingRequest clanTrackingRequest) {
     try {
       return createClient().getClanTracking(clanTrackingRequest);
@@ -321,6 +517,15 @@ public class Api {
     }
   }
 
+  public Polled<ClanWar> pollClanWar(ClanWarRequest clanWarRequest) {
+    Preconditions.checkNotNull(clanWarRequest, "clanWarRequest");
+    try {
+      return createClient().pollClanWar(clanWarRequest);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
   public AuthStats getAuthStats(AuthStatsRequest authStatsRequest) {
     try {
       return createClient().getAuthStats(authStatsRequest);
@@ -374,6 +579,29 @@ public class Api {
     }
   }
 
+  public List<TopWar> getGlobalTopWars(TopWarsRequest topWarsRequest) {
+    return getGlobalTopWars(topWarsRequest, null);
+  }
+
+  public List<TopWar> getGlobalTopWars(TopWarsRequest topWarsRequest, Collection<String> locationKeys) {
+    Preconditions.checkNotNull(topWarsRequest, "topWarsRequest");
+    try {
+      return createClient().getGlobalTopWars(topWarsRequest, locationKeys);
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  public Publisher<TopWar> getTopWarsPublisher(TopWarsRequest topWarsRequest) {
+    Preconditions.checkNotNull(topWarsRequest, "topWarsRequest");
+    return createClient().getTopWarsPublisher(topWarsRequest);
+  }
+
+  public Pages<TopWar> getTopWarsPages(TopWarsRequest topWarsRequest) {
+    Preconditions.checkNotNull(topWarsRequest, "topWarsRequest");
+    return createClient().getTopWarsPages(topWarsRequest);
+  }
+
   public Constants getConstants(ConstantsRequest constantsRequest) {
     try {
       return createClient().getConstants(constantsRequest);
@@ -0,0 +1,179 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional features of an {@link Api} instance. Everything is switched off by default, except for multi tag calls:
+ * they are split into chunks of {@link #DEFAULT_MAX_TAGS_PER_REQUEST} tags, up to {@link #DEFAULT_PARALLELISM} chunks
+ * run at the same time and a failed chunk is retried {@link #DEFAULT_RETRIES} times after a backoff of 0.5, 1, ...
+ * seconds.
+ *
+ * @author Michael Lieshoff
+ */
+@Getter
+public class ApiConfig {
+
+  public static final int DEFAULT_LEASE_SIZE = 5;
+  public static final long DEFAULT_LEASE_MILLIS = 1000;
+  public static final int DEFAULT_PARALLELISM = 4;
+  public static final int DEFAULT_MAX_TAGS_PER_REQUEST = 7;
+  public static final int DEFAULT_RETRIES = 2;
+  public static final int DEFAULT_TAG_STORE_SIZE = 10000;
+  public static final long DEFAULT_CACHE_BYTES = 16 * 1024 * 1024;
+  public static final long DEFAULT_CACHE_DIRECTORY_BYTES = 64 * 1024 * 1024;
+
+  private final boolean serverCacheAware;
+
+  private final double requestsPerSecond;
+  private final File rateLimitFile;
+  private final int leaseSize;
+  private final long leaseMillis;
+
+  private final int parallelism;
+  private final int maxTagsPerRequest;
+  private final int retries;
+
+  private final long coalesceMillis;
+  private final int coalesceSize;
+
+  private final boolean singleFlight;
+
+  private final long tagStoreMillis;
+  private final int tagStoreSize;
+
+  private final int cacheSize;
+  private final long cacheBytes;
+  private final long cacheTtlMillis;
+  private final Map<String, Long> cacheTtls;
+
+  private final File cacheDirectory;
+  private final long cacheDirectoryBytes;
+  private final boolean cacheCompression;
+
+  private final long offHeapBytes;
+
+  private final boolean changeDetection;
+
+  private final File constantsSnapshot;
+
+  private final long negativeCacheMillis;
+
+  private final long softTtlMillis;
+  private final Map<String, Long> softTtls;
+  private final long hardTtlMillis;
+  private final Map<String, Long> hardTtls;
+
+  private final boolean derivedUpdates;
+
+  private final long memoryBudgetBytes;
+
+  private final long prefetchMillis;
+
+  private final boolean projectedParsing;
+  private final boolean earlyStop;
+
+  private final boolean lazyModels;
+
+  private final Executor publisherExecutor;
+
+  @Builder
+  private ApiConfig(boolean serverCacheAware, double requestsPerSecond, File rateLimitFile, int leaseSize,
+                    long leaseMillis, int parallelism, int maxTagsPerRequest, Integer retries, long coalesceMillis,
+                    int coalesceSize, boolean singleFlight, long tagStoreMillis, int tagStoreSize, int cacheSize,
+                    long cacheBytes, long cacheTtlMillis, Map<String, Long> cacheTtls, File cacheDirectory,
+                    long cacheDirectoryBytes, long offHeapBytes, boolean changeDetection, File constantsSnapshot,
+                    long negativeCacheMillis, long softTtlMillis, Map<String, Long> softTtls, long hardTtlMillis,
+                    Map<String, Long> hardTtls, boolean derivedUpdates, boolean cacheCompression,
+                    long memoryBudgetBytes, long prefetchMillis, boolean projectedParsing, boolean earlyStop,
+                    boolean lazyModels, Executor publisherExecutor) {
+    Preconditions.checkArgument(requestsPerSecond >= 0, "requestsPerSecond must be >= 0");
+    Preconditions.checkArgument(rateLimitFile == null || requestsPerSecond > 0,
+        "rateLimitFile needs requestsPerSecond");
+    Preconditions.checkArgument(leaseSize >= 0, "leaseSize must be >= 0");
+    Preconditions.checkArgument(leaseMillis >= 0, "leaseMillis must be >= 0");
+    Preconditions.checkArgument(parallelism >= 0, "parallelism must be >= 0");
+    Preconditions.checkArgument(maxTagsPerRequest >= 0, "maxTagsPerRequest must be >= 0");
+    Preconditions.checkArgument(retries == null || retries >= 0, "retries must be >= 0");
+    Preconditions.checkArgument(coalesceMillis >= 0, "coalesceMillis must be >= 0");
+    Preconditions.checkArgument(coalesceSize >= 0, "coalesceSize must be >= 0");
+    Preconditions.checkArgument(tagStoreMillis >= 0, "tagStoreMillis must be >= 0");
+    Preconditions.checkArgument(tagStoreSize >= 0, "tagStoreSize must be >= 0");
+    Preconditions.checkArgument(cacheSize >= 0, "cacheSize must be >= 0");
+    Preconditions.checkArgument(cacheBytes >= 0, "cacheBytes must be >= 0");
+    Preconditions.checkArgument(cacheTtlMillis >= 0, "cacheTtlMillis must be >= 0");
+    Preconditions.checkArgument(cacheDirectoryBytes >= 0, "cacheDirectoryBytes must be >= 0");
+    Preconditions.checkArgument(!cacheCompression || cacheDirectory != null, "cacheCompression needs cacheDirectory");
+    Preconditions.checkArgument(offHeapBytes >= 0 && offHeapBytes <= Integer.MAX_VALUE,
+        "offHeapBytes must be >= 0 and <= " + Integer.MAX_VALUE);
+    Preconditions.checkArgument(negativeCacheMillis >= 0, "negativeCacheMillis must be >= 0");
+    Preconditions.checkArgument(softTtlMillis >= 0, "softTtlMillis must be >= 0");
+    Preconditions.checkArgument(hardTtlMillis >= 0, "hardTtlMillis must be >= 0");
+    Preconditions.checkArgument(!derivedUpdates || tagStoreMillis > 0, "derivedUpdates needs tagStoreMillis");
+    Preconditions.checkArgument(memoryBudgetBytes >= 0, "memoryBudgetBytes must be >= 0");
+    Preconditions.checkArgument(prefetchMillis >= 0, "prefetchMillis must be >= 0");
+    Preconditions.checkArgument(prefetchMillis == 0 || cacheSize > 0 || cacheDirectory != null || offHeapBytes > 0,
+        "prefetchMillis needs cacheSize, cacheDirectory or offHeapBytes");
+    Preconditions.checkArgument(!earlyStop || projectedParsing, "earlyStop needs projectedParsing");
+    Preconditions.checkArgument(!lazyModels || offHeapBytes == 0, "lazyModels excludes offHeapBytes");
+    Preconditions.checkArgument(!lazyModels || !derivedUpdates, "lazyModels excludes derivedUpdates");
+    this.serverCacheAware = serverCacheAware;
+    this.requestsPerSecond = requestsPerSecond;
+    this.rateLimitFile = rateLimitFile;
+    this.leaseSize = leaseSize > 0 ? leaseSize : DEFAULT_LEASE_SIZE;
+    this.leaseMillis = leaseMillis > 0 ? leaseMillis : DEFAULT_LEASE_MILLIS;
+    this.parallelism = parallelism > 0 ? parallelism : DEFAULT_PARALLELISM;
+    this.maxTagsPerRequest = maxTagsPerRequest > 0 ? maxTagsPerRequest : DEFAULT_MAX_TAGS_PER_REQUEST;
+    this.retries = retries != null ? retries : DEFAULT_RETRIES;
+    this.coalesceMillis = coalesceMillis;
+    this.coalesceSize = coalesceSize > 0 ? Math.min(coalesceSize, this.maxTagsPerRequest) : this.maxTagsPerRequest;
+    this.singleFlight = singleFlight;
+    this.tagStoreMillis = tagStoreMillis;
+    this.tagStoreSize = tagStoreSize > 0 ? tagStoreSize : DEFAULT_TAG_STORE_SIZE;
+    this.cacheSize = cacheSize;
+    this.cacheBytes = cacheBytes > 0 ? cacheBytes : DEFAULT_CACHE_BYTES;
+    this.cacheTtlMillis = cacheTtlMillis;
+    this.cacheTtls = cacheTtls != null ? ImmutableMap.copyOf(cacheTtls) : ImmutableMap.<String, Long>of();
+    this.cacheDirectory = cacheDirectory;
+    this.cacheDirectoryBytes = cacheDirectoryBytes > 0 ? cacheDirectoryBytes : DEFAULT_CACHE_DIRECTORY_BYTES;
+    this.cacheCompression = cacheCompression;
+    this.offHeapBytes = offHeapBytes;
+    this.changeDetection = changeDetection;
+    this.constantsSnapshot = constantsSnapshot;
+    this.negativeCacheMillis = negativeCacheMillis;
+    this.softTtlMillis = softTtlMillis;
+    this.softTtls = softTtls != null ? ImmutableMap.copyOf(softTtls) : ImmutableMap.<String, Long>of();
+    this.hardTtlMillis = hardTtlMillis;
+    this.hardTtls = hardTtls != null ? ImmutableMap.copyOf(hardTtls) : ImmutableMap.<String, Long>of();
+    this.derivedUpdates = derivedUpdates;
+    this.memoryBudgetBytes = memoryBudgetBytes;
+    this.prefetchMillis = prefetchMillis;
+    this.projectedParsing = projectedParsing;
+    this.earlyStop = earlyStop;
+    this.lazyModels = lazyModels;
+    this.publisherExecutor = publisherExecutor;
+  }
+
+}
@@ -0,0 +1,358 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import jcrapi.model.Clan;
+import jcrapi.model.ClanWar;
+import jcrapi.model.Profile;
+import jcrapi.model.TopClan;
+import jcrapi.model.TopPlayer;
+import jcrapi.request.ClanRequest;
+import jcrapi.request.ClanWarRequest;
+import jcrapi.request.ProfileRequest;
+import jcrapi.request.Request;
+import jcrapi.request.TopClansRequest;
+import jcrapi.request.TopPlayersRequest;
+
+/**
+ * Collects the data needed for one page and fetches it with as few requests as possible. Equal needs share one
+ * handle, single profiles and clans with the same query parameters are folded into multi tag requests. Everything runs
+ * concurrently on {@link #execute()}, requests of a higher priority are started first; a shared handle or a folded
+ * request takes the highest priority of its needs. Among equal priorities the multi tag requests are started first,
+ * the largest first.
+ *
+ * @author Michael Lieshoff
+ */
+public class Batch {
+
+  public static final int DEFAULT_PRIORITY = 0;
+
+  private final Client client;
+
+  private final Map<Map<String, String>, TagGroup<Profile>> profiles = new LinkedHashMap<>();
+  private final Map<Map<String, String>, TagGroup<Clan>> clans = new LinkedHashMap<>();
+  private final Map<String, Single<?>> singles = new LinkedHashMap<>();
+
+  private boolean executed;
+
+  Batch(Client client) {
+    Preconditions.checkNotNull(client, "client");
+    this.client = client;
+  }
+
+  public Handle<Profile> profile(ProfileRequest profileRequest) {
+    return profile(profileRequest, DEFAULT_PRIORITY);
+  }
+
+  public synchronized Handle<Profile> profile(ProfileRequest profileRequest, int priority) {
+    Preconditions.checkNotNull(profileRequest, "profileRequest");
+    return getTagGroup(profiles, profileRequest, priority, new Coalescer.Loader<Profile>() {
+      @Override
+      public List<Profile> load(List<String> tags, Request request) throws IOException {
+        return client.getProfiles(tags, request);
+      }
+    }, Tags.PROFILE_TAG).getHandle(profileRequest.getTag());
+  }
+
+  public Handle<Clan> clan(ClanRequest clanRequest) {
+    return clan(clanRequest, DEFAULT_PRIORITY);
+  }
+
+  public synchronized Handle<Clan> clan(ClanRequest clanRequest, int priority) {
+    Preconditions.checkNotNull(clanRequest, "clanRequest");
+    return getTagGroup(clans, clanRequest, priority, new Coalescer.Loader<Clan>() {
+      @Override
+      public List<Clan> load(List<String> tags, Request request) throws IOException {
+        return client.getClans(tags, request);
+      }
+    }, Tags.CLAN_TAG).getHandle(clanRequest.getTag());
+  }
+
+  public Handle<ClanWar> clanWar(ClanWarRequest clanWarRequest) {
+    return clanWar(clanWarRequest, DEFAULT_PRIORITY);
+  }
+
+  public synchronized Handle<ClanWar> clanWar(final ClanWarRequest clanWarRequest, int priority) {
+    Preconditions.checkNotNull(clanWarRequest, "clanWarRequest");
+    return getSingle("clanWar " + Tags.normalize(clanWarRequest.getTag()), clanWarRequest, priority,
+        new Loader<ClanWar>() {
+          @Override
+          public ClanWar load() throws IOException {
+            return client.getClanWar(clanWarRequest);
+          }
+        });
+  }
+
+  public Handle<List<TopPlayer>> topPlayers(TopPlayersRequest topPlayersRequest) {
+    return topPlayers(topPlayersRequest, DEFAULT_PRIORITY);
+  }
+
+  public synchronized Handle<List<TopPlayer>> topPlayers(final TopPlayersRequest topPlayersRequest, int priority) {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    return getSingle("topPlayers " + topPlayersRequest.getLocationKey(), topPlayersRequest, priority,
+        new Loader<List<TopPlayer>>() {
+          @Override
+          public List<TopPlayer> load() throws IOException {
+            return client.getTopPlayers(topPlayersRequest);
+          }
+        });
+  }
+
+  public Handle<List<TopClan>> topClans(TopClansRequest topClansRequest) {
+    return topClans(topClansRequest, DEFAULT_PRIORITY);
+  }
+
+  public synchronized Handle<List<TopClan>> topClans(final TopClansRequest topClansRequest, int priority) {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    return getSingle("topClans " + topClansRequest.getLocationKey(), topClansRequest, priority,
+        new Loader<List<TopClan>>() {
+          @Override
+          public List<TopClan> load() throws IOException {
+            return client.getTopClans(topClansRequest);
+          }
+        });
+  }
+
+  private <T> TagGroup<T> getTagGroup(Map<Map<String, String>, TagGroup<T>> groups, Request request, int priority,
+                                      Coalescer.Loader<T> loader, Coalescer.TagFunction<T> tagFunction) {
+    checkNotExecuted();
+    TagGroup<T> tagGroup = groups.get(request.getQueryParameters());
+    if (tagGroup == null) {
+      tagGroup = new TagGroup<>(request, loader, tagFunction);
+      groups.put(request.getQueryParameters(), tagGroup);
+    }
+    tagGroup.raise(priority);
+    return tagGroup;
+  }
+
+  // the name of a single stands for one kind of call, so all singles of one key have the same type
+  @SuppressWarnings("unchecked")
+  private <T> Handle<T> getSingle(String name, Request request, int priority, Loader<T> loader) {
+    checkNotExecuted();
+    String key = name + " " + request.getQueryParameters();
+    Single<T> single = (Single<T>) singles.get(key);
+    if (single == null) {
+      single = new Single<>(loader);
+      singles.put(key, single);
+    }
+    single.raise(priority);
+    return single.handle;
+  }
+
+  private void checkNotExecuted() {
+    Preconditions.checkState(!executed, "batch already executed!");
+  }
+
+  int getRequestCount() {
+    int count = singles.size();
+    for (TagGroup<Profile> tagGroup : profiles.values()) {
+      count += client.getChunkCount(tagGroup.handles.keySet());
+    }
+    for (TagGroup<Clan> tagGroup : clans.values()) {
+      count += client.getChunkCount(tagGroup.handles.keySet());
+    }
+    return count;
+  }
+
+  public void execute() {
+    List<TagGroup<?>> tagGroups = new ArrayList<>();
+    List<Single<?>> singleList = new ArrayList<>();
+    synchronized (this) {
+      checkNotExecuted();
+      executed = true;
+      tagGroups.addAll(profiles.values());
+      tagGroups.addAll(clans.values());
+      singleList.addAll(singles.values());
+    }
+    List<Part> parts = new ArrayList<>();
+    parts.addAll(tagGroups);
+    parts.addAll(singleList);
+    Collections.sort(parts, new Comparator<Part>() {
+      @Override
+      public int compare(Part part1, Part part2) {
+        int result = Integer.compare(part2.priority, part1.priority);
+        return result != 0 ? result : Integer.compare(part2.getSize(), part1.getSize());
+      }
+    });
+    List<Fanout.Call<Void, Void>> calls = new ArrayList<>();
+    calls.addAll(parts);
+    try {
+      client.runAll(calls);
+    } catch (IOException | RuntimeException e) {
+      for (TagGroup<?> tagGroup : tagGroups) {
+        for (Handle<?> handle : tagGroup.handles.values()) {
+          handle.failIfNotDone(e);
+        }
+      }
+      for (Single<?> single : singleList) {
+        single.handle.failIfNotDone(e);
+      }
+      throw new ApiException(e);
+    }
+  }
+
+  private interface Loader<T> {
+
+    T load() throws IOException;
+
+  }
+
+  private abstract static class Part implements Fanout.Call<Void, Void> {
+
+    private int priority = Integer.MIN_VALUE;
+
+    void raise(int priority) {
+      this.priority = Math.max(this.priority, priority);
+    }
+
+    abstract int getSize();
+
+  }
+
+  private class Single<T> extends Part {
+
+    private final Loader<T> loader;
+    private final Handle<T> handle = new Handle<>();
+
+    private Single(Loader<T> loader) {
+      this.loader = loader;
+    }
+
+    @Override
+    int getSize() {
+      return 0;
+    }
+
+    @Override
+    public Void call(Void input) {
+      try {
+        handle.set(loader.load());
+      } catch (IOException | RuntimeException e) {
+        handle.fail(e);
+      }
+      return null;
+    }
+
+  }
+
+  private class TagGroup<T> extends Part {
+
+    private final Request request;
+    private final Coalescer.Loader<T> loader;
+    private final Coalescer.TagFunction<T> tagFunction;
+    private final Map<String, Handle<T>> handles = new LinkedHashMap<>();
+
+    private TagGroup(Request request, Coalescer.Loader<T> loader, Coalescer.TagFunction<T> tagFunction) {
+      this.request = request;
+      this.loader = loader;
+      this.tagFunction = tagFunction;
+    }
+
+    @Override
+    int getSize() {
+      return handles.size();
+    }
+
+    private Handle<T> getHandle(String tag) {
+      String normalized = Tags.normalize(tag);
+      Handle<T> handle = handles.get(normalized);
+      if (handle == null) {
+        handle = new Handle<>();
+        handles.put(normalized, handle);
+      }
+      return handle;
+    }
+
+    @Override
+    public Void call(Void input) {
+      try {
+        Map<String, T> results = new HashMap<>();
+        for (T t : loader.load(new ArrayList<>(handles.keySet()), request)) {
+          results.put(Tags.normalize(tagFunction.getTag(t)), t);
+        }
+        for (Map.Entry<String, Handle<T>> entry : handles.entrySet()) {
+          T t = results.get(entry.getKey());
+          if (t != null) {
+            entry.getValue().set(t);
+          } else {
+            entry.getValue().fail(new CrawlerException(
+                new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "tag " + entry.getKey() + " missing in answer")));
+          }
+        }
+      } catch (IOException | RuntimeException e) {
+        for (Handle<T> handle : handles.values()) {
+          handle.fail(e);
+        }
+      }
+      return null;
+    }
+
+  }
+
+  /**
+   * Result of one need of a batch, available after {@link Batch#execute()}.
+   */
+  public static class Handle<T> {
+
+    private T value;
+    private Exception exception;
+    private boolean done;
+
+    private synchronized void set(T value) {
+      this.value = value;
+      this.done = true;
+    }
+
+    private synchronized void fail(Exception exception) {
+      this.exception = exception;
+      this.done = true;
+    }
+
+    private synchronized void failIfNotDone(Exception exception) {
+      if (!done) {
+        fail(exception);
+      }
+    }
+
+    public synchronized boolean isDone() {
+      return done;
+    }
+
+    public synchronized T get() {
+      Preconditions.checkState(done, "batch not executed yet!");
+      if (exception != null) {
+        throw new ApiException(exception);
+      }
+      return value;
+    }
+
+  }
+
+}
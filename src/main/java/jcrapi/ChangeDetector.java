@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Remembers per request the hash of the last answer body and the object parsed from it. An answer with the same
+ * hash does not need to be parsed again.
+ *
+ * @author Michael Lieshoff
+ */
+class ChangeDetector {
+
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+  private final Cache<String, Entry> entries;
+
+  ChangeDetector(long maximumSize) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    this.entries = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  static HashCode hash(String json) {
+    return HASH_FUNCTION.hashString(json, Charsets.UTF_8);
+  }
+
+  Object getUnchanged(String key, HashCode hash) {
+    Entry entry = entries.getIfPresent(key);
+    if (entry == null || !entry.hash.equals(hash)) {
+      return null;
+    }
+    if (entry.value instanceof List) {
+      return new ArrayList<>((List<?>) entry.value);
+    }
+    return entry.value;
+  }
+
+  void record(String key, HashCode hash, Object value) {
+    if (value != null) {
+      entries.put(key, new Entry(hash, value instanceof List ? new ArrayList<>((List<?>) value) : value));
+    }
+  }
+
+  private static class Entry {
+
+    private final HashCode hash;
+    private final Object value;
+
+    private Entry(HashCode hash, Object value) {
+      this.hash = hash;
+      this.value = value;
+    }
+
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import java.util.List;
+import java.util.Map;
+import jcrapi.model.Battle;
+import jcrapi.model.ChestCycle;
+import jcrapi.model.Clan;
+import jcrapi.model.Profile;
+import lombok.Getter;
+
+/**
+ * A clan together with profile, battles and chest cycle of every member. The maps are keyed by the member tag
+ * without leading hash and keep the order of the members.
+ *
+ * @author Michael Lieshoff
+ */
+@Getter
+public class ClanRoster {
+
+  private final Clan clan;
+  private final Map<String, Profile> profiles;
+  private final Map<String, List<Battle>> battles;
+  private final Map<String, ChestCycle> chests;
+
+  ClanRoster(Clan clan, Map<String, Profile> profiles, Map<String, List<Battle>> battles,
+             Map<String, ChestCycle> chests) {
+    this.clan = clan;
+    this.profiles = profiles;
+    this.battles = battles;
+    this.chests = chests;
+  }
+
+}
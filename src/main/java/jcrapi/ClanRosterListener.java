@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import java.util.List;
+import java.util.Map;
+import jcrapi.model.Battle;
+import jcrapi.model.ChestCycle;
+import jcrapi.model.Clan;
+import jcrapi.model.Profile;
+
+/**
+ * Receives the parts of a {@link ClanRoster} as soon as they arrive. The methods are called from several threads
+ * at the same time.
+ *
+ * @author Michael Lieshoff
+ */
+public interface ClanRosterListener {
+
+  void onClan(Clan clan);
+
+  void onProfiles(List<Profile> profiles);
+
+  void onBattles(Map<String, List<Battle>> battles);
+
+  void onChests(Map<String, ChestCycle> chests);
+
+}
@@ -16,19 +16,34 @@
  */
 package jcrapi;
 
+import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.hash.HashCode;
 import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
 import org.apache.commons.lang.StringUtils;
 import org.apache.http.HttpHeaders;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+import org.reactivestreams.Publisher;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import jcrapi.model.AuthStats;
 import jcrapi.model.Battle;
 import jcrapi.model.ChestCycle;
@@ -39,11 +54,14 @@ import jcrapi.model.ClanWar;
 import jcrapi.model.ClanWarLog;
 import jcrapi.model.ClanWeeklyHistory;
 import jcrapi.model.Constants;
+import jcrapi.model.ConstantsRegion;
 import jcrapi.model.Endpoints;
 import jcrapi.model.FullTournament;
 import jcrapi.model.InPreparationTournament;
 import jcrapi.model.JoinableTournament;
 import jcrapi.model.KnownTournament;
+import jcrapi.model.Member;
+import jcrapi.model.ModelTypeAdapterFactory;
 import jcrapi.model.OneKTournament;
 import jcrapi.model.OpenTournament;
 import jcrapi.model.PopularClan;
@@ -53,6 +71,7 @@ import jcrapi.model.PopularTournament;
 import jcrapi.model.Profile;
 import jcrapi.model.SearchedTournament;
 import jcrapi.model.Status;
+import jcrapi.model.Team;
 import jcrapi.model.TopClan;
 import jcrapi.model.TopPlayer;
 import jcrapi.model.TopWar;
@@ -72,8 +91,10 @@ import jcrapi.request.FullTournamentsRequest;
 import jcrapi.request.InPreparationTournamentsRequest;
 import jcrapi.request.JoinableTournamentsRequest;
 import jcrapi.request.KnownTournamentsRequest;
+import jcrapi.request.LocationedRequest;
 import jcrapi.request.OneKTournamentsRequest;
 import jcrapi.request.OpenTournamentsRequest;
+import jcrapi.request.PaginatedRequest;
 import jcrapi.request.PlayerBattlesRequest;
 import jcrapi.request.PlayerChestsRequest;
 import jcrapi.request.PopularClansRequest;
@@ -94,11 +115,18 @@ import jcrapi.request.TournamentsRequest;
  */
 class Client {
 
+  private interface Parser<T> {
+
+    T parse(String json);
+
+  }
+
   private final String url;
   private final String developerKey;
   private final AuthMode authMode;
 
   private final CrawlerFactory crawlerFactory;
+  private final ClientContext clientContext;
 
   private final static Map<Class, Type> TYPES = ImmutableMap.<Class, Type>builder()
       .put(Battle.class, new TypeToken<List<Battle>>() {
@@ -144,16 +172,29 @@ class Client {
   private static final Type BATTLE_LIST = new TypeToken<List<List<Battle>>>() {
   }.getType();
 
-  private static final Gson GSON = new Gson();
+  private static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+      .create();
+
+  private static final int MAX_TAGS_LENGTH = 1000;
+
+  private static final String TAG = "tag";
   
   Client(String url, String developerKey, AuthMode authMode, CrawlerFactory crawlerFactory) {
+    this(url, developerKey, authMode, crawlerFactory, new ClientContext(ApiConfig.builder().build()));
+  }
+
+  Client(String url, String developerKey, AuthMode authMode, CrawlerFactory crawlerFactory,
+         ClientContext clientContext) {
     checkString(url);
     Preconditions.checkNotNull(crawlerFactory);
     Preconditions.checkNotNull(authMode);
+    Preconditions.checkNotNull(clientContext);
     this.url = url;
     this.developerKey = developerKey;
     this.crawlerFactory = crawlerFactory;
     this.authMode = authMode;
+    this.clientContext = clientContext;
   }
 
   private void checkString(String url) {
@@ -161,12 +202,45 @@ class Client {
     Preconditions.checkArgument(url.length() > 0, url);
   }
 
+  CacheStats getCacheStats() {
+    ResponseCache responseCache = clientContext.getResponseCache();
+    return responseCache != null ? responseCache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+  }
+
+  MemoryUsage getMemoryUsage() {
+    MemoryBudget memoryBudget = clientContext.getMemoryBudget();
+    if (memoryBudget != null) {
+      return memoryBudget.getUsage();
+    }
+    ResponseCache responseCache = clientContext.getResponseCache();
+    return new MemoryUsage(0, 0, 0, responseCache != null ? responseCache.getBytes() : 0);
+  }
+
   String getVersion() throws IOException {
     return get(createUrl("version"), null);
   }
 
   private String get(String url, Request request) throws IOException {
-    return tryGet(url, request, 1);
+    ServerCacheTracker serverCacheTracker = clientContext.getServerCacheTracker();
+    if (serverCacheTracker == null) {
+      return tryGet(url, request, 1);
+    }
+    String template = EndpointTemplate.of(url.substring(this.url.length()));
+    String key = createKey(url, request);
+    String json = serverCacheTracker.lookup(template, key);
+    if (json == null) {
+      json = tryGet(url, request, 1);
+      Response response = getLastResponse();
+      serverCacheTracker.record(template, key, json, response != null && response.isCached());
+    }
+    return json;
+  }
+
+  private String createKey(String url, Request request) {
+    if (request == null || request.getQueryParameters().isEmpty()) {
+      return url;
+    }
+    return url + "?" + Joiner.on('&').withKeyValueSeparator("=").join(request.getQueryParameters());
   }
 
   private String tryGet(String url, Request request, int round) throws IOException {
@@ -185,8 +259,33 @@ class Client {
   }
 
   private String getIntern(String url, Request request) throws IOException {
-    return createCrawler()
+    acquirePermit();
+    Crawler crawler = createCrawler();
+    String json = crawler
         .get(url, createAuthHeader(developerKey), request == null ? null : request.getQueryParameters());
+    MemoryBudget memoryBudget = clientContext.getMemoryBudget();
+    if (memoryBudget != null) {
+      memoryBudget.retain(crawler.getLastResponse());
+    }
+    return json;
+  }
+
+  private Reader open(String url, Request request) throws IOException {
+    acquirePermit();
+    return createCrawler()
+        .open(url, createAuthHeader(developerKey), request == null ? null : request.getQueryParameters());
+  }
+
+  private void acquirePermit() throws IOException {
+    Throttle throttle = clientContext.getThrottle();
+    if (throttle == null) {
+      return;
+    }
+    if (!Prefetcher.isPrefetching()) {
+      throttle.acquire();
+    } else if (!throttle.tryAcquire()) {
+      throw new IOException("no spare permit for prefetch!");
+    }
   }
 
   private void handleRateLimit() {
@@ -231,191 +330,1008 @@ class Client {
     return url + part;
   }
 
-  Profile getProfile(ProfileRequest profileRequest) throws IOException {
+  private String createLocationUrl(String part, String locationKey) {
+    if (StringUtils.isNotBlank(locationKey)) {
+      return createUrl(part + "/" + locationKey);
+    }
+    return createUrl(part);
+  }
+
+  private List<String> getRegionKeys() throws IOException {
+    Constants constants = getConstants(ConstantsRequest.builder().keys(Collections.singletonList("regions")).build());
+    List<String> regionKeys = new ArrayList<>();
+    if (constants.getRegions() != null) {
+      for (ConstantsRegion constantsRegion : constants.getRegions()) {
+        if (!constantsRegion.isCountry()) {
+          regionKeys.add(constantsRegion.getKey());
+        }
+      }
+    }
+    return regionKeys;
+  }
+
+  private <T> List<T> getGlobalRanking(final String part, LocationedRequest locationedRequest,
+                                       Collection<String> locationKeys, final Class<T> clazz,
+                                       Comparator<? super T> comparator, Coalescer.TagFunction<T> tagFunction)
+      throws IOException {
+    Preconditions.checkNotNull(locationedRequest, "request");
+    Preconditions.checkArgument(StringUtils.isBlank(locationedRequest.getLocationKey()),
+        "locationKey must not be set for a global ranking");
+    final Request request = locationedRequest;
+    List<String> keys = locationKeys != null ? new ArrayList<>(locationKeys) : getRegionKeys();
+    List<List<T>> rankings = clientContext.getFanout().map(keys, new Fanout.Call<String, List<T>>() {
+      @Override
+      public List<T> call(String locationKey) throws IOException {
+        return getList(createLocationUrl(part, locationKey), request, clazz);
+      }
+    });
+    return Rankings.merge(rankings, comparator, tagFunction);
+  }
+
+  private <T> Publisher<T> createPublisher(String url, Request request, Class<T> clazz) {
+    return createPublisher(Collections.singletonList(new JsonPublisher.Source(url, false)), request, clazz);
+  }
+
+  private <T> Publisher<T> createPublisher(List<JsonPublisher.Source> sources, final Request request, Type type) {
+    return new JsonPublisher<>(sources, type, GSON, new JsonPublisher.Opener() {
+      @Override
+      public Reader open(String url) throws IOException {
+        return Client.this.open(url, request);
+      }
+    }, clientContext.getPublisherExecutor());
+  }
+
+  private <T> Pages<T> createPages(PaginatedRequest paginatedRequest, final String url, final Class<T> clazz) {
+    return new Pages<>(paginatedRequest, new Pages.Loader<T>() {
+      @Override
+      public List<T> load(Request request) throws IOException {
+        return getList(url, request, clazz);
+      }
+    }, clientContext.getFanout().getExecutorService());
+  }
+
+  Polled<Profile> pollProfile(ProfileRequest profileRequest) throws IOException {
+    Preconditions.checkNotNull(profileRequest, "profileRequest");
+    return poll(createUrl("player/" + profileRequest.getTag()), profileRequest, Profile.class,
+        createObjectParser(Profile.class, profileRequest));
+  }
+
+  Profile getProfile(final ProfileRequest profileRequest) throws IOException {
     Preconditions.checkNotNull(profileRequest, "profileRequest");
-    String json = get(createUrl("player/" + profileRequest.getTag()), profileRequest);
-    return GSON.fromJson(json, Profile.class);
+    checkNotFound(profileRequest.getTag());
+    try {
+      Profile profile;
+      if (clientContext.getDerivations() != null) {
+        profile = getStored(clientContext.getProfileStore(), profileRequest.getTag(), profileRequest,
+            new Fanout.Call<Request, Profile>() {
+              @Override
+              public Profile call(Request request) throws IOException {
+                return loadProfile(profileRequest);
+              }
+            });
+      } else {
+        profile = loadProfile(profileRequest);
+      }
+      offerFollowUps(profile);
+      return profile;
+    } catch (CrawlerException e) {
+      if (clientContext.getProfileCoalescer() == null) {
+        recordNotFound(profileRequest.getTag(), e);
+      }
+      throw e;
+    }
+  }
+
+  private Profile loadProfile(ProfileRequest profileRequest) throws IOException {
+    Coalescer<Profile> profileCoalescer = clientContext.getProfileCoalescer();
+    if (profileCoalescer == null) {
+      return getObject(createUrl("player/" + profileRequest.getTag()), profileRequest, Profile.class);
+    }
+    return profileCoalescer.get(profileRequest.getTag(), profileRequest,
+        recordNotFound(Tags.PROFILE_TAG, new Coalescer.Loader<Profile>() {
+          @Override
+          public List<Profile> load(List<String> tags, Request request) throws IOException {
+            return getTaggedList(createUrl("player/" + StringUtils.join(tags, ",")), request, Profile.class);
+          }
+        }));
+  }
+
+  private static <T> T getStored(TagStore<T> tagStore, String tag, Request request, final Fanout.Call<Request, T> call)
+      throws IOException {
+    List<T> list = tagStore.get(Collections.singletonList(tag), request, new Coalescer.Loader<T>() {
+      @Override
+      public List<T> load(List<String> tags, Request request) throws IOException {
+        T t = call.call(request);
+        return t != null ? Collections.singletonList(t) : Collections.<T>emptyList();
+      }
+    });
+    return !list.isEmpty() ? list.get(0) : null;
+  }
+
+  private void offerFollowUps(Profile profile) {
+    Prefetcher prefetcher = clientContext.getPrefetcher();
+    if (prefetcher == null || profile == null) {
+      return;
+    }
+    final String tag = profile.getTag();
+    prefetcher.offer("player/{}", "player/{}/battles", tag, new Prefetcher.Prefetch() {
+      @Override
+      public void run() throws IOException {
+        getPlayerBattles(PlayerBattlesRequest.builder(Collections.singletonList(Tags.normalize(tag))).build());
+      }
+    });
+    if (profile.getClan() != null) {
+      final String clanTag = profile.getClan().getTag();
+      prefetcher.offer("player/{}", "clan/{}", clanTag, new Prefetcher.Prefetch() {
+        @Override
+        public void run() throws IOException {
+          getClan(ClanRequest.builder(Tags.normalize(clanTag)).build());
+        }
+      });
+    }
+  }
+
+  private void observe(String template, String tag) {
+    Prefetcher prefetcher = clientContext.getPrefetcher();
+    if (prefetcher != null) {
+      prefetcher.observe(template, tag);
+    }
+  }
+
+  private void checkNotFound(String tag) throws CrawlerException {
+    NegativeCache negativeCache = clientContext.getNegativeCache();
+    if (negativeCache != null && negativeCache.isBad(tag)) {
+      throw new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "tag " + tag + " known as missing"));
+    }
+  }
+
+  private void recordNotFound(String tag, CrawlerException e) {
+    NegativeCache negativeCache = clientContext.getNegativeCache();
+    if (negativeCache != null && e.getStatusCode() == 404) {
+      negativeCache.recordNotFound(tag);
+    }
+  }
+
+  private <T> Coalescer.Loader<T> recordNotFound(final Coalescer.TagFunction<T> tagFunction,
+                                                 final Coalescer.Loader<T> loader) {
+    final NegativeCache negativeCache = clientContext.getNegativeCache();
+    if (negativeCache == null) {
+      return loader;
+    }
+    return new Coalescer.Loader<T>() {
+      @Override
+      public List<T> load(List<String> tags, final Request request) throws IOException {
+        return recordNotFound(negativeCache, tagFunction, new Fanout.Call<List<String>, List<T>>() {
+          @Override
+          public List<T> call(List<String> tags) throws IOException {
+            return loader.load(tags, request);
+          }
+        }).call(tags);
+      }
+    };
   }
 
   List<Profile> getProfiles(ProfilesRequest profilesRequest) throws IOException {
     Preconditions.checkNotNull(profilesRequest, "profilesRequest");
-    String json = get(createUrl("player/" + StringUtils.join(profilesRequest.getTags(), ",")), profilesRequest);
-    return createList(Profile.class, json);
+    return getProfiles(profilesRequest.getTags(), profilesRequest);
+  }
+
+  Publisher<Profile> getProfilesPublisher(ProfilesRequest profilesRequest) {
+    Preconditions.checkNotNull(profilesRequest, "profilesRequest");
+    List<JsonPublisher.Source> sources = new ArrayList<>();
+    for (List<String> tags : createChunks(profilesRequest.getTags())) {
+      sources.add(new JsonPublisher.Source(createUrl("player/" + StringUtils.join(tags, ",")), false));
+    }
+    return createPublisher(sources, profilesRequest, Profile.class);
+  }
+
+  List<Profile> getProfiles(Collection<String> tags, final Request request) throws IOException {
+    return getStored(clientContext.getProfileStore(), Tags.PROFILE_TAG, tags, request,
+        new Fanout.Call<List<String>, List<Profile>>() {
+          @Override
+          public List<Profile> call(List<String> tags) throws IOException {
+            return getTaggedList(createUrl("player/" + StringUtils.join(tags, ",")), request, Profile.class);
+          }
+        });
+  }
+
+  private <T> List<T> getStored(TagStore<T> tagStore, Coalescer.TagFunction<T> tagFunction, Collection<String> tags,
+                                Request request, Fanout.Call<List<String>, List<T>> call) throws IOException {
+    NegativeCache negativeCache = clientContext.getNegativeCache();
+    if (negativeCache != null) {
+      tags = negativeCache.filter(tags);
+      if (tags.isEmpty()) {
+        return new ArrayList<>();
+      }
+      call = recordNotFound(negativeCache, tagFunction, call);
+    }
+    if (tagStore == null) {
+      return getChunked(tags, call);
+    }
+    final Fanout.Call<List<String>, List<T>> chunkCall = call;
+    return tagStore.get(tags, request, new Coalescer.Loader<T>() {
+      @Override
+      public List<T> load(List<String> tags, Request request) throws IOException {
+        return getChunked(tags, chunkCall);
+      }
+    });
+  }
+
+  private static <T> Fanout.Call<List<String>, List<T>> recordNotFound(final NegativeCache negativeCache,
+      final Coalescer.TagFunction<T> tagFunction, final Fanout.Call<List<String>, List<T>> call) {
+    return new Fanout.Call<List<String>, List<T>>() {
+      @Override
+      public List<T> call(List<String> tags) throws IOException {
+        List<T> list;
+        try {
+          list = call.call(tags);
+        } catch (CrawlerException e) {
+          if (e.getStatusCode() == 404 && tags.size() == 1) {
+            negativeCache.recordNotFound(tags.get(0));
+          }
+          throw e;
+        }
+        Set<String> found = new HashSet<>();
+        for (T t : list) {
+          found.add(Tags.normalize(tagFunction.getTag(t)));
+        }
+        for (String tag : tags) {
+          if (!found.contains(Tags.normalize(tag))) {
+            negativeCache.recordNotFound(tag);
+          }
+        }
+        return list;
+      }
+    };
+  }
+
+  private <T> List<T> getChunked(Collection<String> tags, Fanout.Call<List<String>, List<T>> call)
+      throws IOException {
+    List<List<String>> chunks = createChunks(tags);
+    if (chunks.size() == 1) {
+      return call.call(chunks.get(0));
+    }
+    List<T> list = new ArrayList<>();
+    for (List<T> result : clientContext.getFanout().map(chunks, call)) {
+      list.addAll(result);
+    }
+    return list;
+  }
+
+  int getChunkCount(Collection<String> tags) {
+    return createChunks(tags).size();
+  }
+
+  private List<List<String>> createChunks(Collection<String> tags) {
+    int maxTags = clientContext.getApiConfig().getMaxTagsPerRequest();
+    int length = StringUtils.join(tags, ",").length();
+    int count = Math.max(divideRoundingUp(tags.size(), maxTags), divideRoundingUp(length, MAX_TAGS_LENGTH));
+    List<String> list = new ArrayList<>(tags);
+    List<List<String>> chunks = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      chunks.add(list.subList(i * list.size() / count, (i + 1) * list.size() / count));
+    }
+    return chunks;
+  }
+
+  private static int divideRoundingUp(int dividend, int divisor) {
+    return Math.max(1, (dividend + divisor - 1) / divisor);
+  }
+
+  private <T> T getObject(String url, Request request, Class<T> clazz) throws IOException {
+    return fetch(url, request, clazz, createObjectParser(clazz, request));
+  }
+
+  private <T> List<T> getList(String url, Request request, Class<T> clazz) throws IOException {
+    return fetch(url, request, TYPES.get(clazz), createListParser(clazz, request));
+  }
+
+  private <T> List<T> getTaggedList(String url, Request request, Class<T> clazz) throws IOException {
+    Projection projection = createProjection(clazz, request);
+    if (projection != null) {
+      projection.keep(TAG);
+    }
+    return fetch(url, request, TYPES.get(clazz), createListParser(clazz, projection));
+  }
+
+  private <T> Parser<T> createObjectParser(final Class<T> clazz, Request request) {
+    if (clientContext.getApiConfig().isLazyModels() && (clazz == Profile.class || clazz == Clan.class)) {
+      return createLazyParser(clazz);
+    }
+    final Projection projection = createProjection(clazz, request);
+    return new Parser<T>() {
+      @Override
+      public T parse(String json) {
+        return fromJson(json, clazz, projection);
+      }
+    };
+  }
+
+  private static <T> Parser<T> createLazyParser(final Class<T> clazz) {
+    return new Parser<T>() {
+      @Override
+      public T parse(String json) {
+        if (json == null || !jsonIsObject(json)) {
+          return GSON.fromJson(json, clazz);
+        }
+        LazyFields fields = new LazyFields(GSON, json);
+        return clazz.cast(clazz == Profile.class ? new LazyProfile(fields) : new LazyClan(fields));
+      }
+    };
+  }
+
+  private <T> Parser<List<T>> createListParser(Class<T> clazz, Request request) {
+    return createListParser(clazz, createProjection(clazz, request));
+  }
+
+  private <T> Parser<List<T>> createListParser(final Class<T> clazz, final Projection projection) {
+    return new Parser<List<T>>() {
+      @Override
+      public List<T> parse(String json) {
+        return createList(clazz, json, projection);
+      }
+    };
+  }
+
+  private Projection createProjection(Class<?> clazz, Request request) {
+    if (!clientContext.getApiConfig().isProjectedParsing() || Map.class.isAssignableFrom(clazz)) {
+      return null;
+    }
+    return Projection.of(request);
+  }
+
+  private <T> T fromJson(String json, Type type, Projection projection) {
+    if (projection == null) {
+      return GSON.fromJson(json, type);
+    }
+    return projection.read(GSON, json, type, clientContext.getApiConfig().isEarlyStop());
+  }
+
+  private <T> Polled<T> poll(String url, Request request, Type type, Parser<T> parser) throws IOException {
+    return parseBudgeted(type + " " + createKey(url, request), getPersisted(url, request), parser);
+  }
+
+  private <T> Polled<T> parseBudgeted(String key, String json, Parser<T> parser) throws IOException {
+    MemoryBudget memoryBudget = clientContext.getMemoryBudget();
+    if (memoryBudget == null) {
+      return parseChanged(key, json, parser);
+    }
+    long bytes = 2 * MemoryBudget.weigh(json);
+    memoryBudget.acquire(bytes);
+    try {
+      return parseChanged(key, json, parser);
+    } finally {
+      memoryBudget.release(bytes);
+    }
+  }
+
+  private <T> Polled<T> parseChanged(String key, String json, Parser<T> parser) {
+    ChangeDetector changeDetector = clientContext.getChangeDetector();
+    if (changeDetector == null) {
+      return new Polled<>(parser.parse(json), true);
+    }
+    HashCode hash = ChangeDetector.hash(json);
+    T unchanged = cached(changeDetector.getUnchanged(key, hash));
+    if (unchanged != null) {
+      return new Polled<>(unchanged, false);
+    }
+    T t = parser.parse(json);
+    changeDetector.record(key, hash, t);
+    return new Polled<>(t, true);
+  }
+
+  private <T> T fetch(final String url, final Request request, final Type type, final Parser<T> parser)
+      throws IOException {
+    final String key = type + " " + createKey(url, request);
+    final String template = EndpointTemplate.of(url.substring(this.url.length()));
+    final ResponseCache responseCache = clientContext.getResponseCache();
+    final OffHeapCache offHeapCache = clientContext.getOffHeapCache();
+    final long ttlMillis = getTtlMillis(template);
+    if (responseCache == null && offHeapCache == null || ttlMillis <= 0) {
+      return revalidate(template, url, request, key, parser);
+    }
+    T cached = responseCache != null ? Client.<T>cached(responseCache.get(key)) : null;
+    if (cached == null && offHeapCache != null) {
+      cached = cached(offHeapCache.get(key, type));
+    }
+    if (cached != null) {
+      return cached;
+    }
+    return revalidate(template, url, request, key, new Parser<T>() {
+      @Override
+      public T parse(String json) {
+        T t = parser.parse(json);
+        if (responseCache != null) {
+          responseCache.put(template, key, t, 2L * json.length());
+          if (clientContext.getMemoryBudget() != null) {
+            clientContext.getMemoryBudget().relieve();
+          }
+        }
+        if (offHeapCache != null) {
+          offHeapCache.put(key, t, type, ttlMillis);
+        }
+        return t;
+      }
+    });
+  }
+
+  private <T> T revalidate(String template, final String url, final Request request, final String key,
+                           final Parser<T> parser) throws IOException {
+    StaleCache staleCache = clientContext.getStaleCache();
+    if (staleCache == null || staleCache.getSoftTtlMillis(template) <= 0) {
+      return load(url, request, key, parser);
+    }
+    return cached(staleCache.get(template, key, new StaleCache.Loader() {
+      @Override
+      public Object load() throws IOException {
+        return Client.this.load(url, request, key, parser);
+      }
+    }));
+  }
+
+  // every cache keys its values by the type they were parsed as, so a value found for a key has the type asked for
+  @SuppressWarnings("unchecked")
+  private static <T> T cached(Object value) {
+    return (T) value;
+  }
+
+  private <T> T load(final String url, final Request request, final String key, final Parser<T> parser)
+      throws IOException {
+    SingleFlight singleFlight = clientContext.getSingleFlight();
+    if (singleFlight == null) {
+      return parseBudgeted(key, getPersisted(url, request), parser).getValue();
+    }
+    return singleFlight.execute(key, new SingleFlight.Call<T>() {
+      @Override
+      public T call() throws IOException {
+        return parseBudgeted(key, getPersisted(url, request), parser).getValue();
+      }
+    });
+  }
+
+  private String getPersisted(String url, Request request) throws IOException {
+    DiskCache diskCache = clientContext.getDiskCache();
+    long ttlMillis = diskCache != null ? getTtlMillis(EndpointTemplate.of(url.substring(this.url.length()))) : 0;
+    if (ttlMillis <= 0) {
+      return get(url, request);
+    }
+    String key = createKey(url, request);
+    String json = diskCache.get(key);
+    if (json == null) {
+      json = get(url, request);
+      diskCache.put(key, json, ttlMillis);
+    }
+    return json;
   }
 
-  private <T> List<T> createList(Class<T> clazz, String json) {
+  private long getTtlMillis(String template) {
+    ApiConfig apiConfig = clientContext.getApiConfig();
+    Long ttlMillis = apiConfig.getCacheTtls().get(template);
+    return ttlMillis != null ? ttlMillis : apiConfig.getCacheTtlMillis();
+  }
+
+  private <T> List<T> createList(Class<T> clazz, String json, Projection projection) {
     if (jsonIsObject(json)) {
       List<T> list = new ArrayList<>();
-      list.add(GSON.fromJson(json, clazz));
+      list.add(this.<T>fromJson(json, clazz, projection));
       return list;
     } else {
-      return (List<T>) GSON.fromJson(json, TYPES.get(clazz));
+      return this.<List<T>>fromJson(json, TYPES.get(clazz), projection);
     }
   }
 
   List<TopClan> getTopClans(TopClansRequest topClansRequest) throws IOException {
-    String url = createUrl("top/clans");
-    String locationKey = topClansRequest.getLocationKey();
-    if (StringUtils.isNotBlank(locationKey)) {
-      url += "/" + locationKey;
-    }
-    String json = get(url, topClansRequest);
-    return createList(TopClan.class, json);
+    return getList(createLocationUrl("top/clans", topClansRequest.getLocationKey()), topClansRequest, TopClan.class);
+  }
+
+  Polled<List<TopClan>> pollTopClans(TopClansRequest topClansRequest) throws IOException {
+    Preconditions.checkNotNull(topClansRequest, "topClansRequest");
+    return poll(createLocationUrl("top/clans", topClansRequest.getLocationKey()), topClansRequest,
+        TYPES.get(TopClan.class), createListParser(TopClan.class, topClansRequest));
+  }
+
+  List<TopClan> getGlobalTopClans(TopClansRequest topClansRequest, Collection<String> locationKeys)
+      throws IOException {
+    return getGlobalRanking("top/clans", topClansRequest, locationKeys, TopClan.class, Rankings.CLANS_BY_SCORE,
+        Tags.TOP_CLAN_TAG);
+  }
+
+  Pages<TopClan> getTopClansPages(TopClansRequest topClansRequest) {
+    return createPages(topClansRequest, createLocationUrl("top/clans", topClansRequest.getLocationKey()),
+        TopClan.class);
+  }
+
+  Publisher<TopClan> getTopClansPublisher(TopClansRequest topClansRequest) {
+    return createPublisher(createLocationUrl("top/clans", topClansRequest.getLocationKey()), topClansRequest,
+        TopClan.class);
   }
 
-  Clan getClan(ClanRequest clanRequest) throws IOException {
+  Polled<Clan> pollClan(ClanRequest clanRequest) throws IOException {
+    Preconditions.checkNotNull(clanRequest, "clanRequest");
+    return poll(createUrl("clan/" + clanRequest.getTag()), clanRequest, Clan.class,
+        createObjectParser(Clan.class, clanRequest));
+  }
+
+  Clan getClan(final ClanRequest clanRequest) throws IOException {
     Preconditions.checkNotNull(clanRequest);
-    String json = get(createUrl("clan/" + clanRequest.getTag()), clanRequest);
-    return GSON.fromJson(json, Clan.class);
+    checkNotFound(clanRequest.getTag());
+    observe("clan/{}", clanRequest.getTag());
+    final long asOfMillis = System.currentTimeMillis();
+    try {
+      Clan clan;
+      final Derivations derivations = clientContext.getDerivations();
+      if (derivations != null) {
+        clan = getStored(clientContext.getClanStore(), clanRequest.getTag(), clanRequest,
+            new Fanout.Call<Request, Clan>() {
+              @Override
+              public Clan call(Request request) throws IOException {
+                Clan clan = loadClan(clanRequest);
+                derivations.onClan(clan, null, asOfMillis);
+                return clan;
+              }
+            });
+      } else {
+        clan = loadClan(clanRequest);
+      }
+      final String tag = clanRequest.getTag();
+      if (clientContext.getPrefetcher() != null) {
+        clientContext.getPrefetcher().offer("clan/{}", "clan/{}/war", tag, new Prefetcher.Prefetch() {
+          @Override
+          public void run() throws IOException {
+            getClanWar(ClanWarRequest.builder(tag).build());
+          }
+        });
+      }
+      return clan;
+    } catch (CrawlerException e) {
+      if (clientContext.getClanCoalescer() == null) {
+        recordNotFound(clanRequest.getTag(), e);
+      }
+      throw e;
+    }
+  }
+
+  private Clan loadClan(ClanRequest clanRequest) throws IOException {
+    Coalescer<Clan> clanCoalescer = clientContext.getClanCoalescer();
+    if (clanCoalescer == null) {
+      return getObject(createUrl("clan/" + clanRequest.getTag()), clanRequest, Clan.class);
+    }
+    return clanCoalescer.get(clanRequest.getTag(), clanRequest,
+        recordNotFound(Tags.CLAN_TAG, new Coalescer.Loader<Clan>() {
+          @Override
+          public List<Clan> load(List<String> tags, Request request) throws IOException {
+            return getTaggedList(createUrl("clan/" + StringUtils.join(tags, ",")), request, Clan.class);
+          }
+        }));
+  }
+
+  ClanRoster getClanRoster(ClanRequest clanRequest, final ClanRosterListener clanRosterListener)
+      throws IOException {
+    Preconditions.checkNotNull(clanRequest, "clanRequest");
+    Clan clan = getClan(clanRequest);
+    if (clanRosterListener != null) {
+      clanRosterListener.onClan(clan);
+    }
+    List<String> tags = new ArrayList<>();
+    if (clan.getMembers() != null) {
+      for (Member member : clan.getMembers()) {
+        tags.add(Tags.normalize(member.getTag()));
+      }
+    }
+    final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+    final Map<String, List<Battle>> battles = new ConcurrentHashMap<>();
+    final Map<String, ChestCycle> chests = new ConcurrentHashMap<>();
+    if (!tags.isEmpty()) {
+      Fanout.Call<List<String>, Void> profilesCall = new Fanout.Call<List<String>, Void>() {
+        @Override
+        public Void call(List<String> tags) throws IOException {
+          List<Profile> list = getList(createUrl("player/" + StringUtils.join(tags, ",")), null, Profile.class);
+          for (Profile profile : list) {
+            profiles.put(Tags.normalize(profile.getTag()), profile);
+          }
+          if (clanRosterListener != null) {
+            clanRosterListener.onProfiles(list);
+          }
+          return null;
+        }
+      };
+      Fanout.Call<List<String>, Void> battlesCall = new Fanout.Call<List<String>, Void>() {
+        @Override
+        public Void call(List<String> tags) throws IOException {
+          Map<String, List<Battle>> map = byTeamTag(tags, getBattles(tags, null));
+          battles.putAll(map);
+          if (clanRosterListener != null) {
+            clanRosterListener.onBattles(map);
+          }
+          return null;
+        }
+      };
+      Fanout.Call<List<String>, Void> chestsCall = new Fanout.Call<List<String>, Void>() {
+        @Override
+        public Void call(List<String> tags) throws IOException {
+          String url = createUrl("player/" + StringUtils.join(tags, ",") + "/chests");
+          List<ChestCycle> list = getList(url, null, ChestCycle.class);
+          Map<String, ChestCycle> map = list.size() == tags.size() ? byPosition(tags, list) : getChestsPerTag(tags);
+          chests.putAll(map);
+          if (clanRosterListener != null) {
+            clanRosterListener.onChests(map);
+          }
+          return null;
+        }
+      };
+      List<RosterPart> rosterParts = new ArrayList<>();
+      for (List<String> chunk : createChunks(tags)) {
+        rosterParts.add(new RosterPart(profilesCall, chunk));
+        rosterParts.add(new RosterPart(battlesCall, chunk));
+        rosterParts.add(new RosterPart(chestsCall, chunk));
+      }
+      clientContext.getFanout().map(rosterParts, new Fanout.Call<RosterPart, Void>() {
+        @Override
+        public Void call(RosterPart rosterPart) throws IOException {
+          return rosterPart.call.call(rosterPart.tags);
+        }
+      });
+    }
+    return new ClanRoster(clan, inOrder(tags, profiles), inOrder(tags, battles), inOrder(tags, chests));
+  }
+
+  void runAll(List<Fanout.Call<Void, Void>> calls) throws IOException {
+    clientContext.getFanout().map(calls, new Fanout.Call<Fanout.Call<Void, Void>, Void>() {
+      @Override
+      public Void call(Fanout.Call<Void, Void> call) throws IOException {
+        return call.call(null);
+      }
+    });
+  }
+
+  private static Map<String, List<Battle>> byTeamTag(List<String> tags, List<List<Battle>> listOfBattles) {
+    Map<String, List<Battle>> map = new LinkedHashMap<>();
+    for (int i = 0; i < listOfBattles.size(); i++) {
+      List<Battle> battles = listOfBattles.get(i);
+      if (battles == null) {
+        continue;
+      }
+      Set<String> candidates = null;
+      for (Battle battle : battles) {
+        Set<String> teamTags = new HashSet<>();
+        if (battle.getTeam() != null) {
+          for (Team team : battle.getTeam()) {
+            teamTags.add(Tags.normalize(team.getTag()));
+          }
+        }
+        teamTags.retainAll(tags);
+        if (candidates == null) {
+          candidates = teamTags;
+        } else {
+          candidates.retainAll(teamTags);
+        }
+      }
+      String positional = listOfBattles.size() == tags.size() ? tags.get(i) : null;
+      String tag = null;
+      if (candidates != null && candidates.size() == 1) {
+        tag = candidates.iterator().next();
+      } else if (positional != null && (candidates == null || candidates.contains(positional)
+          || (candidates.isEmpty() && !hasTeamTags(battles)))) {
+        tag = positional;
+      }
+      if (tag != null && !map.containsKey(tag)) {
+        map.put(tag, battles);
+      }
+    }
+    return map;
+  }
+
+  private static boolean hasTeamTags(List<Battle> battles) {
+    for (Battle battle : battles) {
+      if (battle.getTeam() != null) {
+        for (Team team : battle.getTeam()) {
+          if (team.getTag() != null) {
+            return true;
+          }
+        }
+      }
+    }
+    return false;
+  }
+
+  private static <T> Map<String, T> byPosition(List<String> tags, List<T> list) {
+    Map<String, T> map = new LinkedHashMap<>();
+    for (int i = 0; i < tags.size(); i++) {
+      if (list.get(i) != null) {
+        map.put(tags.get(i), list.get(i));
+      }
+    }
+    return map;
+  }
+
+  private Map<String, ChestCycle> getChestsPerTag(List<String> tags) throws IOException {
+    Map<String, ChestCycle> map = new LinkedHashMap<>();
+    for (String tag : tags) {
+      try {
+        List<ChestCycle> list = getList(createUrl("player/" + tag + "/chests"), null, ChestCycle.class);
+        if (!list.isEmpty() && list.get(0) != null) {
+          map.put(tag, list.get(0));
+        }
+      } catch (CrawlerException e) {
+        if (e.getStatusCode() != 404) {
+          throw e;
+        }
+      }
+    }
+    return map;
+  }
+
+  private static <T> Map<String, T> inOrder(List<String> tags, Map<String, T> map) {
+    Map<String, T> ordered = new LinkedHashMap<>();
+    for (String tag : tags) {
+      T t = map.get(tag);
+      if (t != null) {
+        ordered.put(tag, t);
+      }
+    }
+    return ordered;
   }
 
   List<Clan> getClans(ClansRequest clansRequest) throws IOException {
     Preconditions.checkNotNull(clansRequest);
-    String json = get(createUrl("clan/" + StringUtils.join(clansRequest.getTags(), ",")), clansRequest);
-    return createList(Clan.class, json);
+    return getClans(clansRequest.getTags(), clansRequest);
+  }
+
+  List<Clan> getClans(Collection<String> tags, final Request request) throws IOException {
+    return getStored(clientContext.getClanStore(), Tags.CLAN_TAG, tags, request,
+        new Fanout.Call<List<String>, List<Clan>>() {
+          @Override
+          public List<Clan> call(List<String> tags) throws IOException {
+            long asOfMillis = System.currentTimeMillis();
+            List<Clan> clans = getTaggedList(createUrl("clan/" + StringUtils.join(tags, ",")), request,
+                Clan.class);
+            if (clientContext.getDerivations() != null) {
+              for (Clan clan : clans) {
+                clientContext.getDerivations().onClan(clan, null, asOfMillis);
+              }
+            }
+            return clans;
+          }
+        });
   }
 
   List<Clan> getClanSearch(ClanSearchRequest clanSearchRequest) throws IOException {
-    String json = get(createUrl("clan/search"), clanSearchRequest);
-    return createList(Clan.class, json);
+    return getList(createUrl("clan/search"), clanSearchRequest, Clan.class);
+  }
+
+  Pages<Clan> getClanSearchPages(ClanSearchRequest clanSearchRequest) {
+    return createPages(clanSearchRequest, createUrl("clan/search"), Clan.class);
+  }
+
+  Publisher<Clan> getClanSearchPublisher(ClanSearchRequest clanSearchRequest) {
+    return createPublisher(createUrl("clan/search"), clanSearchRequest, Clan.class);
   }
 
   List<TopPlayer> getTopPlayers(TopPlayersRequest topPlayersRequest) throws IOException {
-    String url = createUrl("top/players");
-    String locationKey = topPlayersRequest.getLocationKey();
-    if (StringUtils.isNotBlank(locationKey)) {
-      url += "/" + locationKey;
-    }
-    String json = get(url, topPlayersRequest);
-    return createList(TopPlayer.class, json);
+    return getList(createLocationUrl("top/players", topPlayersRequest.getLocationKey()), topPlayersRequest,
+        TopPlayer.class);
+  }
+
+  Polled<List<TopPlayer>> pollTopPlayers(TopPlayersRequest topPlayersRequest) throws IOException {
+    Preconditions.checkNotNull(topPlayersRequest, "topPlayersRequest");
+    return poll(createLocationUrl("top/players", topPlayersRequest.getLocationKey()), topPlayersRequest,
+        TYPES.get(TopPlayer.class), createListParser(TopPlayer.class, topPlayersRequest));
+  }
+
+  List<TopPlayer> getGlobalTopPlayers(TopPlayersRequest topPlayersRequest, Collection<String> locationKeys)
+      throws IOException {
+    return getGlobalRanking("top/players", topPlayersRequest, locationKeys, TopPlayer.class, Rankings.BY_TROPHIES,
+        Tags.TOP_PLAYER_TAG);
+  }
+
+  Pages<TopPlayer> getTopPlayersPages(TopPlayersRequest topPlayersRequest) {
+    return createPages(topPlayersRequest, createLocationUrl("top/players", topPlayersRequest.getLocationKey()),
+        TopPlayer.class);
+  }
+
+  Publisher<TopPlayer> getTopPlayersPublisher(TopPlayersRequest topPlayersRequest) {
+    return createPublisher(createLocationUrl("top/players", topPlayersRequest.getLocationKey()), topPlayersRequest,
+        TopPlayer.class);
   }
 
   Tournament getTournaments(TournamentsRequest tournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/" + tournamentsRequest.getTag()), tournamentsRequest);
-    return GSON.fromJson(json, Tournament.class);
+    return getObject(createUrl("tournaments/" + tournamentsRequest.getTag()), tournamentsRequest,
+        Tournament.class);
   }
 
   Endpoints getEndpoints() throws IOException {
-    String json = get(createUrl("endpoints"), null);
-    return GSON.fromJson(json, Endpoints.class);
+    return getObject(createUrl("endpoints"), null, Endpoints.class);
   }
 
   List<PopularClan> getPopularClans(PopularClansRequest popularClansRequest) throws IOException {
-    String json = get(createUrl("popular/clans"), popularClansRequest);
-    return createList(PopularClan.class, json);
+    return getList(createUrl("popular/clans"), popularClansRequest, PopularClan.class);
+  }
+
+  Pages<PopularClan> getPopularClansPages(PopularClansRequest popularClansRequest) {
+    return createPages(popularClansRequest, createUrl("popular/clans"), PopularClan.class);
+  }
+
+  Publisher<PopularClan> getPopularClansPublisher(PopularClansRequest popularClansRequest) {
+    return createPublisher(createUrl("popular/clans"), popularClansRequest, PopularClan.class);
   }
 
   List<PopularPlayer> getPopularPlayers(PopularPlayersRequest popularPlayersRequest) throws IOException {
-    String json = get(createUrl("popular/players"), popularPlayersRequest);
-    return createList(PopularPlayer.class, json);
+    return getList(createUrl("popular/players"), popularPlayersRequest, PopularPlayer.class);
+  }
+
+  Pages<PopularPlayer> getPopularPlayersPages(PopularPlayersRequest popularPlayersRequest) {
+    return createPages(popularPlayersRequest, createUrl("popular/players"), PopularPlayer.class);
+  }
+
+  Publisher<PopularPlayer> getPopularPlayersPublisher(PopularPlayersRequest popularPlayersRequest) {
+    return createPublisher(createUrl("popular/players"), popularPlayersRequest, PopularPlayer.class);
   }
 
   List<PopularTournament> getPopularTournaments(PopularTournamentsRequest popularTournamentsRequest)
       throws IOException {
-    String json = get(createUrl("popular/tournaments"), popularTournamentsRequest);
-    return createList(PopularTournament.class, json);
+    return getList(createUrl("popular/tournaments"), popularTournamentsRequest, PopularTournament.class);
+  }
+
+  Pages<PopularTournament> getPopularTournamentsPages(PopularTournamentsRequest popularTournamentsRequest) {
+    return createPages(popularTournamentsRequest, createUrl("popular/tournaments"), PopularTournament.class);
+  }
+
+  Publisher<PopularTournament> getPopularTournamentsPublisher(PopularTournamentsRequest popularTournamentsRequest) {
+    return createPublisher(createUrl("popular/tournaments"), popularTournamentsRequest, PopularTournament.class);
   }
 
   List<Battle> getClanBattles(ClanBattlesRequest clanBattlesRequest) throws IOException {
-    String json = get(createUrl("clan/" + clanBattlesRequest.getTag() + "/battles"), clanBattlesRequest);
-    return createList(Battle.class, json);
+    List<Battle> battles = getList(createUrl("clan/" + clanBattlesRequest.getTag() + "/battles"), clanBattlesRequest,
+        Battle.class);
+    if (clientContext.getDerivations() != null) {
+      clientContext.getDerivations().onBattles(battles);
+    }
+    return battles;
   }
 
   ClanHistory getClanHistory(ClanHistoryRequest clanHistoryRequest) throws IOException {
-    String json = get(createUrl("clan/" + clanHistoryRequest.getTag() + "/history"), clanHistoryRequest);
-    return GSON.fromJson(json, ClanHistory.class);
+    return getObject(createUrl("clan/" + clanHistoryRequest.getTag() + "/history"), clanHistoryRequest,
+        ClanHistory.class);
   }
 
   ClanWeeklyHistory getClanWeeklyHistory(ClanWeeklyHistoryRequest clanWeeklyHistoryRequest) throws IOException {
-    String
-        json =
-        get(createUrl("clan/" + clanWeeklyHistoryRequest.getTag() + "/history/weekly"), clanWeeklyHistoryRequest);
-    return GSON.fromJson(json, ClanWeeklyHistory.class);
+    return getObject(createUrl("clan/" + clanWeeklyHistoryRequest.getTag() + "/history/weekly"),
+        clanWeeklyHistoryRequest, ClanWeeklyHistory.class);
   }
 
   List<OpenTournament> getOpenTournaments(OpenTournamentsRequest openTournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/open"), openTournamentsRequest);
-    return createList(OpenTournament.class, json);
+    return getList(createUrl("tournaments/open"), openTournamentsRequest, OpenTournament.class);
   }
 
   List<KnownTournament> getKnownTournaments(KnownTournamentsRequest knownTournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/known"), knownTournamentsRequest);
-    return createList(KnownTournament.class, json);
+    return getList(createUrl("tournaments/known"), knownTournamentsRequest, KnownTournament.class);
   }
 
   List<SearchedTournament> getTournamentSearch(TournamentSearchRequest tournamentSearchRequest) throws IOException {
-    String json = get(createUrl("tournaments/search"), tournamentSearchRequest);
-    return createList(SearchedTournament.class, json);
-  }
-
-  List<List<Battle>> getPlayerBattles(PlayerBattlesRequest playerBattlesRequest) throws IOException {
-    String json = get(createUrl("player/" + StringUtils.join(playerBattlesRequest.getTags(), ",")
-        + "/battles"), playerBattlesRequest);
-    if (playerBattlesRequest.getTags().size() == 1) {
-      List<List<Battle>> listOfBattles = new ArrayList<>();
-      List<Battle> battles = GSON.fromJson(json, TYPES.get(Battle.class));
-      listOfBattles.add(battles);
-      return listOfBattles;
-    } else {
-      return GSON.fromJson(json, BATTLE_LIST);
+    return getList(createUrl("tournaments/search"), tournamentSearchRequest, SearchedTournament.class);
+  }
+
+  Pages<SearchedTournament> getTournamentSearchPages(TournamentSearchRequest tournamentSearchRequest) {
+    return createPages(tournamentSearchRequest, createUrl("tournaments/search"), SearchedTournament.class);
+  }
+
+  Publisher<SearchedTournament> getTournamentSearchPublisher(TournamentSearchRequest tournamentSearchRequest) {
+    return createPublisher(createUrl("tournaments/search"), tournamentSearchRequest, SearchedTournament.class);
+  }
+
+  List<List<Battle>> getPlayerBattles(final PlayerBattlesRequest playerBattlesRequest) throws IOException {
+    for (String tag : playerBattlesRequest.getTags()) {
+      observe("player/{}/battles", tag);
+    }
+    List<List<Battle>> listOfBattles = getChunked(playerBattlesRequest.getTags(),
+        new Fanout.Call<List<String>, List<List<Battle>>>() {
+          @Override
+          public List<List<Battle>> call(List<String> tags) throws IOException {
+            return getBattles(tags, playerBattlesRequest);
+          }
+        });
+    if (clientContext.getDerivations() != null) {
+      for (List<Battle> battles : listOfBattles) {
+        clientContext.getDerivations().onBattles(battles);
+      }
     }
+    return listOfBattles;
+  }
+
+  Publisher<List<Battle>> getPlayerBattlesPublisher(PlayerBattlesRequest playerBattlesRequest) {
+    Preconditions.checkNotNull(playerBattlesRequest, "playerBattlesRequest");
+    List<JsonPublisher.Source> sources = new ArrayList<>();
+    for (List<String> tags : createChunks(playerBattlesRequest.getTags())) {
+      String url = createUrl("player/" + StringUtils.join(tags, ",") + "/battles");
+      sources.add(new JsonPublisher.Source(url, tags.size() == 1));
+    }
+    return createPublisher(sources, playerBattlesRequest, TYPES.get(Battle.class));
+  }
+
+  private List<List<Battle>> getBattles(final List<String> tags, Request request) throws IOException {
+    String url = createUrl("player/" + StringUtils.join(tags, ",") + "/battles");
+    final Projection projection = createProjection(Battle.class, request);
+    return fetch(url, request, BATTLE_LIST, new Parser<List<List<Battle>>>() {
+      @Override
+      public List<List<Battle>> parse(String json) {
+        if (tags.size() == 1) {
+          List<List<Battle>> listOfBattles = new ArrayList<>();
+          List<Battle> battles = fromJson(json, TYPES.get(Battle.class), projection);
+          listOfBattles.add(battles);
+          return listOfBattles;
+        } else {
+          return fromJson(json, BATTLE_LIST, projection);
+        }
+      }
+    });
   }
 
-  List<ChestCycle> getPlayerChests(PlayerChestsRequest playerChestsRequest) throws IOException {
-    String json = get(createUrl("player/" + StringUtils.join(playerChestsRequest.getTags(), ",")
-        + "/chests"), playerChestsRequest);
-    return createList(ChestCycle.class, json);
+  List<ChestCycle> getPlayerChests(final PlayerChestsRequest playerChestsRequest) throws IOException {
+    return getChunked(playerChestsRequest.getTags(), new Fanout.Call<List<String>, List<ChestCycle>>() {
+      @Override
+      public List<ChestCycle> call(List<String> tags) throws IOException {
+        return getList(createUrl("player/" + StringUtils.join(tags, ",") + "/chests"), playerChestsRequest,
+            ChestCycle.class);
+      }
+    });
   }
 
   List<PopularDeck> getPopularDecks(PopularDecksRequest popularDecksRequest) throws IOException {
-    String json = get(createUrl("popular/decks"), popularDecksRequest);
-    return createList(PopularDeck.class, json);
+    return getList(createUrl("popular/decks"), popularDecksRequest, PopularDeck.class);
+  }
+
+  Pages<PopularDeck> getPopularDecksPages(PopularDecksRequest popularDecksRequest) {
+    return createPages(popularDecksRequest, createUrl("popular/decks"), PopularDeck.class);
+  }
+
+  Publisher<PopularDeck> getPopularDecksPublisher(PopularDecksRequest popularDecksRequest) {
+    return createPublisher(createUrl("popular/decks"), popularDecksRequest, PopularDeck.class);
   }
 
   ClanTracking getClanTracking(ClanTrackingRequest clanTrackingRequest) throws IOException {
-    String json = get(createUrl("clan/" + clanTrackingRequest.getTag() + "/tracking"), clanTrackingRequest);
-    return GSON.fromJson(json, ClanTracking.class);
+    return getObject(createUrl("clan/" + clanTrackingRequest.getTag() + "/tracking"), clanTrackingRequest,
+        ClanTracking.class);
   }
 
   List<ClanWarLog> getClanWarLog(ClanWarLogRequest clanWarLogRequest) throws IOException {
-    String json = get(createUrl("clan/" + clanWarLogRequest.getTag() + "/warlog"), clanWarLogRequest);
-    return createList(ClanWarLog.class, json);
+    return getList(createUrl("clan/" + clanWarLogRequest.getTag() + "/warlog"), clanWarLogRequest, ClanWarLog.class);
   }
 
-  private boolean jsonIsObject(String json) {
+  private static boolean jsonIsObject(String json) {
     return json.startsWith("{");
   }
 
   ClanWar getClanWar(ClanWarRequest clanWarRequest) throws IOException {
-    String json = get(createUrl("clan/" + clanWarRequest.getTag() + "/war"), clanWarRequest);
-    return GSON.fromJson(json, ClanWar.class);
+    observe("clan/{}/war", clanWarRequest.getTag());
+    return getObject(createUrl("clan/" + clanWarRequest.getTag() + "/war"), clanWarRequest, ClanWar.class);
+  }
+
+  Polled<ClanWar> pollClanWar(ClanWarRequest clanWarRequest) throws IOException {
+    Preconditions.checkNotNull(clanWarRequest, "clanWarRequest");
+    return poll(createUrl("clan/" + clanWarRequest.getTag() + "/war"), clanWarRequest, ClanWar.class,
+        createObjectParser(ClanWar.class, clanWarRequest));
   }
 
   AuthStats getAuthStats(AuthStatsRequest authStatsRequest) throws IOException {
-    String json = get(createUrl("auth/stats"), authStatsRequest);
-    return GSON.fromJson(json, AuthStats.class);
+    return getObject(createUrl("auth/stats"), authStatsRequest, AuthStats.class);
   }
 
   List<OneKTournament> getOneKTournaments(OneKTournamentsRequest oneKTournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/1k"), oneKTournamentsRequest);
-    return createList(OneKTournament.class, json);
+    return getList(createUrl("tournaments/1k"), oneKTournamentsRequest, OneKTournament.class);
   }
 
   List<FullTournament> getFullTournaments(FullTournamentsRequest fullTournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/full"), fullTournamentsRequest);
-    return createList(FullTournament.class, json);
+    return getList(createUrl("tournaments/full"), fullTournamentsRequest, FullTournament.class);
   }
 
   List<InPreparationTournament> getInPreparationTournaments(
       InPreparationTournamentsRequest inPreparationTournamentsRequest) throws IOException {
-    String json = get(createUrl("tournaments/prep"), inPreparationTournamentsRequest);
-    return createList(InPreparationTournament.class, json);
+    return getList(createUrl("tournaments/prep"), inPreparationTournamentsRequest, InPreparationTournament.class);
   }
 
   List<JoinableTournament> getJoinableTournaments(JoinableTournamentsRequest joinableTournamentsRequest)
       throws IOException {
-    String json = get(createUrl("tournaments/joinable"), joinableTournamentsRequest);
-    return createList(JoinableTournament.class, json);
+    return getList(createUrl("tournaments/joinable"), joinableTournamentsRequest, JoinableTournament.class);
   }
 
   Response getLastResponse() {
@@ -423,27 +1339,59 @@ class Client {
   }
 
   List<TopWar> getTopWars(TopWarsRequest topWarsRequest) throws IOException {
-    String url = createUrl("top/war");
-    String locationKey = topWarsRequest.getLocationKey();
-    if (StringUtils.isNotBlank(locationKey)) {
-      url += "/" + locationKey;
-    }
-    String json = get(url, topWarsRequest);
-    return createList(TopWar.class, json);
+    return getList(createLocationUrl("top/war", topWarsRequest.getLocationKey()), topWarsRequest, TopWar.class);
+  }
+
+  List<TopWar> getGlobalTopWars(TopWarsRequest topWarsRequest, Collection<String> locationKeys)
+      throws IOException {
+    return getGlobalRanking("top/war", topWarsRequest, locationKeys, TopWar.class, Rankings.WARS_BY_SCORE,
+        Tags.TOP_WAR_TAG);
+  }
+
+  Pages<TopWar> getTopWarsPages(TopWarsRequest topWarsRequest) {
+    return createPages(topWarsRequest, createLocationUrl("top/war", topWarsRequest.getLocationKey()), TopWar.class);
+  }
+
+  Publisher<TopWar> getTopWarsPublisher(TopWarsRequest topWarsRequest) {
+    return createPublisher(createLocationUrl("top/war", topWarsRequest.getLocationKey()), topWarsRequest, TopWar.class);
   }
 
   Constants getConstants(ConstantsRequest constantsRequest) throws IOException {
-    String json = get(createUrl("constants"), constantsRequest);
-    return GSON.fromJson(json, Constants.class);
+    ConstantsSnapshot constantsSnapshot = clientContext.getConstantsSnapshot();
+    if (constantsSnapshot != null && (constantsRequest == null || constantsRequest.getQueryParameters().isEmpty())) {
+      return constantsSnapshot.get(new ConstantsSnapshot.Source() {
+        @Override
+        public String getVersion() throws IOException {
+          return Client.this.getVersion();
+        }
+
+        @Override
+        public Constants getConstants() throws IOException {
+          return getObject(createUrl("constants"), null, Constants.class);
+        }
+      });
+    }
+    return getObject(createUrl("constants"), constantsRequest, Constants.class);
   }
 
   Status getStatus() throws IOException {
-    String json = get(createUrl("status"), null);
-    return GSON.fromJson(json, Status.class);
+    return getObject(createUrl("status"), null, Status.class);
   }
 
   String getHealth() throws IOException {
     return get(createUrl("health"), null);
   }
 
+  private static class RosterPart {
+
+    private final Fanout.Call<List<String>, Void> call;
+    private final List<String> tags;
+
+    private RosterPart(Fanout.Call<List<String>, Void> call, List<String> tags) {
+      this.call = call;
+      this.tags = tags;
+    }
+
+  }
+
 }
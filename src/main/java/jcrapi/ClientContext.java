@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.io.Closer;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Clock;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import jcrapi.model.Clan;
+import jcrapi.model.Profile;
+import lombok.Getter;
+
+/**
+ * State shared by all clients of one {@link Api} instance. Publishers deliver on the executor of the config, or else
+ * on own threads, so slow subscribers never hold the fan-out pool. Closing it releases the files it holds open and
+ * stops its publisher threads.
+ *
+ * @author Michael Lieshoff
+ */
+@Getter
+class ClientContext implements Closeable {
+
+  private static final long SERVER_CACHE_ENTRIES = 10000;
+  private static final int DISK_CACHE_SLOTS = 65536;
+  private static final int OFF_HEAP_BYTES_PER_SLOT = 1024;
+  private static final Executor DICTIONARY_EXECUTOR = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder()
+      .setDaemon(true)
+      .setNameFormat("jcrapi-dictionary-%d")
+      .build());
+  private static final long CHANGE_DETECTOR_ENTRIES = 10000;
+  private static final long NEGATIVE_CACHE_ENTRIES = 10000;
+  private static final long STALE_CACHE_ENTRIES = 10000;
+
+  private final ApiConfig apiConfig;
+
+  private final ServerCacheTracker serverCacheTracker;
+
+  private final FileLeaseCoordinator fileLeaseCoordinator;
+
+  private final Throttle throttle;
+
+  private final Fanout fanout;
+
+  private final Coalescer<Profile> profileCoalescer;
+  private final Coalescer<Clan> clanCoalescer;
+
+  private final SingleFlight singleFlight;
+
+  private final TagStore<Profile> profileStore;
+  private final TagStore<Clan> clanStore;
+
+  private final ResponseCache responseCache;
+
+  private final DiskCache diskCache;
+
+  private final OffHeapCache offHeapCache;
+
+  private final ChangeDetector changeDetector;
+
+  private final ConstantsSnapshot constantsSnapshot;
+
+  private final NegativeCache negativeCache;
+
+  private final StaleCache staleCache;
+
+  private final Derivations derivations;
+
+  private final MemoryBudget memoryBudget;
+
+  private final Prefetcher prefetcher;
+
+  private ExecutorService publisherExecutor;
+
+  ClientContext(ApiConfig apiConfig) {
+    this(apiConfig, Ticker.systemTicker());
+  }
+
+  ClientContext(ApiConfig apiConfig, Ticker ticker) {
+    Preconditions.checkNotNull(apiConfig, "apiConfig");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.apiConfig = apiConfig;
+    this.serverCacheTracker = apiConfig.isServerCacheAware()
+        ? new ServerCacheTracker(SERVER_CACHE_ENTRIES, ticker) : null;
+    this.fileLeaseCoordinator = createFileLeaseCoordinator(apiConfig);
+    this.throttle = createThrottle(apiConfig, fileLeaseCoordinator);
+    this.fanout = new Fanout(apiConfig.getParallelism(), apiConfig.getRetries());
+    if (apiConfig.getCoalesceMillis() > 0) {
+      profileCoalescer = new Coalescer<>(apiConfig.getCoalesceMillis(), apiConfig.getCoalesceSize(), Tags.PROFILE_TAG);
+      clanCoalescer = new Coalescer<>(apiConfig.getCoalesceMillis(), apiConfig.getCoalesceSize(), Tags.CLAN_TAG);
+    } else {
+      profileCoalescer = null;
+      clanCoalescer = null;
+    }
+    this.singleFlight = apiConfig.isSingleFlight() ? new SingleFlight() : null;
+    if (apiConfig.getTagStoreMillis() > 0) {
+      profileStore = new TagStore<>(apiConfig.getTagStoreSize(), apiConfig.getTagStoreMillis(), Tags.PROFILE_TAG,
+          ticker);
+      clanStore = new TagStore<>(apiConfig.getTagStoreSize(), apiConfig.getTagStoreMillis(), Tags.CLAN_TAG, ticker);
+    } else {
+      profileStore = null;
+      clanStore = null;
+    }
+    this.responseCache = apiConfig.getCacheSize() > 0 ? new ResponseCache(apiConfig.getCacheSize(),
+        apiConfig.getCacheBytes(), apiConfig.getCacheTtlMillis(), apiConfig.getCacheTtls(), ticker) : null;
+    this.diskCache = createDiskCache(apiConfig);
+    this.offHeapCache = apiConfig.getOffHeapBytes() > 0 ? new OffHeapCache(apiConfig.getOffHeapBytes(),
+        (int) Math.max(1024, apiConfig.getOffHeapBytes() / OFF_HEAP_BYTES_PER_SLOT), ticker) : null;
+    this.changeDetector = apiConfig.isChangeDetection() ? new ChangeDetector(CHANGE_DETECTOR_ENTRIES) : null;
+    Executor executor = new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        fanout.getExecutorService().execute(runnable);
+      }
+    };
+    this.constantsSnapshot = apiConfig.getConstantsSnapshot() != null
+        ? new ConstantsSnapshot(apiConfig.getConstantsSnapshot(), executor) : null;
+    this.negativeCache = apiConfig.getNegativeCacheMillis() > 0
+        ? new NegativeCache(NEGATIVE_CACHE_ENTRIES, apiConfig.getNegativeCacheMillis(), ticker) : null;
+    this.staleCache = apiConfig.getSoftTtlMillis() > 0 || !apiConfig.getSoftTtls().isEmpty()
+        ? new StaleCache(STALE_CACHE_ENTRIES, apiConfig.getSoftTtlMillis(), apiConfig.getSoftTtls(),
+        apiConfig.getHardTtlMillis(), apiConfig.getHardTtls(), executor, ticker) : null;
+    this.derivations = apiConfig.isDerivedUpdates() ? new Derivations(profileStore, clanStore) : null;
+    this.memoryBudget = apiConfig.getMemoryBudgetBytes() > 0
+        ? new MemoryBudget(apiConfig.getMemoryBudgetBytes(), responseCache) : null;
+    this.prefetcher = apiConfig.getPrefetchMillis() > 0
+        ? new Prefetcher(apiConfig.getPrefetchMillis(), executor, ticker) : null;
+  }
+
+  private static DiskCache createDiskCache(ApiConfig apiConfig) {
+    if (apiConfig.getCacheDirectory() == null) {
+      return null;
+    }
+    try {
+      return new DiskCache(apiConfig.getCacheDirectory(), apiConfig.getCacheDirectoryBytes(), DISK_CACHE_SLOTS,
+          apiConfig.isCacheCompression(), DICTIONARY_EXECUTOR, Clock.systemUTC());
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  private static FileLeaseCoordinator createFileLeaseCoordinator(ApiConfig apiConfig) {
+    if (apiConfig.getRateLimitFile() == null) {
+      return null;
+    }
+    try {
+      return new FileLeaseCoordinator(apiConfig.getRateLimitFile(), apiConfig.getRequestsPerSecond());
+    } catch (IOException e) {
+      throw new ApiException(e);
+    }
+  }
+
+  private static Throttle createThrottle(ApiConfig apiConfig, FileLeaseCoordinator fileLeaseCoordinator) {
+    if (apiConfig.getRequestsPerSecond() <= 0) {
+      return null;
+    }
+    if (fileLeaseCoordinator == null) {
+      return new LocalThrottle(apiConfig.getRequestsPerSecond());
+    }
+    return new LeasedThrottle(fileLeaseCoordinator, apiConfig.getLeaseSize(), apiConfig.getLeaseMillis());
+  }
+
+  synchronized Executor getPublisherExecutor() {
+    if (apiConfig.getPublisherExecutor() != null) {
+      return apiConfig.getPublisherExecutor();
+    }
+    if (publisherExecutor == null) {
+      publisherExecutor = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("jcrapi-publisher-%d")
+          .build());
+    }
+    return publisherExecutor;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (publisherExecutor != null) {
+      publisherExecutor.shutdown();
+    }
+    fanout.shutdown();
+    Closer closer = Closer.create();
+    if (fileLeaseCoordinator != null) {
+      closer.register(fileLeaseCoordinator);
+    }
+    if (diskCache != null) {
+      closer.register(diskCache);
+    }
+    closer.close();
+  }
+
+}
@@ -18,15 +18,34 @@ package jcrapi;
 
 import com.google.common.base.Preconditions;
 
+import java.io.Closeable;
+import java.io.IOException;
+
 /**
  * @author Michael Lieshoff
  */
-class ClientFactory {
+class ClientFactory implements Closeable {
+
+  private final ClientContext clientContext;
+
+  ClientFactory() {
+    this(ApiConfig.builder().build());
+  }
+
+  ClientFactory(ApiConfig apiConfig) {
+    Preconditions.checkNotNull(apiConfig);
+    this.clientContext = new ClientContext(apiConfig);
+  }
 
   Client createClient(String url, String developerKey, AuthMode authMode) {
     Preconditions.checkNotNull(url);
     Preconditions.checkArgument(url.length() > 0, url);
-    return new Client(url, developerKey, authMode, new CrawlerFactory());
+    return new Client(url, developerKey, authMode, new CrawlerFactory(), clientContext);
+  }
+
+  @Override
+  public void close() throws IOException {
+    clientContext.close();
   }
 
 }
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.SettableFuture;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import jcrapi.request.Request;
+
+/**
+ * Merges single tag calls of many threads into one multi tag request. The first caller of a batch waits for the
+ * window or until the batch is full, fires the request and hands every caller its own element.
+ *
+ * @author Michael Lieshoff
+ */
+class Coalescer<T> {
+
+  interface Loader<T> {
+
+    List<T> load(List<String> tags, Request request) throws IOException;
+
+  }
+
+  interface TagFunction<T> {
+
+    String getTag(T t);
+
+  }
+
+  private final long windowMillis;
+  private final int batchSize;
+  private final TagFunction<T> tagFunction;
+
+  private final Map<Map<String, String>, Batch> batches = new HashMap<>();
+
+  Coalescer(long windowMillis, int batchSize, TagFunction<T> tagFunction) {
+    Preconditions.checkArgument(windowMillis > 0, "windowMillis must be > 0");
+    Preconditions.checkArgument(batchSize > 0, "batchSize must be > 0");
+    Preconditions.checkNotNull(tagFunction, "tagFunction");
+    this.windowMillis = windowMillis;
+    this.batchSize = batchSize;
+    this.tagFunction = tagFunction;
+  }
+
+  T get(String tag, Request request, Loader<T> loader) throws IOException {
+    Preconditions.checkNotNull(tag, "tag");
+    Preconditions.checkNotNull(request, "request");
+    Preconditions.checkNotNull(loader, "loader");
+    SettableFuture<T> future = SettableFuture.create();
+    Batch batch;
+    boolean leader = false;
+    synchronized (this) {
+      Map<String, String> key = request.getQueryParameters();
+      batch = batches.get(key);
+      if (batch == null) {
+        batch = new Batch(request);
+        batches.put(key, batch);
+        leader = true;
+      }
+      batch.add(Tags.normalize(tag), future);
+      if (batch.size() >= batchSize) {
+        batches.remove(key);
+        batch.full.countDown();
+      }
+    }
+    if (leader) {
+      awaitWindow(batch);
+      synchronized (this) {
+        batches.remove(request.getQueryParameters(), batch);
+      }
+      batch.flush(loader);
+    }
+    return await(future);
+  }
+
+  private void awaitWindow(Batch batch) {
+    try {
+      batch.full.await(windowMillis, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private T await(SettableFuture<T> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for batch!");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+  }
+
+  private class Batch {
+
+    private final Request request;
+    private final Map<String, List<SettableFuture<T>>> waiters = new LinkedHashMap<>();
+    private final CountDownLatch full = new CountDownLatch(1);
+
+    private Batch(Request request) {
+      this.request = request;
+    }
+
+    private void add(String tag, SettableFuture<T> future) {
+      List<SettableFuture<T>> futures = waiters.get(tag);
+      if (futures == null) {
+        futures = new ArrayList<>();
+        waiters.put(tag, futures);
+      }
+      futures.add(future);
+    }
+
+    private int size() {
+      return waiters.size();
+    }
+
+    private void flush(Loader<T> loader) {
+      List<String> tags;
+      synchronized (Coalescer.this) {
+        tags = new ArrayList<>(waiters.keySet());
+      }
+      try {
+        Map<String, T> results = new HashMap<>();
+        for (T t : loader.load(tags, request)) {
+          results.put(Tags.normalize(tagFunction.getTag(t)), t);
+        }
+        for (String tag : tags) {
+          T t = results.get(tag);
+          for (SettableFuture<T> future : waiters.get(tag)) {
+            if (t != null) {
+              future.set(t);
+            } else {
+              future.setException(new CrawlerException(
+                  new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "tag " + tag + " missing in batch")));
+            }
+          }
+        }
+      } catch (Throwable t) {
+        for (List<SettableFuture<T>> futures : waiters.values()) {
+          for (SettableFuture<T> future : futures) {
+            future.setException(t);
+          }
+        }
+      }
+    }
+
+  }
+
+}
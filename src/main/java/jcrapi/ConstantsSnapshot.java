@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import jcrapi.model.Constants;
+
+/**
+ * The constants of one API version kept in a local file in the form of {@link ModelCodec}. A start with a snapshot
+ * only decodes the file and checks the API version in the background, the constants are only fetched and parsed again
+ * if the version has changed. A snapshot written by another model is ignored.
+ *
+ * @author Michael Lieshoff
+ */
+class ConstantsSnapshot {
+
+  interface Source {
+
+    String getVersion() throws IOException;
+
+    Constants getConstants() throws IOException;
+
+  }
+
+  private static final int MAGIC = 0x4a435353;
+  private static final long FINGERPRINT = ModelCodec.fingerprint(Constants.class);
+
+  private final File file;
+  private final Executor executor;
+
+  private final AtomicBoolean checked = new AtomicBoolean();
+
+  private volatile Snapshot snapshot;
+
+  ConstantsSnapshot(File file, Executor executor) {
+    Preconditions.checkNotNull(file, "file");
+    Preconditions.checkNotNull(executor, "executor");
+    this.file = file;
+    this.executor = executor;
+  }
+
+  Constants get(final Source source) throws IOException {
+    Preconditions.checkNotNull(source, "source");
+    Snapshot current = snapshot;
+    if (current == null) {
+      synchronized (this) {
+        if (snapshot == null) {
+          snapshot = read();
+          if (snapshot == null) {
+            snapshot = fetch(source);
+            checked.set(true);
+          }
+        }
+        current = snapshot;
+      }
+    }
+    if (checked.compareAndSet(false, true)) {
+      final String version = current.version;
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            if (!version.equals(source.getVersion())) {
+              snapshot = fetch(source);
+            }
+          } catch (IOException | RuntimeException e) {
+            checked.set(false);
+          }
+        }
+      });
+    }
+    return current.constants;
+  }
+
+  private Snapshot fetch(Source source) throws IOException {
+    Snapshot fetched = new Snapshot(source.getVersion(), source.getConstants());
+    write(fetched);
+    return fetched;
+  }
+
+  private Snapshot read() {
+    if (!file.isFile()) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      if (in.readInt() != MAGIC || in.readLong() != FINGERPRINT) {
+        return null;
+      }
+      String version = in.readUTF();
+      byte[] bytes = new byte[in.readInt()];
+      in.readFully(bytes);
+      return new Snapshot(version, (Constants) ModelCodec.decode(ByteBuffer.wrap(bytes), Constants.class));
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private void write(Snapshot snapshot) throws IOException {
+    byte[] bytes = ModelCodec.encode(snapshot.constants, Constants.class);
+    File directory = file.getAbsoluteFile().getParentFile();
+    File temp = File.createTempFile(file.getName(), ".tmp", directory);
+    try {
+      try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+        out.writeInt(MAGIC);
+        out.writeLong(FINGERPRINT);
+        out.writeUTF(snapshot.version);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+      }
+      Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temp.toPath());
+    }
+  }
+
+  private static class Snapshot {
+
+    private final String version;
+    private final Constants constants;
+
+    private Snapshot(String version, Constants constants) {
+      Preconditions.checkNotNull(version, "version");
+      Preconditions.checkNotNull(constants, "constants");
+      this.version = version;
+      this.constants = constants;
+    }
+
+  }
+
+}
@@ -16,6 +16,7 @@
  */
 package jcrapi;
 
+import com.google.common.base.Charsets;
 import com.google.common.base.Preconditions;
 
 import org.apache.commons.collections.MapUtils;
@@ -30,6 +31,7 @@ import org.apache.http.client.methods.HttpGet;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
 import java.util.Iterator;
@@ -58,7 +60,26 @@ class Crawler {
   }
 
   String get(String url, Map<String, String> headers, Map<String, String> parameters) throws IOException {
-    Response apiResponse = RESPONSE.get();
+    HttpResponse response = execute(url, headers, parameters);
+    BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()));
+    StringBuilder s = new StringBuilder();
+    String line;
+    while ((line = rd.readLine()) != null) {
+      s.append(line);
+    }
+    String result = s.toString();
+    setLastResponse(RESPONSE.get(), result, response);
+    return result;
+  }
+
+  Reader open(String url, Map<String, String> headers, Map<String, String> parameters) throws IOException {
+    HttpResponse response = execute(url, headers, parameters);
+    setLastResponse(RESPONSE.get(), null, response);
+    return new BufferedReader(new InputStreamReader(response.getEntity().getContent(), Charsets.UTF_8));
+  }
+
+  private HttpResponse execute(String url, Map<String, String> headers, Map<String, String> parameters)
+      throws IOException {
     Preconditions.checkNotNull(url);
     Preconditions.checkArgument(url.length() > 0);
     Preconditions.checkNotNull(headers);
@@ -69,18 +90,10 @@ class Crawler {
     HttpResponse response = client.execute(request);
     StatusLine statusLine = response.getStatusLine();
     if (statusLine.getStatusCode() != 200) {
-      setLastResponse(apiResponse, "ERROR", response);
+      setLastResponse(RESPONSE.get(), "ERROR", response);
       throw new CrawlerException(statusLine);
     }
-    BufferedReader rd = new BufferedReader(new InputStreamReader(response.getEntity().getContent()));
-    StringBuilder s = new StringBuilder();
-    String line;
-    while ((line = rd.readLine()) != null) {
-      s.append(line);
-    }
-    String result = s.toString();
-    setLastResponse(apiResponse, result, response);
-    return result;
+    return response;
   }
 
   private void setLastResponse(Response apiResponse, String result, HttpResponse response) {
@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import jcrapi.model.Battle;
+import jcrapi.model.Card;
+import jcrapi.model.Clan;
+import jcrapi.model.Member;
+import jcrapi.model.Profile;
+import jcrapi.model.ProfileClan;
+import jcrapi.model.Team;
+import jcrapi.model.TeamCard;
+import jcrapi.model.TeamClan;
+import jcrapi.request.Request;
+
+/**
+ * Patches what one answer tells about other entities into the stored profiles: a clan knows the trophies, arena,
+ * role and donations of its members, a battle the trophies, clan and deck of its players at that time. Only stored
+ * profiles older than the answer are patched, each into a fresh copy, and their time to live starts anew; a battle
+ * is as old as its time, a clan as old as the call that fetched it. A fetched clan is stored as well.
+ *
+ * @author Michael Lieshoff
+ */
+class Derivations {
+
+  private final TagStore<Profile> profileStore;
+  private final TagStore<Clan> clanStore;
+
+  Derivations(TagStore<Profile> profileStore, TagStore<Clan> clanStore) {
+    Preconditions.checkNotNull(profileStore, "profileStore");
+    Preconditions.checkNotNull(clanStore, "clanStore");
+    this.profileStore = profileStore;
+    this.clanStore = clanStore;
+  }
+
+  void onClan(final Clan clan, Request request, long asOfMillis) {
+    if (clan == null || clan.getTag() == null) {
+      return;
+    }
+    if (request != null) {
+      clanStore.put(clan, request);
+    }
+    if (clan.getMembers() == null) {
+      return;
+    }
+    for (final Member member : clan.getMembers()) {
+      if (member.getTag() == null) {
+        continue;
+      }
+      profileStore.update(member.getTag(), asOfMillis, new Function<Profile, Profile>() {
+        @Override
+        public Profile apply(Profile stored) {
+          Profile profile = copy(stored);
+          profile.setTrophies(member.getTrophies());
+          if (member.getArena() != null) {
+            profile.setArena(member.getArena());
+          }
+          ProfileClan profileClan = new ProfileClan();
+          profileClan.setTag(clan.getTag());
+          profileClan.setName(clan.getName());
+          profileClan.setBadge(clan.getBadge());
+          profileClan.setRole(member.getRole());
+          profileClan.setDonations(member.getDonations());
+          profileClan.setDonationsReceived(member.getDonationsReceived());
+          profileClan.setDonationsDelta(member.getDonationsDelta());
+          profile.setClan(profileClan);
+          return profile;
+        }
+      });
+    }
+  }
+
+  void onBattles(List<Battle> battles) {
+    if (battles == null) {
+      return;
+    }
+    Map<String, Team> latest = new HashMap<>();
+    Map<String, Long> times = new HashMap<>();
+    for (Battle battle : battles) {
+      for (List<Team> teams : Arrays.asList(battle.getTeam(), battle.getOpponent())) {
+        if (teams == null) {
+          continue;
+        }
+        for (Team team : teams) {
+          String tag = Tags.normalize(team.getTag());
+          Long time = times.get(tag);
+          if (tag != null && (time == null || time < battle.getUtcTime())) {
+            latest.put(tag, team);
+            times.put(tag, battle.getUtcTime());
+          }
+        }
+      }
+    }
+    for (Map.Entry<String, Team> entry : latest.entrySet()) {
+      final Team team = entry.getValue();
+      long asOfMillis = TimeUnit.SECONDS.toMillis(times.get(entry.getKey()));
+      profileStore.update(entry.getKey(), asOfMillis, new Function<Profile, Profile>() {
+        @Override
+        public Profile apply(Profile stored) {
+          Profile profile = copy(stored);
+          if (team.getStartTrophies() > 0) {
+            profile.setTrophies(getTrophiesAfter(team));
+          }
+          profile.setClan(toProfileClan(team.getClan(), stored.getClan()));
+          if (team.getDeck() != null && !team.getDeck().isEmpty()) {
+            profile.setCurrentDeck(toCards(team.getDeck()));
+          }
+          return profile;
+        }
+      });
+    }
+  }
+
+  // the deprecated trophy change is the only field of a battle that tells the trophies after it
+  @SuppressWarnings("deprecation")
+  private static int getTrophiesAfter(Team team) {
+    return team.getStartTrophies() + team.getTrophyChange();
+  }
+
+  private static ProfileClan toProfileClan(TeamClan teamClan, ProfileClan stored) {
+    if (teamClan == null || teamClan.getTag() == null) {
+      return null;
+    }
+    if (stored != null && Tags.normalize(teamClan.getTag()).equals(Tags.normalize(stored.getTag()))) {
+      return stored;
+    }
+    ProfileClan profileClan = new ProfileClan();
+    profileClan.setTag(teamClan.getTag());
+    profileClan.setName(teamClan.getName());
+    profileClan.setBadge(teamClan.getBadge());
+    return profileClan;
+  }
+
+  private static List<Card> toCards(List<TeamCard> teamCards) {
+    List<Card> cards = new ArrayList<>(teamCards.size());
+    for (TeamCard teamCard : teamCards) {
+      Card card = new Card();
+      card.setId(teamCard.getId());
+      card.setName(teamCard.getName());
+      card.setLevel(teamCard.getLevel());
+      card.setMaxLevel(teamCard.getMaxLevel());
+      card.setIcon(teamCard.getIcon());
+      card.setKey(teamCard.getKey());
+      card.setElixir(teamCard.getElixir());
+      card.setType(teamCard.getType());
+      card.setRarity(teamCard.getRarity());
+      card.setArena(teamCard.getArena());
+      card.setStarLevel(teamCard.getStarLevel());
+      card.setMinLevel(teamCard.getMinLevel());
+      card.setDisplayLevel(teamCard.getDisplayLevel());
+      cards.add(card);
+    }
+    return cards;
+  }
+
+  private static Profile copy(Profile profile) {
+    return (Profile) ModelCodec.decode(ByteBuffer.wrap(ModelCodec.encode(profile, Profile.class)), Profile.class);
+  }
+
+}
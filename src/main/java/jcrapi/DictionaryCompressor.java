@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates records with a preset dictionary, so even a small record finds its keys, card names and icon urls in the
+ * dictionary instead of spelling them out. Every record is compressed on its own and can be inflated on its own.
+ *
+ * <p>The dictionary is trained from sample records: segments found in many samples are taken first, the most
+ * frequent at the end, because deflate reaches the end of the dictionary with the shortest distances. The id is a
+ * hash of the dictionary, whoever keeps compressed records keeps the id with them.</p>
+ *
+ * @author Michael Lieshoff
+ */
+class DictionaryCompressor {
+
+  static final int MAX_DICTIONARY_SIZE = 32 * 1024;
+
+  private static final int SEGMENT_LENGTH = 16;
+
+  private final byte[] dictionary;
+  private final int id;
+
+  DictionaryCompressor(byte[] dictionary) {
+    Preconditions.checkNotNull(dictionary, "dictionary");
+    Preconditions.checkArgument(dictionary.length > 0 && dictionary.length <= MAX_DICTIONARY_SIZE,
+        "dictionary must have 1 to " + MAX_DICTIONARY_SIZE + " bytes");
+    this.dictionary = dictionary.clone();
+    int hash = Hashing.murmur3_32().hashBytes(dictionary).asInt();
+    this.id = hash != 0 ? hash : 1;
+  }
+
+  static DictionaryCompressor train(List<String> samples, int size) {
+    Preconditions.checkNotNull(samples, "samples");
+    Preconditions.checkArgument(size > 0 && size <= MAX_DICTIONARY_SIZE,
+        "size must be > 0 and <= " + MAX_DICTIONARY_SIZE);
+    final Map<String, Integer> counts = new HashMap<>();
+    Map<String, int[]> occurrences = new HashMap<>();
+    for (int s = 0; s < samples.size(); s++) {
+      String sample = samples.get(s);
+      Set<String> segments = new HashSet<>();
+      for (int i = 0; i + SEGMENT_LENGTH <= sample.length(); i++) {
+        String segment = sample.substring(i, i + SEGMENT_LENGTH);
+        if (segments.add(segment)) {
+          Integer count = counts.get(segment);
+          counts.put(segment, count != null ? count + 1 : 1);
+          if (count == null) {
+            occurrences.put(segment, new int[] {s, i});
+          }
+        }
+      }
+    }
+    List<String> segments = new ArrayList<>();
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      if (entry.getValue() > 1) {
+        segments.add(entry.getKey());
+      }
+    }
+    Collections.sort(segments, new Comparator<String>() {
+      @Override
+      public int compare(String segment1, String segment2) {
+        int result = counts.get(segment2).compareTo(counts.get(segment1));
+        return result != 0 ? result : segment1.compareTo(segment2);
+      }
+    });
+    List<byte[]> pieces = new ArrayList<>();
+    StringBuilder content = new StringBuilder();
+    int length = 0;
+    for (String segment : segments) {
+      if (length >= size) {
+        break;
+      }
+      if (content.indexOf(segment) >= 0) {
+        continue;
+      }
+      int[] occurrence = occurrences.get(segment);
+      byte[] bytes = extend(samples.get(occurrence[0]), occurrence[1], counts).getBytes(Charsets.UTF_8);
+      bytes = Arrays.copyOf(bytes, Math.min(bytes.length, size - length));
+      pieces.add(bytes);
+      content.append(new String(bytes, Charsets.UTF_8)).append('\n');
+      length += bytes.length;
+    }
+    ByteArrayOutputStream out = new ByteArrayOutputStream(size);
+    for (int i = pieces.size() - 1; i >= 0; i--) {
+      out.write(pieces.get(i), 0, pieces.get(i).length);
+    }
+    if (out.size() == 0) {
+      out.write(' ');
+    }
+    return new DictionaryCompressor(out.toByteArray());
+  }
+
+  private static String extend(String sample, int position, Map<String, Integer> counts) {
+    int threshold = Math.max(2, counts.get(sample.substring(position, position + SEGMENT_LENGTH)) / 2);
+    int start = position;
+    while (start > 0 && counts.get(sample.substring(start - 1, start - 1 + SEGMENT_LENGTH)) >= threshold) {
+      start--;
+    }
+    int end = position + SEGMENT_LENGTH;
+    while (end < sample.length() && counts.get(sample.substring(end + 1 - SEGMENT_LENGTH, end + 1)) >= threshold) {
+      end++;
+    }
+    return sample.substring(start, end);
+  }
+
+  int getId() {
+    return id;
+  }
+
+  byte[] getDictionary() {
+    return dictionary.clone();
+  }
+
+  byte[] compress(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try {
+      deflater.setDictionary(dictionary);
+      deflater.setInput(bytes);
+      deflater.finish();
+      ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 16);
+      byte[] buffer = new byte[4096];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  byte[] decompress(byte[] compressed, int offset, int length, int decompressedLength) throws DataFormatException {
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setDictionary(dictionary);
+      inflater.setInput(compressed, offset, length);
+      byte[] bytes = new byte[decompressedLength];
+      int read = 0;
+      while (read < decompressedLength) {
+        int n = inflater.inflate(bytes, read, decompressedLength - read);
+        if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new DataFormatException("record ends after " + read + " of " + decompressedLength + " bytes");
+        }
+        read += n;
+      }
+      return bytes;
+    } finally {
+      inflater.end();
+    }
+  }
+
+}
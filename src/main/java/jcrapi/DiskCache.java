@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Striped;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+
+/**
+ * Answers kept in memory-mapped files of a directory, so they survive a restart and are shared by all JVMs on a host
+ * which use the same directory.
+ *
+ * <p>Records are appended to a ring of segment files, the oldest segment is overwritten when the ring is full. An
+ * index file holds an open addressing table from key hash to record position and expiry. Writers serialize on a file
+ * lock, readers take no lock at all: every record carries its key and a CRC32, and a record which was torn by a crash
+ * or overwritten while it was read is simply a miss.</p>
+ *
+ * <p>With compression the first answers are samples to train a {@link DictionaryCompressor}, later answers are
+ * deflated with its dictionary. Only the head of each sample is kept and the training runs on an executor, records
+ * are written plain until the dictionary is ready. The dictionary is kept as a file in the directory and its id in
+ * the index header, so all JVMs use the same one, and every compressed record names the dictionary it needs.</p>
+ *
+ * <p>Closing releases the index file and drops the segments, later reads miss and later writes fail. Java 8 cannot
+ * unmap a file, so the mapped memory is freed once the buffers are collected.</p>
+ *
+ * @author Michael Lieshoff
+ */
+class DiskCache implements Closeable {
+
+  private static final int MAGIC = 0x4a434444;
+  private static final int SEGMENTS = 4;
+  private static final int PROBES = 16;
+
+  private static final int HEADER_SIZE = 64;
+  private static final int MAGIC_OFFSET = 0;
+  private static final int SLOTS_OFFSET = 4;
+  private static final int SEGMENT_SIZE_OFFSET = 8;
+  private static final int WRITE_POSITION_OFFSET = 16;
+  private static final int DICTIONARY_OFFSET = 24;
+
+  private static final int SLOT_SIZE = 32;
+  private static final int HASH_OFFSET = 0;
+  private static final int POSITION_OFFSET = 8;
+  private static final int LENGTH_OFFSET = 16;
+  private static final int EXPIRES_OFFSET = 24;
+
+  private static final int RECORD_HEADER_SIZE = 8;
+
+  private static final byte PLAIN = 0;
+  private static final byte COMPRESSED = 1;
+  private static final int SAMPLES = 64;
+  private static final int SAMPLE_LENGTH = 4 * 1024;
+
+  private static final Striped<Lock> LOCKS = Striped.lock(16);
+
+  private final File directory;
+  private final String path;
+  private final boolean compression;
+  private final Executor executor;
+  private final Clock clock;
+  private final int slots;
+  private final int segmentSize;
+  private final FileChannel indexChannel;
+  private final MappedByteBuffer index;
+  private final MappedByteBuffer[] segments = new MappedByteBuffer[SEGMENTS];
+
+  private final ConcurrentMap<Integer, DictionaryCompressor> compressors = new ConcurrentHashMap<>();
+  private final List<String> samples = new ArrayList<>();
+  private final AtomicBoolean training = new AtomicBoolean();
+
+  DiskCache(File directory, long maximumBytes, int slots) throws IOException {
+    this(directory, maximumBytes, slots, false, MoreExecutors.directExecutor(), Clock.systemUTC());
+  }
+
+  DiskCache(File directory, long maximumBytes, int slots, Clock clock) throws IOException {
+    this(directory, maximumBytes, slots, false, MoreExecutors.directExecutor(), clock);
+  }
+
+  DiskCache(File directory, long maximumBytes, int slots, boolean compression, Executor executor, Clock clock)
+      throws IOException {
+    Preconditions.checkNotNull(directory, "directory");
+    Preconditions.checkArgument(maximumBytes >= SEGMENTS * 1024, "maximumBytes must be >= " + SEGMENTS * 1024);
+    Preconditions.checkArgument(slots >= PROBES, "slots must be >= " + PROBES);
+    Preconditions.checkNotNull(executor, "executor");
+    Preconditions.checkNotNull(clock, "clock");
+    if (!directory.isDirectory() && !directory.mkdirs()) {
+      throw new IOException("cannot create cache directory " + directory + "!");
+    }
+    this.directory = directory;
+    this.path = directory.getCanonicalPath();
+    this.compression = compression;
+    this.executor = executor;
+    this.clock = clock;
+    this.slots = slots;
+    this.segmentSize = (int) Math.min(Integer.MAX_VALUE, maximumBytes / SEGMENTS);
+    this.indexChannel = new RandomAccessFile(new File(directory, "index"), "rw").getChannel();
+    this.index = indexChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) slots * SLOT_SIZE);
+    for (int i = 0; i < SEGMENTS; i++) {
+      try (FileChannel channel = new RandomAccessFile(new File(directory, "segment-" + i), "rw").getChannel()) {
+        segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+      }
+    }
+    initialize();
+  }
+
+  // the file lock keeps other JVMs out while the layout is checked
+  @SuppressWarnings("try")
+  private void initialize() throws IOException {
+    Lock lock = LOCKS.get(path);
+    lock.lock();
+    try (FileLock ignored = indexChannel.lock(0, HEADER_SIZE, false)) {
+      if (index.getInt(MAGIC_OFFSET) != MAGIC || index.getInt(SLOTS_OFFSET) != slots
+          || index.getInt(SEGMENT_SIZE_OFFSET) != segmentSize) {
+        for (long offset = HEADER_SIZE; offset < index.capacity(); offset += SLOT_SIZE) {
+          index.putLong((int) offset + HASH_OFFSET, 0);
+        }
+        index.putLong(WRITE_POSITION_OFFSET, 0);
+        index.putInt(SLOTS_OFFSET, slots);
+        index.putInt(SEGMENT_SIZE_OFFSET, segmentSize);
+        index.putInt(MAGIC_OFFSET, MAGIC);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  String get(String key) {
+    Preconditions.checkNotNull(key, "key");
+    long hash = hash(key);
+    long now = clock.millis();
+    for (int i = 0; i < PROBES; i++) {
+      int slot = getSlotOffset(hash, i);
+      long slotHash = index.getLong(slot + HASH_OFFSET);
+      if (slotHash == 0) {
+        return null;
+      }
+      if (slotHash == hash && index.getLong(slot + EXPIRES_OFFSET) > now) {
+        String value = read(key, index.getLong(slot + POSITION_OFFSET), index.getInt(slot + LENGTH_OFFSET));
+        if (value != null) {
+          return value;
+        }
+      }
+    }
+    return null;
+  }
+
+  private String read(String key, long position, int length) {
+    int offset = (int) (position % segmentSize);
+    if (!isLive(position) || length < RECORD_HEADER_SIZE || offset + length > segmentSize) {
+      return null;
+    }
+    MappedByteBuffer mapped = segments[getSegment(position)];
+    if (mapped == null) {
+      return null;
+    }
+    byte[] record = new byte[length];
+    ByteBuffer segment = mapped.duplicate();
+    segment.position(offset);
+    segment.get(record);
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    int crc = buffer.getInt();
+    int keyLength = buffer.getInt();
+    if (!isLive(position) || crc != crc(record) || keyLength < 0 || keyLength > length - RECORD_HEADER_SIZE) {
+      return null;
+    }
+    byte[] keyBytes = Arrays.copyOfRange(record, RECORD_HEADER_SIZE, RECORD_HEADER_SIZE + keyLength);
+    if (!Arrays.equals(keyBytes, key.getBytes(Charsets.UTF_8))) {
+      return null;
+    }
+    return decode(record, RECORD_HEADER_SIZE + keyLength);
+  }
+
+  private String decode(byte[] record, int offset) {
+    if (offset >= record.length) {
+      return null;
+    }
+    if (record[offset] == PLAIN) {
+      return new String(record, offset + 1, record.length - offset - 1, Charsets.UTF_8);
+    }
+    if (record[offset] != COMPRESSED || record.length - offset < 9) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(record, offset + 1, 8);
+    DictionaryCompressor compressor = getCompressor(buffer.getInt());
+    int decompressedLength = buffer.getInt();
+    if (compressor == null || decompressedLength < 0) {
+      return null;
+    }
+    try {
+      return new String(compressor.decompress(record, offset + 9, record.length - offset - 9, decompressedLength),
+          Charsets.UTF_8);
+    } catch (DataFormatException e) {
+      return null;
+    }
+  }
+
+  private boolean isLive(long position) {
+    long oldestSegment = index.getLong(WRITE_POSITION_OFFSET) / segmentSize - (SEGMENTS - 1);
+    return position >= oldestSegment * segmentSize;
+  }
+
+  // the file lock serializes the writers of all JVMs
+  @SuppressWarnings("try")
+  void put(String key, String value, long ttlMillis) throws IOException {
+    Preconditions.checkNotNull(key, "key");
+    Preconditions.checkNotNull(value, "value");
+    Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be > 0");
+    byte[] keyBytes = key.getBytes(Charsets.UTF_8);
+    byte[] valueBytes = encode(value);
+    int length = RECORD_HEADER_SIZE + keyBytes.length + valueBytes.length;
+    if (length > segmentSize) {
+      return;
+    }
+    byte[] record = ByteBuffer.allocate(length).putInt(0).putInt(keyBytes.length).put(keyBytes).put(valueBytes)
+        .array();
+    ByteBuffer.wrap(record).putInt(0, crc(record));
+    long hash = hash(key);
+    Lock lock = LOCKS.get(path);
+    lock.lock();
+    try (FileLock ignored = indexChannel.lock(0, HEADER_SIZE, false)) {
+      long now = clock.millis();
+      long position = index.getLong(WRITE_POSITION_OFFSET);
+      int offset = (int) (position % segmentSize);
+      if (offset + length > segmentSize) {
+        position += segmentSize - offset;
+        offset = 0;
+      }
+      index.putLong(WRITE_POSITION_OFFSET, position + length);
+      ByteBuffer segment = segments[getSegment(position)].duplicate();
+      segment.position(offset);
+      segment.put(record);
+      int slot = findSlot(hash, now);
+      index.putLong(slot + POSITION_OFFSET, position);
+      index.putInt(slot + LENGTH_OFFSET, length);
+      index.putLong(slot + EXPIRES_OFFSET, now + ttlMillis);
+      index.putLong(slot + HASH_OFFSET, hash);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private byte[] encode(String value) {
+    byte[] bytes = value.getBytes(Charsets.UTF_8);
+    DictionaryCompressor compressor = compression ? getCurrentCompressor(value) : null;
+    if (compressor == null) {
+      return ByteBuffer.allocate(1 + bytes.length).put(PLAIN).put(bytes).array();
+    }
+    byte[] compressed = compressor.compress(bytes);
+    return ByteBuffer.allocate(9 + compressed.length).put(COMPRESSED).putInt(compressor.getId()).putInt(bytes.length)
+        .put(compressed).array();
+  }
+
+  private DictionaryCompressor getCurrentCompressor(String sample) {
+    int id = index.getInt(DICTIONARY_OFFSET);
+    DictionaryCompressor compressor = id != 0 ? getCompressor(id) : null;
+    if (compressor != null || training.get()) {
+      return compressor;
+    }
+    final List<String> trainingSamples;
+    synchronized (samples) {
+      samples.add(sample.length() > SAMPLE_LENGTH ? sample.substring(0, SAMPLE_LENGTH) : sample);
+      if (samples.size() < SAMPLES || !training.compareAndSet(false, true)) {
+        return null;
+      }
+      trainingSamples = new ArrayList<>(samples);
+      samples.clear();
+    }
+    executor.execute(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          train(trainingSamples);
+        } catch (IOException | RuntimeException e) {
+          // records stay plain, the next samples train again
+        } finally {
+          training.set(false);
+        }
+      }
+    });
+    return null;
+  }
+
+  // the file lock only keeps other JVMs out of the header while it is written, the body never touches it
+  @SuppressWarnings("try")
+  private void train(List<String> trainingSamples) throws IOException {
+    DictionaryCompressor compressor = DictionaryCompressor.train(trainingSamples,
+        DictionaryCompressor.MAX_DICTIONARY_SIZE);
+    File file = getDictionaryFile(compressor.getId());
+    File temporary = new File(directory, file.getName() + ".tmp");
+    Files.write(temporary.toPath(), compressor.getDictionary());
+    Files.move(temporary.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+    compressors.put(compressor.getId(), compressor);
+    Lock lock = LOCKS.get(path);
+    lock.lock();
+    try (FileLock ignored = indexChannel.lock(0, HEADER_SIZE, false)) {
+      index.putInt(DICTIONARY_OFFSET, compressor.getId());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    Lock lock = LOCKS.get(path);
+    lock.lock();
+    try {
+      indexChannel.close();
+      Arrays.fill(segments, null);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private DictionaryCompressor getCompressor(int id) {
+    DictionaryCompressor compressor = compressors.get(id);
+    if (compressor == null) {
+      File file = getDictionaryFile(id);
+      try {
+        compressor = file.isFile() ? new DictionaryCompressor(Files.readAllBytes(file.toPath())) : null;
+      } catch (IOException | IllegalArgumentException e) {
+        compressor = null;
+      }
+      if (compressor == null || compressor.getId() != id) {
+        return null;
+      }
+      compressors.putIfAbsent(id, compressor);
+    }
+    return compressor;
+  }
+
+  private File getDictionaryFile(int id) {
+    return new File(directory, "dictionary-" + Integer.toHexString(id));
+  }
+
+  private int findSlot(long hash, long now) {
+    int victim = -1;
+    long victimExpires = Long.MAX_VALUE;
+    for (int i = 0; i < PROBES; i++) {
+      int slot = getSlotOffset(hash, i);
+      long slotHash = index.getLong(slot + HASH_OFFSET);
+      if (slotHash == 0 || slotHash == hash) {
+        return slot;
+      }
+      long expires = isLive(index.getLong(slot + POSITION_OFFSET)) ? index.getLong(slot + EXPIRES_OFFSET) : 0;
+      if (expires < victimExpires) {
+        victim = slot;
+        victimExpires = expires;
+      }
+    }
+    return victim;
+  }
+
+  private int getSlotOffset(long hash, int probe) {
+    return HEADER_SIZE + (int) (((hash & Long.MAX_VALUE) + probe) % slots) * SLOT_SIZE;
+  }
+
+  private int getSegment(long position) {
+    return (int) (position / segmentSize % SEGMENTS);
+  }
+
+  private static long hash(String key) {
+    long hash = Hashing.murmur3_128().hashString(key, Charsets.UTF_8).asLong();
+    return hash != 0 ? hash : 1;
+  }
+
+  private static int crc(byte[] record) {
+    CRC32 crc32 = new CRC32();
+    crc32.update(record, 4, record.length - 4);
+    return (int) crc32.getValue();
+  }
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Splitter;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reduces a request path like <code>player/2PGGCJJL/battles</code> to its template
+ * <code>player/{}/battles</code>, so that everything learned about one tag applies to the whole endpoint.
+ *
+ * @author Michael Lieshoff
+ */
+final class EndpointTemplate {
+
+  static final String PLACEHOLDER = "{}";
+
+  private static final Set<String> LITERALS = ImmutableSet.of(
+      "1k", "auth", "battles", "chests", "clan", "clans", "constants", "decks", "endpoints", "full", "health",
+      "history", "joinable", "known", "open", "player", "players", "popular", "prep", "search", "stats", "status",
+      "top", "tournaments", "tracking", "version", "war", "warlog", "weekly");
+
+  private EndpointTemplate() {
+  }
+
+  static String of(String path) {
+    List<String> segments = new ArrayList<>();
+    for (String segment : Splitter.on('/').omitEmptyStrings().split(path)) {
+      segments.add(LITERALS.contains(segment) ? segment : PLACEHOLDER);
+    }
+    return Joiner.on('/').join(segments);
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs independent calls with bounded parallelism and hands back the results in input order. The calling thread
+ * works on the calls as well, so a fan-out started from a pool thread always makes progress. A failed call is
+ * retried after a backoff that doubles with every round.
+ *
+ * @author Michael Lieshoff
+ */
+class Fanout {
+
+  interface Call<I, O> {
+
+    O call(I input) throws IOException;
+
+  }
+
+  static final long BACKOFF_MILLIS = 500;
+
+  private final int parallelism;
+  private final int retries;
+  private final long backoffMillis;
+
+  private ExecutorService executorService;
+
+  Fanout(int parallelism, int retries) {
+    this(parallelism, retries, BACKOFF_MILLIS);
+  }
+
+  Fanout(int parallelism, int retries, long backoffMillis) {
+    Preconditions.checkArgument(parallelism > 0, "parallelism must be > 0");
+    Preconditions.checkArgument(retries >= 0, "retries must be >= 0");
+    Preconditions.checkArgument(backoffMillis >= 0, "backoffMillis must be >= 0");
+    this.parallelism = parallelism;
+    this.retries = retries;
+    this.backoffMillis = backoffMillis;
+  }
+
+  <I, O> List<O> map(List<I> inputs, Call<I, O> call) throws IOException {
+    Preconditions.checkNotNull(inputs, "inputs");
+    Preconditions.checkNotNull(call, "call");
+    Worker<I, O> worker = new Worker<>(inputs, call);
+    for (int i = 1; i < Math.min(parallelism, inputs.size()); i++) {
+      getExecutorService().execute(worker);
+    }
+    worker.run();
+    return worker.await();
+  }
+
+  synchronized ExecutorService getExecutorService() {
+    if (executorService == null) {
+      executorService = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder()
+          .setDaemon(true)
+          .setNameFormat("jcrapi-%d")
+          .build());
+    }
+    return executorService;
+  }
+
+  synchronized void shutdown() {
+    if (executorService != null) {
+      // queued pages are cancelled instead of dropped, so nobody waits for them forever
+      for (Runnable runnable : executorService.shutdownNow()) {
+        if (runnable instanceof Future) {
+          ((Future<?>) runnable).cancel(false);
+        }
+      }
+    }
+  }
+
+  private <I, O> O callWithRetries(Call<I, O> call, I input) throws IOException {
+    for (int round = 0; ; round++) {
+      try {
+        return call.call(input);
+      } catch (IOException e) {
+        if (round >= retries || !isRetryable(e)) {
+          throw e;
+        }
+      }
+      backOff(round);
+    }
+  }
+
+  private void backOff(int round) throws InterruptedIOException {
+    try {
+      Thread.sleep(backoffMillis << Math.min(round, 10));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while backing off from a failed call!");
+    }
+  }
+
+  private boolean isRetryable(IOException e) {
+    if (e instanceof CrawlerException) {
+      int statusCode = ((CrawlerException) e).getStatusCode();
+      return statusCode == 429 || statusCode >= 500;
+    }
+    return !(e instanceof InterruptedIOException);
+  }
+
+  private class Worker<I, O> implements Runnable {
+
+    private final List<I> inputs;
+    private final Call<I, O> call;
+    private final Object[] results;
+    private final AtomicInteger next = new AtomicInteger();
+    private final CountDownLatch done;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    private Worker(List<I> inputs, Call<I, O> call) {
+      this.inputs = inputs;
+      this.call = call;
+      this.results = new Object[inputs.size()];
+      this.done = new CountDownLatch(inputs.size());
+    }
+
+    @Override
+    public void run() {
+      for (int i = next.getAndIncrement(); i < inputs.size(); i = next.getAndIncrement()) {
+        try {
+          if (failure.get() == null) {
+            results[i] = callWithRetries(call, inputs.get(i));
+          }
+        } catch (Throwable t) {
+          failure.compareAndSet(null, t);
+        } finally {
+          done.countDown();
+        }
+      }
+    }
+
+    private List<O> await() throws IOException {
+      try {
+        done.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("interrupted while waiting for " + inputs.size() + " calls!");
+      }
+      Throwable throwable = failure.get();
+      if (throwable instanceof IOException) {
+        throw (IOException) throwable;
+      } else if (throwable instanceof Error) {
+        throw (Error) throwable;
+      } else if (throwable != null) {
+        throw (RuntimeException) throwable;
+      }
+      List<O> list = new ArrayList<>(results.length);
+      for (Object result : results) {
+        list.add(cast(result));
+      }
+      return list;
+    }
+
+    // every result was returned by the call of this worker
+    @SuppressWarnings("unchecked")
+    private O cast(Object result) {
+      return (O) result;
+    }
+
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Striped;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Token bucket of one developer key kept in a memory-mapped file, so that all JVMs on a host which map the same
+ * file share the rate limit of the key. Permits are taken out in batches to keep the file lock off the hot path.
+ * Closing releases the file, later leases fail.
+ *
+ * @author Michael Lieshoff
+ */
+class FileLeaseCoordinator implements Closeable {
+
+  private static final int MAGIC = 0x4a435254;
+  private static final int SIZE = 64;
+
+  private static final int MAGIC_OFFSET = 0;
+  private static final int TOKENS_OFFSET = 8;
+  private static final int REFILL_OFFSET = 16;
+
+  private static final Striped<Lock> LOCKS = Striped.lock(16);
+
+  private final String path;
+  private final FileChannel fileChannel;
+  private final MappedByteBuffer buffer;
+
+  private final double requestsPerSecond;
+  private final double capacity;
+
+  FileLeaseCoordinator(File file, double requestsPerSecond) throws IOException {
+    Preconditions.checkNotNull(file, "file");
+    Preconditions.checkArgument(requestsPerSecond > 0, "requestsPerSecond must be > 0");
+    this.path = file.getCanonicalPath();
+    this.requestsPerSecond = requestsPerSecond;
+    this.capacity = Math.max(1, requestsPerSecond);
+    this.fileChannel = new RandomAccessFile(file, "rw").getChannel();
+    this.buffer = fileChannel.map(FileChannel.MapMode.READ_WRITE, 0, SIZE);
+  }
+
+  // the file lock only keeps other JVMs out of the bucket while it is updated, the body never touches it
+  @SuppressWarnings("try")
+  int lease(int wanted) throws IOException {
+    Preconditions.checkArgument(wanted > 0, "wanted must be > 0");
+    Lock lock = LOCKS.get(path);
+    lock.lock();
+    try (FileLock ignored = fileChannel.lock(0, SIZE, false)) {
+      long now = System.currentTimeMillis();
+      double tokens = refill(now);
+      int granted = (int) Math.min(wanted, Math.floor(tokens));
+      buffer.putDouble(TOKENS_OFFSET, tokens - granted);
+      buffer.putLong(REFILL_OFFSET, now);
+      return granted;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private double refill(long now) {
+    if (buffer.getInt(MAGIC_OFFSET) != MAGIC) {
+      buffer.putInt(MAGIC_OFFSET, MAGIC);
+      return capacity;
+    }
+    long elapsed = Math.max(0, now - buffer.getLong(REFILL_OFFSET));
+    return Math.min(capacity, buffer.getDouble(TOKENS_OFFSET) + elapsed * requestsPerSecond / 1000);
+  }
+
+  long getMillisPerPermit() {
+    return Math.max(1, (long) Math.ceil(1000 / requestsPerSecond));
+  }
+
+  @Override
+  public void close() throws IOException {
+    fileChannel.close();
+  }
+
+}
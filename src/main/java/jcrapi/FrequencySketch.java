@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+
+/**
+ * Count-min sketch of how often keys were asked for lately. Only the smallest counters of a key are incremented, every
+ * counter holds at most 15, and all counters are halved after a sample of ten accesses per expected key, so old
+ * popularity fades.
+ *
+ * @author Michael Lieshoff
+ */
+class FrequencySketch {
+
+  private static final int[] SEEDS = {0x97cb3127, 0xc2b2ae35, 0x85ebca6b, 0x27d4eb2f};
+  private static final int MAX_COUNT = 15;
+  private static final int MAX_SIZE = 1 << 16;
+
+  private final int[][] counters;
+  private final int mask;
+  private final int sampleSize;
+
+  private int additions;
+
+  FrequencySketch(int expectedSize) {
+    Preconditions.checkArgument(expectedSize > 0, "expectedSize must be > 0");
+    int size = Math.min(expectedSize, MAX_SIZE);
+    int width = Integer.highestOneBit(Math.max(16, size) * 2 - 1) * 4;
+    this.counters = new int[SEEDS.length][width];
+    this.mask = width - 1;
+    this.sampleSize = 10 * Math.max(16, size);
+  }
+
+  void increment(String key) {
+    int hash = key.hashCode();
+    int frequency = frequency(key);
+    if (frequency >= MAX_COUNT) {
+      return;
+    }
+    for (int i = 0; i < SEEDS.length; i++) {
+      int index = index(hash, i);
+      if (counters[i][index] == frequency) {
+        counters[i][index]++;
+      }
+    }
+    if (++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  int frequency(String key) {
+    int hash = key.hashCode();
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      frequency = Math.min(frequency, counters[i][index(hash, i)]);
+    }
+    return frequency;
+  }
+
+  private int index(int hash, int row) {
+    int h = (hash ^ SEEDS[row]) * 0x9e3779b9;
+    return (h ^ h >>> 16) & mask;
+  }
+
+  private void reset() {
+    for (int[] row : counters) {
+      for (int i = 0; i < row.length; i++) {
+        row[i] >>>= 1;
+      }
+    }
+    additions /= 2;
+  }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the elements of one or more JSON arrays while they are read from the network. Only as many elements are
+ * parsed as the subscriber requested, so a slow subscriber holds back the connection instead of filling the memory.
+ * A source answering a single object publishes that object.
+ *
+ * @author Michael Lieshoff
+ */
+class JsonPublisher<T> implements Publisher<T> {
+
+  interface Opener {
+
+    Reader open(String url) throws IOException;
+
+  }
+
+  static class Source {
+
+    private final String url;
+    private final boolean whole;
+
+    /**
+     * @param whole whether the complete answer is one element, even if it is an array
+     */
+    Source(String url, boolean whole) {
+      this.url = url;
+      this.whole = whole;
+    }
+
+  }
+
+  private final List<Source> sources;
+  private final Type type;
+  private final Gson gson;
+  private final Opener opener;
+  private final Executor executor;
+
+  JsonPublisher(List<Source> sources, Type type, Gson gson, Opener opener, Executor executor) {
+    Preconditions.checkNotNull(sources, "sources");
+    Preconditions.checkNotNull(type, "type");
+    Preconditions.checkNotNull(gson, "gson");
+    Preconditions.checkNotNull(opener, "opener");
+    Preconditions.checkNotNull(executor, "executor");
+    this.sources = sources;
+    this.type = type;
+    this.gson = gson;
+    this.opener = opener;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Subscriber<? super T> subscriber) {
+    Preconditions.checkNotNull(subscriber, "subscriber");
+    subscriber.onSubscribe(new JsonSubscription(subscriber));
+  }
+
+  private class JsonSubscription implements Subscription, Runnable {
+
+    private final Subscriber<? super T> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger work = new AtomicInteger();
+
+    private volatile boolean cancelled;
+    private volatile Throwable failure;
+
+    private boolean done;
+    private int sourceIndex;
+    private JsonReader reader;
+    private boolean whole;
+
+    private JsonSubscription(Subscriber<? super T> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        failure = new IllegalArgumentException("n must be > 0, but was " + n);
+      } else {
+        long current;
+        do {
+          current = demand.get();
+        } while (!demand.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      schedule();
+    }
+
+    private void schedule() {
+      if (work.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        drain();
+        missed = work.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void drain() {
+      if (done) {
+        return;
+      }
+      if (cancelled) {
+        finish();
+        return;
+      }
+      if (failure != null) {
+        finish();
+        subscriber.onError(failure);
+        return;
+      }
+      try {
+        while (demand.get() > 0 && !cancelled) {
+          T t = readNext();
+          if (t == null) {
+            break;
+          }
+          demand.decrementAndGet();
+          subscriber.onNext(t);
+        }
+        if (!cancelled && isExhausted()) {
+          finish();
+          subscriber.onComplete();
+        }
+      } catch (IOException | RuntimeException e) {
+        finish();
+        subscriber.onError(e);
+      }
+    }
+
+    private T readNext() throws IOException {
+      while (true) {
+        if (reader == null) {
+          if (sourceIndex >= sources.size()) {
+            return null;
+          }
+          Source source = sources.get(sourceIndex++);
+          reader = new JsonReader(opener.open(source.url));
+          whole = source.whole || reader.peek() == JsonToken.BEGIN_OBJECT;
+          if (!whole) {
+            reader.beginArray();
+          }
+        }
+        if (whole) {
+          T t = read();
+          close();
+          return t;
+        }
+        if (reader.hasNext()) {
+          return read();
+        }
+        reader.endArray();
+        close();
+      }
+    }
+
+    private boolean isExhausted() throws IOException {
+      if (sourceIndex < sources.size()) {
+        return false;
+      }
+      return reader == null || !whole && !reader.hasNext();
+    }
+
+    private T read() {
+      T t = gson.fromJson(reader, type);
+      if (t == null) {
+        throw new JsonParseException("null element in answer!");
+      }
+      return t;
+    }
+
+    private void finish() {
+      done = true;
+      close();
+    }
+
+    private void close() {
+      if (reader != null) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          // nothing to do, the answer is not needed anymore
+        }
+        reader = null;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fields of a top level JSON object, decoded one by one on demand. A single pass over the answer records where the
+ * value of every field starts, a field is decoded with Gson from its position on first claim only. Once every field
+ * was claimed, the answer itself is released.
+ *
+ * @author Michael Lieshoff
+ */
+class LazyFields {
+
+  private final Gson gson;
+  private final Map<String, Integer> positions;
+
+  private String json;
+
+  LazyFields(Gson gson, String json) {
+    Preconditions.checkNotNull(gson, "gson");
+    Preconditions.checkNotNull(json, "json");
+    this.gson = gson;
+    this.json = json;
+    this.positions = index(json);
+  }
+
+  synchronized <T> T claim(String name, Type type, T defaultValue) {
+    Integer position = positions.remove(name);
+    if (position == null) {
+      return defaultValue;
+    }
+    T value = decode(position, type);
+    if (positions.isEmpty()) {
+      json = null;
+    }
+    return value != null ? value : defaultValue;
+  }
+
+  synchronized void release(String name) {
+    positions.remove(name);
+    if (positions.isEmpty()) {
+      json = null;
+    }
+  }
+
+  synchronized int getPendingCount() {
+    return positions.size();
+  }
+
+  synchronized boolean isReleased() {
+    return json == null;
+  }
+
+  private <T> T decode(int start, Type type) {
+    StringReader reader = new StringReader(json);
+    try {
+      reader.skip(start);
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+    return gson.fromJson(new JsonReader(reader), type);
+  }
+
+  static Map<String, Integer> index(String json) {
+    Map<String, Integer> positions = new HashMap<>();
+    Scanner scanner = new Scanner(json);
+    scanner.expect('{');
+    if (scanner.skipWhitespace() == '}') {
+      return positions;
+    }
+    while (true) {
+      scanner.skipWhitespace();
+      int keyStart = scanner.position;
+      scanner.skipValue();
+      String name = unquote(json.substring(keyStart, scanner.position));
+      scanner.expect(':');
+      scanner.skipWhitespace();
+      positions.put(name, scanner.position);
+      scanner.skipValue();
+      if (scanner.skipWhitespace() == '}') {
+        return positions;
+      }
+      scanner.expect(',');
+    }
+  }
+
+  private static String unquote(String quoted) {
+    if (quoted.length() < 2 || quoted.charAt(0) != '"') {
+      throw new JsonSyntaxException("expected a name but was " + quoted);
+    }
+    if (quoted.indexOf('\\') < 0) {
+      return quoted.substring(1, quoted.length() - 1);
+    }
+    return new JsonParser().parse(quoted).getAsString();
+  }
+
+  private static class Scanner {
+
+    private final String json;
+
+    private int position;
+
+    private Scanner(String json) {
+      this.json = json;
+    }
+
+    private char skipWhitespace() {
+      while (position < json.length()) {
+        char c = json.charAt(position);
+        if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+          return c;
+        }
+        position++;
+      }
+      throw new JsonSyntaxException("unexpected end of object at " + position);
+    }
+
+    private void expect(char expected) {
+      if (skipWhitespace() != expected) {
+        throw new JsonSyntaxException("expected '" + expected + "' at " + position);
+      }
+      position++;
+    }
+
+    private void skipValue() {
+      int depth = 0;
+      do {
+        char c = skipWhitespace();
+        if (c == '"') {
+          skipString();
+        } else if (c == '{' || c == '[') {
+          depth++;
+          position++;
+        } else if (c == '}' || c == ']') {
+          depth--;
+          position++;
+        } else if (c == ',' || c == ':') {
+          position++;
+        } else {
+          skipLiteral();
+        }
+      } while (depth > 0);
+    }
+
+    private void skipString() {
+      for (position++; position < json.length(); position++) {
+        char c = json.charAt(position);
+        if (c == '\\') {
+          position++;
+        } else if (c == '"') {
+          position++;
+          return;
+        }
+      }
+      throw new JsonSyntaxException("unterminated string");
+    }
+
+    private void skipLiteral() {
+      while (position < json.length() && ",:}] \t\n\r".indexOf(json.charAt(position)) < 0) {
+        position++;
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttle for a developer key which is shared by several JVMs. Leased permits expire quickly, so a node cannot
+ * hoard them and burst later.
+ *
+ * @author Michael Lieshoff
+ */
+class LeasedThrottle implements Throttle {
+
+  private final FileLeaseCoordinator fileLeaseCoordinator;
+  private final int leaseSize;
+  private final long leaseNanos;
+  private final Ticker ticker;
+
+  private int available;
+  private long leaseEnd;
+
+  LeasedThrottle(FileLeaseCoordinator fileLeaseCoordinator, int leaseSize, long leaseMillis) {
+    this(fileLeaseCoordinator, leaseSize, leaseMillis, Ticker.systemTicker());
+  }
+
+  LeasedThrottle(FileLeaseCoordinator fileLeaseCoordinator, int leaseSize, long leaseMillis, Ticker ticker) {
+    Preconditions.checkNotNull(fileLeaseCoordinator, "fileLeaseCoordinator");
+    Preconditions.checkArgument(leaseSize > 0, "leaseSize must be > 0");
+    Preconditions.checkArgument(leaseMillis > 0, "leaseMillis must be > 0");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.fileLeaseCoordinator = fileLeaseCoordinator;
+    this.leaseSize = leaseSize;
+    this.leaseNanos = TimeUnit.MILLISECONDS.toNanos(leaseMillis);
+    this.ticker = ticker;
+  }
+
+  @Override
+  public void acquire() throws IOException {
+    while (!tryAcquire()) {
+      try {
+        Thread.sleep(fileLeaseCoordinator.getMillisPerPermit());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("interrupted while waiting for a permit!");
+      }
+    }
+  }
+
+  @Override
+  public synchronized boolean tryAcquire() throws IOException {
+    long now = ticker.read();
+    if (available == 0 || now - leaseEnd >= 0) {
+      available = fileLeaseCoordinator.lease(leaseSize);
+      leaseEnd = now + leaseNanos;
+    }
+    if (available > 0) {
+      available--;
+      return true;
+    }
+    return false;
+  }
+
+}
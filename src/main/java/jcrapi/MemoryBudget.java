@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.MapMaker;
+
+import java.io.InterruptedIOException;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * One bound for the heap an {@link Api} instance holds: answers being parsed, raw bodies retained as last response
+ * and parsed answers in the response cache. Under pressure the budget first drops retained raw bodies, oldest first,
+ * then evicts from the response cache, and at last lets new parses wait until running ones are done. A parse is
+ * always admitted when no other parse runs, so one answer larger than the budget still gets through.
+ *
+ * @author Michael Lieshoff
+ */
+class MemoryBudget {
+
+  private final long maximumBytes;
+  private final ResponseCache responseCache;
+
+  private final Map<Response, RawBody> retained = new MapMaker().weakKeys().makeMap();
+  private final Deque<RawBody> rawBodies = new ArrayDeque<>();
+  private final ReferenceQueue<Response> collected = new ReferenceQueue<>();
+
+  private long inFlightBytes;
+  private long rawBytes;
+
+  MemoryBudget(long maximumBytes, ResponseCache responseCache) {
+    Preconditions.checkArgument(maximumBytes > 0, "maximumBytes must be > 0");
+    this.maximumBytes = maximumBytes;
+    this.responseCache = responseCache;
+  }
+
+  static long weigh(String s) {
+    return s != null ? 2L * s.length() : 0;
+  }
+
+  void acquire(long bytes) throws InterruptedIOException {
+    Preconditions.checkArgument(bytes >= 0, "bytes must be >= 0");
+    synchronized (this) {
+      while (inFlightBytes > 0 && inFlightBytes + bytes + getRetainedBytes() > maximumBytes) {
+        if (!relieve(bytes)) {
+          try {
+            wait();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted while waiting for memory budget");
+          }
+        }
+      }
+      inFlightBytes += bytes;
+      relieve(0);
+    }
+  }
+
+  synchronized void release(long bytes) {
+    inFlightBytes -= bytes;
+    notifyAll();
+  }
+
+  synchronized void retain(Response response) {
+    if (response == null) {
+      return;
+    }
+    purge();
+    drop(retained.remove(response));
+    long bytes = weigh(response.getRaw());
+    if (bytes > 0) {
+      RawBody rawBody = new RawBody(response, bytes, collected);
+      retained.put(response, rawBody);
+      rawBodies.addLast(rawBody);
+      rawBytes += bytes;
+    }
+    if (rawBodies.size() > 2 * retained.size() + 16) {
+      for (Iterator<RawBody> iterator = rawBodies.iterator(); iterator.hasNext(); ) {
+        if (iterator.next().bytes == 0) {
+          iterator.remove();
+        }
+      }
+    }
+    relieve(0);
+  }
+
+  private void purge() {
+    for (Reference<? extends Response> reference = collected.poll(); reference != null;
+        reference = collected.poll()) {
+      drop((RawBody) reference);
+    }
+  }
+
+  private void drop(RawBody rawBody) {
+    if (rawBody != null) {
+      rawBytes -= rawBody.bytes;
+      rawBody.bytes = 0;
+    }
+  }
+
+  synchronized void relieve() {
+    relieve(0);
+  }
+
+  private boolean relieve(long bytes) {
+    purge();
+    long excess = inFlightBytes + bytes + getRetainedBytes() - maximumBytes;
+    if (excess <= 0) {
+      return false;
+    }
+    boolean relieved = false;
+    while (excess > 0 && !rawBodies.isEmpty()) {
+      RawBody rawBody = rawBodies.pollFirst();
+      Response response = rawBody.get();
+      if (response != null && rawBody.bytes > 0) {
+        response.setRaw(null);
+        retained.remove(response);
+        excess -= rawBody.bytes;
+        drop(rawBody);
+        relieved = true;
+      }
+    }
+    if (excess > 0 && responseCache != null && responseCache.getBytes() > 0) {
+      responseCache.evictTo(Math.max(0, responseCache.getBytes() - excess));
+      relieved = true;
+    }
+    return relieved;
+  }
+
+  private long getRetainedBytes() {
+    return rawBytes + (responseCache != null ? responseCache.getBytes() : 0);
+  }
+
+  synchronized MemoryUsage getUsage() {
+    purge();
+    return new MemoryUsage(maximumBytes, inFlightBytes, rawBytes, responseCache != null ? responseCache.getBytes() : 0);
+  }
+
+  private static class RawBody extends WeakReference<Response> {
+
+    private long bytes;
+
+    private RawBody(Response response, long bytes, ReferenceQueue<Response> queue) {
+      super(response, queue);
+      this.bytes = bytes;
+    }
+
+  }
+
+}
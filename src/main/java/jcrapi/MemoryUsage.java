@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Estimated heap bytes held by one {@link Api} instance per component of its memory budget.
+ *
+ * @author Michael Lieshoff
+ */
+@Getter
+@ToString
+public class MemoryUsage {
+
+  private final long maximumBytes;
+  private final long inFlightBytes;
+  private final long rawBytes;
+  private final long cacheBytes;
+
+  MemoryUsage(long maximumBytes, long inFlightBytes, long rawBytes, long cacheBytes) {
+    this.maximumBytes = maximumBytes;
+    this.inFlightBytes = inFlightBytes;
+    this.rawBytes = rawBytes;
+    this.cacheBytes = cacheBytes;
+  }
+
+  public long getTotalBytes() {
+    return inFlightBytes + rawBytes + cacheBytes;
+  }
+
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.primitives.Primitives;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compact binary form of model objects. Fields are written in the order of their names without the names, numbers
+ * as zig-zag varints, strings as UTF-8 and every reference with a leading presence marker. The form changes with the
+ * model, whoever keeps it beyond the running JVM has to keep the {@link #fingerprint(Type)} of the type as well.
+ *
+ * @author Michael Lieshoff
+ */
+final class ModelCodec {
+
+  private static final ConcurrentMap<Class<?>, Field[]> FIELDS = new ConcurrentHashMap<>();
+
+  private static final Comparator<Field> BY_NAME = new Comparator<Field>() {
+    @Override
+    public int compare(Field field1, Field field2) {
+      return field1.getName().compareTo(field2.getName());
+    }
+  };
+
+  private ModelCodec() {
+  }
+
+  static byte[] encode(Object value, Type type) {
+    Preconditions.checkNotNull(type, "type");
+    ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+    write(out, value, type);
+    return out.toByteArray();
+  }
+
+  static Object decode(ByteBuffer buffer, Type type) {
+    Preconditions.checkNotNull(buffer, "buffer");
+    Preconditions.checkNotNull(type, "type");
+    return read(buffer, type);
+  }
+
+  static long fingerprint(Type type) {
+    Preconditions.checkNotNull(type, "type");
+    Hasher hasher = Hashing.murmur3_128().newHasher();
+    fingerprint(hasher, type, new HashSet<Class<?>>());
+    return hasher.hash().asLong();
+  }
+
+  private static void fingerprint(Hasher hasher, Type type, Set<Class<?>> visited) {
+    hasher.putString(type.toString(), Charsets.UTF_8);
+    Class<?> clazz = getRawType(type);
+    if (type instanceof ParameterizedType) {
+      for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+        fingerprint(hasher, argument, visited);
+      }
+    } else if (List.class.isAssignableFrom(clazz)) {
+      fingerprint(hasher, getTypeArgument(type, 0), visited);
+    } else if (Map.class.isAssignableFrom(clazz)) {
+      fingerprint(hasher, getTypeArgument(type, 0), visited);
+      fingerprint(hasher, getTypeArgument(type, 1), visited);
+    } else if (clazz.isEnum()) {
+      for (Object constant : clazz.getEnumConstants()) {
+        hasher.putString(constant.toString(), Charsets.UTF_8);
+      }
+    } else if (!clazz.isPrimitive() && !Primitives.isWrapperType(clazz) && clazz != String.class
+        && visited.add(clazz)) {
+      for (Field field : getFields(clazz)) {
+        hasher.putString(field.getName(), Charsets.UTF_8);
+        fingerprint(hasher, field.getGenericType(), visited);
+      }
+    }
+  }
+
+  private static void write(ByteArrayOutputStream out, Object value, Type type) {
+    Class<?> clazz = getRawType(type);
+    if (clazz.isPrimitive()) {
+      writePrimitive(out, value, clazz);
+      return;
+    }
+    if (value == null) {
+      out.write(0);
+      return;
+    }
+    out.write(1);
+    if (clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class) {
+      writeVarLong(out, ((Number) value).longValue());
+    } else if (clazz == Boolean.class || clazz == Double.class || clazz == Float.class) {
+      writePrimitive(out, value, Primitives.unwrap(clazz));
+    } else if (clazz == String.class) {
+      byte[] bytes = ((String) value).getBytes(Charsets.UTF_8);
+      writeVarLong(out, bytes.length);
+      out.write(bytes, 0, bytes.length);
+    } else if (clazz.isEnum()) {
+      writeVarLong(out, ((Enum<?>) value).ordinal());
+    } else if (List.class.isAssignableFrom(clazz)) {
+      List<?> list = (List<?>) value;
+      Type elementType = getTypeArgument(type, 0);
+      writeVarLong(out, list.size());
+      for (Object element : list) {
+        write(out, element, elementType);
+      }
+    } else if (Map.class.isAssignableFrom(clazz)) {
+      Map<?, ?> map = (Map<?, ?>) value;
+      Type keyType = getTypeArgument(type, 0);
+      Type valueType = getTypeArgument(type, 1);
+      writeVarLong(out, map.size());
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        write(out, entry.getKey(), keyType);
+        write(out, entry.getValue(), valueType);
+      }
+    } else {
+      try {
+        for (Field field : getFields(clazz)) {
+          write(out, field.get(value), field.getGenericType());
+        }
+      } catch (IllegalAccessException e) {
+        throw new IllegalArgumentException("cannot encode " + clazz.getName() + "!", e);
+      }
+    }
+  }
+
+  private static void writePrimitive(ByteArrayOutputStream out, Object value, Class<?> clazz) {
+    if (clazz == boolean.class) {
+      out.write((Boolean) value ? 1 : 0);
+    } else if (clazz == double.class || clazz == float.class) {
+      long bits = Double.doubleToLongBits(((Number) value).doubleValue());
+      for (int shift = 56; shift >= 0; shift -= 8) {
+        out.write((int) (bits >>> shift));
+      }
+    } else if (clazz == char.class) {
+      writeVarLong(out, (Character) value);
+    } else {
+      writeVarLong(out, ((Number) value).longValue());
+    }
+  }
+
+  private static void writeVarLong(ByteArrayOutputStream out, long value) {
+    long zigZag = (value << 1) ^ (value >> 63);
+    while ((zigZag & ~0x7fL) != 0) {
+      out.write((int) ((zigZag & 0x7f) | 0x80));
+      zigZag >>>= 7;
+    }
+    out.write((int) zigZag);
+  }
+
+  private static Object read(ByteBuffer buffer, Type type) {
+    Class<?> clazz = getRawType(type);
+    if (clazz.isPrimitive()) {
+      return readPrimitive(buffer, clazz);
+    }
+    if (buffer.get() == 0) {
+      return null;
+    }
+    if (clazz == Integer.class || clazz == Long.class || clazz == Short.class || clazz == Byte.class
+        || clazz == Boolean.class || clazz == Double.class || clazz == Float.class) {
+      return readPrimitive(buffer, Primitives.unwrap(clazz));
+    } else if (clazz == String.class) {
+      byte[] bytes = new byte[(int) readVarLong(buffer)];
+      buffer.get(bytes);
+      return new String(bytes, Charsets.UTF_8);
+    } else if (clazz.isEnum()) {
+      return clazz.getEnumConstants()[(int) readVarLong(buffer)];
+    } else if (List.class.isAssignableFrom(clazz)) {
+      int size = (int) readVarLong(buffer);
+      Type elementType = getTypeArgument(type, 0);
+      List<Object> list = isConcrete(clazz) ? ModelCodec.<List<Object>>newInstance(clazz) : new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        list.add(read(buffer, elementType));
+      }
+      return list;
+    } else if (Map.class.isAssignableFrom(clazz)) {
+      int size = (int) readVarLong(buffer);
+      Type keyType = getTypeArgument(type, 0);
+      Type valueType = getTypeArgument(type, 1);
+      Map<Object, Object> map = isConcrete(clazz) ? ModelCodec.<Map<Object, Object>>newInstance(clazz)
+          : new LinkedHashMap<>();
+      for (int i = 0; i < size; i++) {
+        map.put(read(buffer, keyType), read(buffer, valueType));
+      }
+      return map;
+    }
+    Object object = newInstance(clazz);
+    try {
+      for (Field field : getFields(clazz)) {
+        field.set(object, read(buffer, field.getGenericType()));
+      }
+      return object;
+    } catch (IllegalAccessException e) {
+      throw new IllegalArgumentException("cannot decode " + clazz.getName() + "!", e);
+    }
+  }
+
+  private static boolean isConcrete(Class<?> clazz) {
+    return !clazz.isInterface() && !Modifier.isAbstract(clazz.getModifiers());
+  }
+
+  // the caller asks for the type it has just checked the class against, model classes like Endpoints extend the
+  // collections they are read as
+  @SuppressWarnings("unchecked")
+  private static <T> T newInstance(Class<?> clazz) {
+    try {
+      Constructor<?> constructor = clazz.getDeclaredConstructor();
+      constructor.setAccessible(true);
+      return (T) constructor.newInstance();
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalArgumentException("cannot decode " + clazz.getName() + "!", e);
+    }
+  }
+
+  private static Object readPrimitive(ByteBuffer buffer, Class<?> clazz) {
+    if (clazz == boolean.class) {
+      return buffer.get() != 0;
+    } else if (clazz == double.class) {
+      return buffer.getDouble();
+    } else if (clazz == float.class) {
+      return (float) buffer.getDouble();
+    } else if (clazz == char.class) {
+      return (char) readVarLong(buffer);
+    }
+    long value = readVarLong(buffer);
+    if (clazz == int.class) {
+      return (int) value;
+    } else if (clazz == short.class) {
+      return (short) value;
+    } else if (clazz == byte.class) {
+      return (byte) value;
+    }
+    return value;
+  }
+
+  private static long readVarLong(ByteBuffer buffer) {
+    long zigZag = 0;
+    for (int shift = 0; ; shift += 7) {
+      byte b = buffer.get();
+      zigZag |= (long) (b & 0x7f) << shift;
+      if (b >= 0) {
+        break;
+      }
+    }
+    return (zigZag >>> 1) ^ -(zigZag & 1);
+  }
+
+  private static Class<?> getRawType(Type type) {
+    if (type instanceof Class) {
+      return (Class<?>) type;
+    }
+    if (type instanceof ParameterizedType) {
+      return (Class<?>) ((ParameterizedType) type).getRawType();
+    }
+    throw new IllegalArgumentException("unsupported type " + type + "!");
+  }
+
+  private static Type getTypeArgument(Type type, int index) {
+    // model classes like Endpoints or ClanHistory bind the type arguments in their superclass
+    for (Type t = type; t instanceof Class || t instanceof ParameterizedType;
+        t = getRawType(t).getGenericSuperclass()) {
+      if (t instanceof ParameterizedType) {
+        Type argument = ((ParameterizedType) t).getActualTypeArguments()[index];
+        if (argument instanceof Class || argument instanceof ParameterizedType) {
+          return argument;
+        }
+        break;
+      }
+    }
+    throw new IllegalArgumentException("missing type arguments of " + type + "!");
+  }
+
+  private static Field[] getFields(Class<?> clazz) {
+    Field[] fields = FIELDS.get(clazz);
+    if (fields == null) {
+      List<Field> list = new ArrayList<>();
+      for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+        Field[] declared = c.getDeclaredFields();
+        Arrays.sort(declared, BY_NAME);
+        List<Field> own = new ArrayList<>();
+        for (Field field : declared) {
+          int modifiers = field.getModifiers();
+          if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers) && !field.isSynthetic()) {
+            field.setAccessible(true);
+            own.add(field);
+          }
+        }
+        list.addAll(0, own);
+      }
+      fields = list.toArray(new Field[list.size()]);
+      FIELDS.putIfAbsent(clazz, fields);
+    }
+    return fields;
+  }
+
+}
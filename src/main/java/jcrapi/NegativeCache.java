@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.CharMatcher;
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.BloomFilter;
+import com.google.common.hash.Funnels;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tags the server does not know, so they are dropped before a request instead of costing a round trip.
+ *
+ * <p>A tag outside the tag alphabet is never sent. A tag answered with 404 is kept for the time to live, a tag which
+ * is answered with 404 again after that counts as known bad for good. The long-term sets are scalable Bloom filters:
+ * they grow by adding filters of twice the capacity and half the false positive rate, so a false positive, which
+ * drops a valid tag, stays rare however many tags are added.</p>
+ *
+ * @author Michael Lieshoff
+ */
+class NegativeCache {
+
+  private static final CharMatcher TAG_ALPHABET = CharMatcher.anyOf("0289PYLQGRJCUV");
+
+  private static final int INITIAL_CAPACITY = 10000;
+  private static final double FALSE_POSITIVE_RATE = 0.001;
+
+  private final Cache<String, Boolean> recent;
+  private final ScalableBloomFilter notFound = new ScalableBloomFilter();
+  private final ScalableBloomFilter knownBad = new ScalableBloomFilter();
+
+  NegativeCache(long maximumSize, long ttlMillis) {
+    this(maximumSize, ttlMillis, Ticker.systemTicker());
+  }
+
+  NegativeCache(long maximumSize, long ttlMillis, Ticker ticker) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be > 0");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.recent = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  static boolean isValid(String tag) {
+    String normalized = Tags.normalize(tag);
+    return normalized != null && !normalized.isEmpty() && TAG_ALPHABET.matchesAllOf(normalized);
+  }
+
+  boolean isBad(String tag) {
+    if (!isValid(tag)) {
+      return true;
+    }
+    String normalized = Tags.normalize(tag);
+    return recent.getIfPresent(normalized) != null || knownBad.mightContain(normalized);
+  }
+
+  List<String> filter(Iterable<String> tags) {
+    Preconditions.checkNotNull(tags, "tags");
+    List<String> list = new ArrayList<>();
+    for (String tag : tags) {
+      if (!isBad(tag)) {
+        list.add(tag);
+      }
+    }
+    return list;
+  }
+
+  void recordNotFound(String tag) {
+    Preconditions.checkNotNull(tag, "tag");
+    if (!isValid(tag)) {
+      return;
+    }
+    String normalized = Tags.normalize(tag);
+    recent.put(normalized, Boolean.TRUE);
+    if (notFound.mightContain(normalized)) {
+      knownBad.put(normalized);
+    } else {
+      notFound.put(normalized);
+    }
+  }
+
+  private static class ScalableBloomFilter {
+
+    private final List<BloomFilter<CharSequence>> filters = new ArrayList<>();
+
+    private int capacity;
+    private double falsePositiveRate;
+    private int insertions;
+
+    private synchronized boolean mightContain(String s) {
+      for (BloomFilter<CharSequence> filter : filters) {
+        if (filter.mightContain(s)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private synchronized void put(String s) {
+      if (filters.isEmpty() || insertions >= capacity) {
+        capacity = filters.isEmpty() ? INITIAL_CAPACITY : capacity * 2;
+        falsePositiveRate = filters.isEmpty() ? FALSE_POSITIVE_RATE / 2 : falsePositiveRate / 2;
+        filters.add(BloomFilter.create(Funnels.stringFunnel(Charsets.UTF_8), capacity, falsePositiveRate));
+        insertions = 0;
+      }
+      if (filters.get(filters.size() - 1).put(s)) {
+        insertions++;
+      }
+    }
+
+  }
+
+}
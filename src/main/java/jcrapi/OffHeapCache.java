@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.hash.Hashing;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsed answers kept outside of the Java heap in the compact form of {@link ModelCodec}, so that large working sets
+ * neither grow the heap nor the GC pauses. Data and index both live in direct memory: the records are appended to a
+ * ring buffer, which overwrites the oldest records when full, the index is an open addressing table from key hash to
+ * record position and expiry. Every access decodes a fresh object.
+ *
+ * @author Michael Lieshoff
+ */
+class OffHeapCache {
+
+  private static final int PROBES = 16;
+
+  private static final int SLOT_SIZE = 32;
+  private static final int HASH_OFFSET = 0;
+  private static final int POSITION_OFFSET = 8;
+  private static final int LENGTH_OFFSET = 16;
+  private static final int EXPIRES_OFFSET = 24;
+
+  private final Ticker ticker;
+  private final int slots;
+  private final int capacity;
+  private final ByteBuffer index;
+  private final ByteBuffer data;
+
+  private long writePosition;
+
+  OffHeapCache(long maximumBytes, int slots, Ticker ticker) {
+    Preconditions.checkArgument(maximumBytes > 0 && maximumBytes <= Integer.MAX_VALUE,
+        "maximumBytes must be > 0 and <= " + Integer.MAX_VALUE);
+    Preconditions.checkArgument(slots >= PROBES && slots <= Integer.MAX_VALUE / SLOT_SIZE,
+        "slots must be >= " + PROBES + " and <= " + Integer.MAX_VALUE / SLOT_SIZE);
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.ticker = ticker;
+    this.slots = slots;
+    this.capacity = (int) maximumBytes;
+    this.index = ByteBuffer.allocateDirect(slots * SLOT_SIZE);
+    this.data = ByteBuffer.allocateDirect(capacity);
+  }
+
+  Object get(String key, Type type) {
+    Preconditions.checkNotNull(key, "key");
+    Preconditions.checkNotNull(type, "type");
+    byte[] keyBytes = key.getBytes(Charsets.UTF_8);
+    byte[] record = find(hash(keyBytes), keyBytes);
+    if (record == null) {
+      return null;
+    }
+    ByteBuffer buffer = ByteBuffer.wrap(record);
+    buffer.position(4 + keyBytes.length);
+    return ModelCodec.decode(buffer, type);
+  }
+
+  private synchronized byte[] find(long hash, byte[] keyBytes) {
+    long now = ticker.read();
+    for (int i = 0; i < PROBES; i++) {
+      int slot = getSlotOffset(hash, i);
+      long slotHash = index.getLong(slot + HASH_OFFSET);
+      if (slotHash == 0) {
+        return null;
+      }
+      long position = index.getLong(slot + POSITION_OFFSET);
+      if (slotHash == hash && index.getLong(slot + EXPIRES_OFFSET) - now > 0 && isLive(position)) {
+        byte[] record = new byte[index.getInt(slot + LENGTH_OFFSET)];
+        ByteBuffer buffer = data.duplicate();
+        buffer.position((int) (position % capacity));
+        buffer.get(record);
+        if (hasKey(record, keyBytes)) {
+          return record;
+        }
+      }
+    }
+    return null;
+  }
+
+  private static boolean hasKey(byte[] record, byte[] keyBytes) {
+    int keyLength = ByteBuffer.wrap(record).getInt();
+    return keyLength == keyBytes.length && Arrays.equals(Arrays.copyOfRange(record, 4, 4 + keyLength), keyBytes);
+  }
+
+  private boolean isLive(long position) {
+    return writePosition - position <= capacity;
+  }
+
+  void put(String key, Object value, Type type, long ttlMillis) {
+    Preconditions.checkNotNull(key, "key");
+    Preconditions.checkNotNull(type, "type");
+    Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be > 0");
+    byte[] keyBytes = key.getBytes(Charsets.UTF_8);
+    byte[] encoded = ModelCodec.encode(value, type);
+    int length = 4 + keyBytes.length + encoded.length;
+    if (length > capacity) {
+      return;
+    }
+    byte[] record = ByteBuffer.allocate(length).putInt(keyBytes.length).put(keyBytes).put(encoded).array();
+    store(hash(keyBytes), record, ttlMillis);
+  }
+
+  private synchronized void store(long hash, byte[] record, long ttlMillis) {
+    long position = writePosition;
+    int offset = (int) (position % capacity);
+    if (offset + record.length > capacity) {
+      position += capacity - offset;
+      offset = 0;
+    }
+    writePosition = position + record.length;
+    ByteBuffer buffer = data.duplicate();
+    buffer.position(offset);
+    buffer.put(record);
+    long now = ticker.read();
+    int slot = findSlot(hash, now);
+    index.putLong(slot + POSITION_OFFSET, position);
+    index.putInt(slot + LENGTH_OFFSET, record.length);
+    index.putLong(slot + EXPIRES_OFFSET, now + TimeUnit.MILLISECONDS.toNanos(ttlMillis));
+    index.putLong(slot + HASH_OFFSET, hash);
+  }
+
+  private int findSlot(long hash, long now) {
+    int victim = -1;
+    long victimRemaining = Long.MAX_VALUE;
+    for (int i = 0; i < PROBES; i++) {
+      int slot = getSlotOffset(hash, i);
+      long slotHash = index.getLong(slot + HASH_OFFSET);
+      if (slotHash == 0 || slotHash == hash) {
+        return slot;
+      }
+      long remaining = isLive(index.getLong(slot + POSITION_OFFSET))
+          ? index.getLong(slot + EXPIRES_OFFSET) - now : Long.MIN_VALUE;
+      if (remaining < victimRemaining) {
+        victim = slot;
+        victimRemaining = remaining;
+      }
+    }
+    return victim;
+  }
+
+  private int getSlotOffset(long hash, int probe) {
+    return (int) (((hash & Long.MAX_VALUE) + probe) % slots) * SLOT_SIZE;
+  }
+
+  private static long hash(byte[] keyBytes) {
+    long hash = Hashing.murmur3_128().hashBytes(keyBytes).asLong();
+    return hash != 0 ? hash : 1;
+  }
+
+  synchronized long getUsedBytes() {
+    return Math.min(writePosition, capacity);
+  }
+
+}
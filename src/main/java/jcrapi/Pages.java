@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import jcrapi.request.PaginatedRequest;
+import jcrapi.request.Request;
+
+/**
+ * All pages of a paginated endpoint, starting at the page of the request. Pages are fetched lazily, while one page is
+ * consumed the next one is already on its way. Iteration stops at the first page with less than max elements.
+ *
+ * @author Michael Lieshoff
+ */
+public class Pages<T> implements Iterable<T> {
+
+  interface Loader<T> {
+
+    List<T> load(Request request) throws IOException;
+
+  }
+
+  private final PaginatedRequest paginatedRequest;
+  private final Loader<T> loader;
+  private final ExecutorService executorService;
+
+  Pages(PaginatedRequest paginatedRequest, Loader<T> loader, ExecutorService executorService) {
+    Preconditions.checkNotNull(paginatedRequest, "paginatedRequest");
+    Preconditions.checkArgument(paginatedRequest.getMax() > 0, "max must be > 0 to page");
+    Preconditions.checkNotNull(loader, "loader");
+    Preconditions.checkNotNull(executorService, "executorService");
+    this.paginatedRequest = paginatedRequest;
+    this.loader = loader;
+    this.executorService = executorService;
+  }
+
+  @Override
+  public Iterator<T> iterator() {
+    return new PageIterator();
+  }
+
+  public Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false);
+  }
+
+  private class PageIterator implements Iterator<T> {
+
+    private int page = paginatedRequest.getPage();
+    private Future<List<T>> nextPage = fetch(page);
+    private List<T> elements = Collections.emptyList();
+    private int index;
+
+    @Override
+    public boolean hasNext() {
+      while (index >= elements.size()) {
+        if (nextPage == null) {
+          return false;
+        }
+        elements = await(nextPage);
+        index = 0;
+        boolean full = elements.size() >= paginatedRequest.getMax();
+        nextPage = full ? fetch(++page) : null;
+      }
+      return true;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return elements.get(index++);
+    }
+
+    @Override
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+
+    private Future<List<T>> fetch(int page) {
+      final Request request = paginatedRequest.forPage(page);
+      return executorService.submit(new Callable<List<T>>() {
+        @Override
+        public List<T> call() throws Exception {
+          return loader.load(request);
+        }
+      });
+    }
+
+    private List<T> await(Future<List<T>> future) {
+      try {
+        List<T> list = future.get();
+        return list != null ? list : Collections.<T>emptyList();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ApiException(new InterruptedIOException("interrupted while waiting for page " + page + "!"));
+      } catch (ExecutionException e) {
+        throw new ApiException(e.getCause());
+      } catch (CancellationException e) {
+        throw new ApiException(new IOException("page " + page + " cancelled, the api is closed!", e));
+      }
+    }
+
+  }
+
+}
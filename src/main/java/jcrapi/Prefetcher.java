@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Learns which request usually follows another and issues it in background before it is asked for, so the follow-up
+ * is served from a cache. Per pair of endpoint templates it counts how often an offered follow-up was really asked
+ * for within the window. Once a pair was offered often enough and is followed up in at least half of the cases, its
+ * follow-ups are prefetched. Every call of a prefetch must find a spare permit of the throttle, the client aborts it
+ * otherwise. Prefetches neither teach the model nor offer further prefetches.
+ *
+ * @author Michael Lieshoff
+ */
+class Prefetcher {
+
+  interface Prefetch {
+
+    void run() throws IOException;
+
+  }
+
+  static final int MINIMUM_TRIALS = 5;
+  static final double THRESHOLD = 0.5;
+
+  private static final int MAXIMUM_TRIALS = 1000;
+  private static final long MAXIMUM_PENDING = 10000;
+
+  private static final ThreadLocal<Boolean> PREFETCHING = new ThreadLocal<>();
+
+  private final Executor executor;
+
+  private final ConcurrentMap<String, Pair> pairs = new ConcurrentHashMap<>();
+  private final Cache<String, Pair> pending;
+
+  Prefetcher(long windowMillis, Executor executor, Ticker ticker) {
+    Preconditions.checkArgument(windowMillis > 0, "windowMillis must be > 0");
+    Preconditions.checkNotNull(executor, "executor");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.executor = executor;
+    this.pending = CacheBuilder.newBuilder()
+        .maximumSize(MAXIMUM_PENDING)
+        .expireAfterWrite(windowMillis, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  static boolean isPrefetching() {
+    return PREFETCHING.get() != null;
+  }
+
+  void observe(String template, String tag) {
+    if (isPrefetching() || tag == null) {
+      return;
+    }
+    String key = createKey(template, tag);
+    Pair pair = pending.getIfPresent(key);
+    if (pair != null) {
+      pending.invalidate(key);
+      pair.hit();
+    }
+  }
+
+  void offer(String from, String to, String tag, final Prefetch prefetch) {
+    if (isPrefetching() || tag == null) {
+      return;
+    }
+    String pairKey = from + " " + to;
+    Pair pair = pairs.get(pairKey);
+    if (pair == null) {
+      pairs.putIfAbsent(pairKey, new Pair());
+      pair = pairs.get(pairKey);
+    }
+    boolean likely = pair.isLikely();
+    pair.trial();
+    pending.put(createKey(to, tag), pair);
+    if (likely) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          PREFETCHING.set(Boolean.TRUE);
+          try {
+            prefetch.run();
+          } catch (IOException | RuntimeException e) {
+            // a failed prefetch is just a miss of the follow-up
+          } finally {
+            PREFETCHING.remove();
+          }
+        }
+      });
+    }
+  }
+
+  double getProbability(String from, String to) {
+    Pair pair = pairs.get(from + " " + to);
+    return pair != null ? pair.getProbability() : 0;
+  }
+
+  private static String createKey(String template, String tag) {
+    return template + " " + Tags.normalize(tag);
+  }
+
+  private static class Pair {
+
+    private int trials;
+    private int hits;
+
+    private synchronized void trial() {
+      if (++trials > MAXIMUM_TRIALS) {
+        trials /= 2;
+        hits /= 2;
+      }
+    }
+
+    private synchronized void hit() {
+      hits = Math.min(trials, hits + 1);
+    }
+
+    private synchronized double getProbability() {
+      return trials > 0 ? (double) hits / trials : 0;
+    }
+
+    private synchronized boolean isLikely() {
+      return trials >= MINIMUM_TRIALS && getProbability() >= THRESHOLD;
+    }
+
+  }
+
+}
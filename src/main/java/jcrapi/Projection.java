@@ -0,0 +1,302 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Splitter;
+import com.google.gson.Gson;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import jcrapi.request.Request;
+
+/**
+ * Fields of an answer a caller asked for, built from the keys and excludes of a request. Keys keep only the named
+ * fields, excludes drop them, both take dotted paths into nested objects and the elements of an array share the
+ * projection of the array. The reader of a projection skips all other fields at token level, before any object is
+ * built for them, and may stop reading a top level object once every key was seen.
+ *
+ * @author Michael Lieshoff
+ */
+class Projection {
+
+  private static final Splitter COMMA = Splitter.on(',').trimResults().omitEmptyStrings();
+  private static final Splitter DOT = Splitter.on('.').trimResults().omitEmptyStrings();
+
+  private final Map<String, Projection> children = new HashMap<>();
+
+  private boolean restricted;
+  private boolean whole;
+  private boolean excluded;
+
+  static Projection of(Request request) {
+    Map<String, String> queryParameters = request.getQueryParameters();
+    return of(split(queryParameters.get("keys")), split(queryParameters.get("excludes")));
+  }
+
+  private static Collection<String> split(String value) {
+    return value != null ? COMMA.splitToList(value) : Collections.<String>emptyList();
+  }
+
+  static Projection of(Collection<String> keys, Collection<String> excludes) {
+    if (keys.isEmpty() && excludes.isEmpty()) {
+      return null;
+    }
+    Projection projection = new Projection();
+    for (String key : keys) {
+      projection.addKey(DOT.splitToList(key).iterator());
+    }
+    for (String exclude : excludes) {
+      projection.addExclude(DOT.splitToList(exclude).iterator());
+    }
+    return projection;
+  }
+
+  private void addKey(Iterator<String> path) {
+    if (whole) {
+      return;
+    }
+    if (!path.hasNext()) {
+      whole = true;
+      restricted = false;
+      children.clear();
+      return;
+    }
+    restricted = true;
+    getOrCreate(path.next()).addKey(path);
+  }
+
+  private void addExclude(Iterator<String> path) {
+    if (!path.hasNext()) {
+      excluded = true;
+      return;
+    }
+    getOrCreate(path.next()).addExclude(path);
+  }
+
+  private Projection getOrCreate(String name) {
+    Projection child = children.get(name);
+    if (child == null) {
+      child = new Projection();
+      children.put(name, child);
+    }
+    return child;
+  }
+
+  void keep(String name) {
+    if (!restricted && !children.containsKey(name)) {
+      return;
+    }
+    Projection child = getOrCreate(name);
+    child.excluded = false;
+    child.whole = true;
+    child.restricted = false;
+    child.children.clear();
+  }
+
+  boolean includes(String name) {
+    Projection child = children.get(name);
+    if (child != null && child.excluded) {
+      return false;
+    }
+    return !restricted || child != null;
+  }
+
+  Projection get(String name) {
+    Projection child = children.get(name);
+    return child != null && child.isFiltering() ? child : null;
+  }
+
+  private boolean isFiltering() {
+    return restricted || !children.isEmpty();
+  }
+
+  Set<String> getKeys() {
+    if (!restricted) {
+      return Collections.emptySet();
+    }
+    Set<String> keys = new HashSet<>();
+    for (Map.Entry<String, Projection> entry : children.entrySet()) {
+      if (!entry.getValue().excluded) {
+        keys.add(entry.getKey());
+      }
+    }
+    return keys;
+  }
+
+  <T> T read(Gson gson, String json, Type type, boolean stopEarly) {
+    return gson.fromJson(new ProjectingReader(new StringReader(json), this, stopEarly), type);
+  }
+
+  private static class ProjectingReader extends JsonReader {
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final boolean stopEarly;
+
+    private Projection next;
+    private String pendingName;
+    private boolean stopped;
+
+    private ProjectingReader(Reader in, Projection projection, boolean stopEarly) {
+      super(in);
+      this.next = projection;
+      this.stopEarly = stopEarly;
+    }
+
+    @Override
+    public void beginObject() throws IOException {
+      super.beginObject();
+      Frame frame = new Frame(next, true);
+      if (stopEarly && frames.isEmpty() && next != null && next.restricted) {
+        frame.missing = next.getKeys();
+      }
+      frames.push(frame);
+    }
+
+    @Override
+    public void endObject() throws IOException {
+      advance();
+      Frame frame = frames.pop();
+      if (frame.done) {
+        stopped = true;
+      } else {
+        super.endObject();
+      }
+      onValue();
+    }
+
+    @Override
+    public void beginArray() throws IOException {
+      super.beginArray();
+      frames.push(new Frame(next, false));
+    }
+
+    @Override
+    public void endArray() throws IOException {
+      super.endArray();
+      frames.pop();
+      onValue();
+    }
+
+    private void onValue() {
+      Frame frame = frames.peek();
+      if (frame != null && !frame.object) {
+        next = frame.projection;
+      }
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+      advance();
+      if (pendingName != null) {
+        return true;
+      }
+      Frame frame = frames.peek();
+      return (frame == null || !frame.done) && !stopped && super.hasNext();
+    }
+
+    @Override
+    public JsonToken peek() throws IOException {
+      advance();
+      if (pendingName != null) {
+        return JsonToken.NAME;
+      }
+      if (stopped) {
+        return JsonToken.END_DOCUMENT;
+      }
+      Frame frame = frames.peek();
+      return frame != null && frame.done ? JsonToken.END_OBJECT : super.peek();
+    }
+
+    @Override
+    public String nextName() throws IOException {
+      advance();
+      String name = pendingName;
+      if (name == null) {
+        name = super.nextName();
+      }
+      pendingName = null;
+      Frame frame = frames.peek();
+      next = frame.projection != null ? frame.projection.get(name) : null;
+      if (frame.missing != null) {
+        frame.missing.remove(name);
+      }
+      return name;
+    }
+
+    @Override
+    public void skipValue() throws IOException {
+      if (pendingName != null) {
+        nextName();
+      }
+      super.skipValue();
+      onValue();
+    }
+
+    private void advance() throws IOException {
+      Frame frame = frames.peek();
+      if (pendingName != null || frame == null || !frame.object || frame.done || stopped
+          || super.peek() != JsonToken.NAME) {
+        return;
+      }
+      if (frame.missing != null && frame.missing.isEmpty()) {
+        frame.done = true;
+        return;
+      }
+      if (frame.projection == null) {
+        return;
+      }
+      while (super.peek() == JsonToken.NAME) {
+        String name = super.nextName();
+        if (frame.projection.includes(name)) {
+          pendingName = name;
+          return;
+        }
+        super.skipValue();
+      }
+    }
+
+  }
+
+  private static class Frame {
+
+    private final Projection projection;
+    private final boolean object;
+
+    private Set<String> missing;
+    private boolean done;
+
+    private Frame(Projection projection, boolean object) {
+      this.projection = projection;
+      this.object = object;
+    }
+
+  }
+
+}
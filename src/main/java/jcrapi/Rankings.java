@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.collect.Iterators;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import jcrapi.model.TopClan;
+import jcrapi.model.TopPlayer;
+import jcrapi.model.TopWar;
+
+/**
+ * Merges regional rankings, each sorted best first, into one ranking without sorting again. An entry listed in
+ * several regions is only taken at its first, best position.
+ *
+ * @author Michael Lieshoff
+ */
+final class Rankings {
+
+  static final Comparator<TopPlayer> BY_TROPHIES = new Comparator<TopPlayer>() {
+    @Override
+    public int compare(TopPlayer topPlayer1, TopPlayer topPlayer2) {
+      return Integer.compare(topPlayer2.getTrophies(), topPlayer1.getTrophies());
+    }
+  };
+
+  static final Comparator<TopClan> CLANS_BY_SCORE = new Comparator<TopClan>() {
+    @Override
+    public int compare(TopClan topClan1, TopClan topClan2) {
+      return Integer.compare(topClan2.getScore(), topClan1.getScore());
+    }
+  };
+
+  static final Comparator<TopWar> WARS_BY_SCORE = new Comparator<TopWar>() {
+    @Override
+    public int compare(TopWar topWar1, TopWar topWar2) {
+      return Integer.compare(topWar2.getScore(), topWar1.getScore());
+    }
+  };
+
+  private Rankings() {
+  }
+
+  static <T> List<T> merge(List<List<T>> rankings, Comparator<? super T> comparator,
+                           Coalescer.TagFunction<T> tagFunction) {
+    List<Iterator<T>> iterators = new ArrayList<>(rankings.size());
+    int size = 0;
+    for (List<T> ranking : rankings) {
+      iterators.add(ranking.iterator());
+      size += ranking.size();
+    }
+    List<T> merged = new ArrayList<>(size);
+    Set<String> tags = new HashSet<>();
+    for (Iterator<T> iterator = Iterators.mergeSorted(iterators, comparator); iterator.hasNext(); ) {
+      T t = iterator.next();
+      if (tags.add(Tags.normalize(tagFunction.getTag(t)))) {
+        merged.add(t);
+      }
+    }
+    return merged;
+  }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps parsed answers for the time to live of their endpoint template, bounded by entry count and estimated bytes.
+ *
+ * <p>Eviction follows W-TinyLFU: new entries land in a small LRU window, entries leaving the window must be asked
+ * for more often than the victim of the main area to be admitted. The main area is a segmented LRU, entries hit on
+ * probation move to the protected segment. So a crawl over thousands of one-off tags only cycles through the window
+ * and the probation segment, while the hot entries stay.</p>
+ *
+ * @author Michael Lieshoff
+ */
+class ResponseCache {
+
+  private static final double WINDOW_SHARE = 0.01;
+  private static final double PROTECTED_SHARE = 0.8;
+
+  private final int maximumSize;
+  private final long maximumBytes;
+  private final long defaultTtlMillis;
+  private final Map<String, Long> ttlMillis;
+  private final Ticker ticker;
+
+  private final int windowSize;
+  private final int protectedSize;
+  private final FrequencySketch frequencySketch;
+
+  private final LinkedHashMap<String, Entry> window = new LinkedHashMap<>();
+  private final LinkedHashMap<String, Entry> probation = new LinkedHashMap<>();
+  private final LinkedHashMap<String, Entry> protectedEntries = new LinkedHashMap<>();
+
+  private long bytes;
+  private long hitCount;
+  private long missCount;
+  private long putCount;
+  private long evictionCount;
+
+  ResponseCache(int maximumSize, long maximumBytes, long defaultTtlMillis, Map<String, Long> ttlMillis,
+                Ticker ticker) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    Preconditions.checkArgument(maximumBytes > 0, "maximumBytes must be > 0");
+    Preconditions.checkArgument(defaultTtlMillis >= 0, "defaultTtlMillis must be >= 0");
+    Preconditions.checkNotNull(ttlMillis, "ttlMillis");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.maximumSize = maximumSize;
+    this.maximumBytes = maximumBytes;
+    this.defaultTtlMillis = defaultTtlMillis;
+    this.ttlMillis = ImmutableMap.copyOf(ttlMillis);
+    this.ticker = ticker;
+    this.windowSize = maximumSize > 1 ? Math.max(1, (int) (maximumSize * WINDOW_SHARE)) : 0;
+    this.protectedSize = Math.max(1, (int) ((maximumSize - windowSize) * PROTECTED_SHARE));
+    this.frequencySketch = new FrequencySketch(maximumSize);
+  }
+
+  long getTtlMillis(String template) {
+    Long ttl = ttlMillis.get(template);
+    return ttl != null ? ttl : defaultTtlMillis;
+  }
+
+  synchronized Object get(String key) {
+    frequencySketch.increment(key);
+    Entry entry = find(key);
+    if (entry == null) {
+      missCount++;
+      return null;
+    }
+    if (ticker.read() - entry.expiresAt >= 0) {
+      remove(entry);
+      evictionCount++;
+      missCount++;
+      return null;
+    }
+    hitCount++;
+    onHit(entry);
+    return copy(entry.value);
+  }
+
+  synchronized void put(String template, String key, Object value, long weight) {
+    long ttl = getTtlMillis(template);
+    if (value == null || ttl <= 0 || weight > maximumBytes) {
+      return;
+    }
+    Entry previous = find(key);
+    if (previous != null) {
+      remove(previous);
+    }
+    Entry entry = new Entry(key, copy(value), weight, ticker.read() + TimeUnit.MILLISECONDS.toNanos(ttl));
+    add(window, entry);
+    putCount++;
+    evict();
+  }
+
+  private Entry find(String key) {
+    Entry entry = window.get(key);
+    if (entry == null) {
+      entry = probation.get(key);
+    }
+    if (entry == null) {
+      entry = protectedEntries.get(key);
+    }
+    return entry;
+  }
+
+  private void onHit(Entry entry) {
+    LinkedHashMap<String, Entry> segment = entry.segment;
+    remove(entry);
+    if (segment == probation) {
+      add(protectedEntries, entry);
+      if (protectedEntries.size() > protectedSize) {
+        Entry demoted = eldest(protectedEntries);
+        remove(demoted);
+        add(probation, demoted);
+      }
+    } else {
+      add(segment, entry);
+    }
+  }
+
+  private void evict() {
+    while (window.size() > windowSize) {
+      Entry candidate = eldest(window);
+      remove(candidate);
+      if (probation.size() + protectedEntries.size() < maximumSize - windowSize) {
+        add(probation, candidate);
+        continue;
+      }
+      Entry victim = eldest(probation.isEmpty() ? protectedEntries : probation);
+      if (frequencySketch.frequency(candidate.key) > frequencySketch.frequency(victim.key)) {
+        remove(victim);
+        add(probation, candidate);
+      }
+      evictionCount++;
+    }
+    evictBytes(maximumBytes);
+  }
+
+  synchronized void evictTo(long maximumBytes) {
+    Preconditions.checkArgument(maximumBytes >= 0, "maximumBytes must be >= 0");
+    evictBytes(maximumBytes);
+  }
+
+  private void evictBytes(long maximumBytes) {
+    while (bytes > maximumBytes) {
+      remove(eldest(!probation.isEmpty() ? probation : !protectedEntries.isEmpty() ? protectedEntries : window));
+      evictionCount++;
+    }
+  }
+
+  private static Entry eldest(LinkedHashMap<String, Entry> segment) {
+    return segment.values().iterator().next();
+  }
+
+  private void add(LinkedHashMap<String, Entry> segment, Entry entry) {
+    entry.segment = segment;
+    segment.put(entry.key, entry);
+    bytes += entry.weight;
+  }
+
+  private void remove(Entry entry) {
+    if (entry.segment != null && entry.segment.remove(entry.key) != null) {
+      bytes -= entry.weight;
+    }
+    entry.segment = null;
+  }
+
+  private static Object copy(Object value) {
+    if (value instanceof List) {
+      return new ArrayList<>((List<?>) value);
+    }
+    return value;
+  }
+
+  synchronized CacheStats stats() {
+    return new CacheStats(hitCount, missCount, putCount, 0, 0, evictionCount);
+  }
+
+  synchronized int size() {
+    return window.size() + probation.size() + protectedEntries.size();
+  }
+
+  synchronized long getBytes() {
+    return bytes;
+  }
+
+  private static class Entry {
+
+    private final String key;
+    private final Object value;
+    private final long weight;
+    private final long expiresAt;
+
+    private LinkedHashMap<String, Entry> segment;
+
+    private Entry(String key, Object value, long weight, long expiresAt) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+      this.expiresAt = expiresAt;
+    }
+
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Learns per endpoint template how long the server keeps answering from its own cache (<code>x-cached</code>)
+ * and hands out the last fetched body while a repeated poll could only return the same data.
+ *
+ * <p>A cycle starts with a fresh answer and lasts as long as cached answers with the same body follow; its gap is
+ * the time from the fresh answer to the latest of these cached answers. Another client can refresh the server cache
+ * inside a cycle without the body changing, which stretches that gap beyond the real window, so the window of a
+ * template is the smallest gap of its last cycles rather than the largest gap ever seen.</p>
+ *
+ * @author Michael Lieshoff
+ */
+class ServerCacheTracker {
+
+  private static final long UNKNOWN = -1;
+
+  static final int CYCLES = 8;
+
+  private final Ticker ticker;
+
+  private final Cache<String, Entry> entries;
+
+  private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+  ServerCacheTracker(long maximumSize) {
+    this(maximumSize, Ticker.systemTicker());
+  }
+
+  ServerCacheTracker(long maximumSize, Ticker ticker) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.ticker = ticker;
+    this.entries = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  String lookup(String template, String key) {
+    Window window = windows.get(template);
+    Entry entry = entries.getIfPresent(key);
+    if (window == null || entry == null || entry.freshSince == UNKNOWN) {
+      return null;
+    }
+    return ticker.read() - entry.freshSince < window.get() ? entry.raw : null;
+  }
+
+  void record(String template, String key, String raw, boolean cached) {
+    long now = ticker.read();
+    if (!cached) {
+      entries.put(key, new Entry(raw, now));
+      return;
+    }
+    Entry previous = entries.getIfPresent(key);
+    if (previous != null && previous.freshSince != UNKNOWN && previous.raw.equals(raw)) {
+      learn(template, previous, now - previous.freshSince);
+    } else {
+      entries.put(key, new Entry(raw, UNKNOWN));
+    }
+  }
+
+  private void learn(String template, Entry entry, long observed) {
+    Window window = windows.get(template);
+    if (window == null) {
+      Window created = new Window();
+      window = windows.putIfAbsent(template, created);
+      if (window == null) {
+        window = created;
+      }
+    }
+    window.observe(entry, observed);
+  }
+
+  long getWindowMillis(String template) {
+    Window window = windows.get(template);
+    return window == null ? 0 : TimeUnit.NANOSECONDS.toMillis(window.get());
+  }
+
+  private static class Window {
+
+    private final Deque<Cycle> cycles = new ArrayDeque<>();
+
+    synchronized void observe(Entry entry, long observed) {
+      if (entry.cycle == null) {
+        entry.cycle = new Cycle();
+        cycles.addLast(entry.cycle);
+        if (cycles.size() > CYCLES) {
+          cycles.removeFirst();
+        }
+      }
+      entry.cycle.gap = Math.max(entry.cycle.gap, observed);
+    }
+
+    synchronized long get() {
+      long smallest = Long.MAX_VALUE;
+      for (Cycle cycle : cycles) {
+        smallest = Math.min(smallest, cycle.gap);
+      }
+      return smallest;
+    }
+
+  }
+
+  private static class Cycle {
+
+    private long gap;
+
+  }
+
+  private static class Entry {
+
+    private final String raw;
+    private final long freshSince;
+    private Cycle cycle;
+
+    private Entry(String raw, long freshSince) {
+      this.raw = raw;
+      this.freshSince = freshSince;
+    }
+
+  }
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.SettableFuture;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lets only one of several concurrent callers with the same key do the work, the others wait for its result. Lists
+ * and the lists inside them are copied for every waiting caller, the model objects inside are shared and must not
+ * be changed.
+ *
+ * @author Michael Lieshoff
+ */
+class SingleFlight {
+
+  interface Call<T> {
+
+    T call() throws IOException;
+
+  }
+
+  private final ConcurrentMap<String, SettableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+  <T> T execute(String key, Call<T> call) throws IOException {
+    Preconditions.checkNotNull(key, "key");
+    Preconditions.checkNotNull(call, "call");
+    SettableFuture<Object> future = SettableFuture.create();
+    SettableFuture<Object> flight = flights.putIfAbsent(key, future);
+    if (flight != null) {
+      return copy(await(flight));
+    }
+    try {
+      T result = call.call();
+      future.set(result);
+      return result;
+    } catch (Throwable t) {
+      future.setException(t);
+      throw t;
+    } finally {
+      flights.remove(key, future);
+    }
+  }
+
+  int size() {
+    return flights.size();
+  }
+
+  // callers of one key share one call, so its result has the type every one of them asked for
+  @SuppressWarnings("unchecked")
+  private static <T> T copy(Object result) {
+    if (result instanceof List) {
+      List<Object> list = new ArrayList<>(((List<?>) result).size());
+      for (Object element : (List<?>) result) {
+        list.add(copy(element));
+      }
+      return (T) list;
+    }
+    return (T) result;
+  }
+
+  private Object await(SettableFuture<Object> future) throws IOException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("interrupted while waiting for a running call!");
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw (RuntimeException) e.getCause();
+    }
+  }
+
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps the last answer per request and serves it stale while it is revalidated. Within the soft time to live of
+ * its endpoint template an answer is served as is, after it the stale answer is served right away and exactly one
+ * background refresh replaces it. After the hard time to live an answer is too stale to be served and the caller
+ * waits for a fresh one; a hard time to live of 0 serves stale answers for as long as they are kept.
+ *
+ * @author Michael Lieshoff
+ */
+class StaleCache {
+
+  interface Loader {
+
+    Object load() throws IOException;
+
+  }
+
+  private final long softTtlMillis;
+  private final Map<String, Long> softTtls;
+  private final long hardTtlMillis;
+  private final Map<String, Long> hardTtls;
+  private final Executor executor;
+  private final Ticker ticker;
+
+  private final Cache<String, Entry> entries;
+
+  StaleCache(long maximumSize, long softTtlMillis, Map<String, Long> softTtls, long hardTtlMillis,
+             Map<String, Long> hardTtls, Executor executor, Ticker ticker) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    Preconditions.checkArgument(softTtlMillis >= 0, "softTtlMillis must be >= 0");
+    Preconditions.checkNotNull(softTtls, "softTtls");
+    Preconditions.checkArgument(hardTtlMillis >= 0, "hardTtlMillis must be >= 0");
+    Preconditions.checkNotNull(hardTtls, "hardTtls");
+    Preconditions.checkNotNull(executor, "executor");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.softTtlMillis = softTtlMillis;
+    this.softTtls = ImmutableMap.copyOf(softTtls);
+    this.hardTtlMillis = hardTtlMillis;
+    this.hardTtls = ImmutableMap.copyOf(hardTtls);
+    this.executor = executor;
+    this.ticker = ticker;
+    this.entries = CacheBuilder.newBuilder().maximumSize(maximumSize).build();
+  }
+
+  long getSoftTtlMillis(String template) {
+    Long ttl = softTtls.get(template);
+    return ttl != null ? ttl : softTtlMillis;
+  }
+
+  long getHardTtlMillis(String template) {
+    Long ttl = hardTtls.get(template);
+    return ttl != null ? ttl : hardTtlMillis;
+  }
+
+  Object get(String template, final String key, final Loader loader) throws IOException {
+    Preconditions.checkNotNull(template, "template");
+    Preconditions.checkNotNull(key, "key");
+    Preconditions.checkNotNull(loader, "loader");
+    long age = 0;
+    final Entry entry = entries.getIfPresent(key);
+    if (entry != null) {
+      age = TimeUnit.NANOSECONDS.toMillis(ticker.read() - entry.loadedAt);
+    }
+    long hardTtl = getHardTtlMillis(template);
+    if (entry == null || hardTtl > 0 && age >= hardTtl) {
+      Object value = loader.load();
+      entries.put(key, new Entry(value, ticker.read()));
+      return copy(value);
+    }
+    if (age >= getSoftTtlMillis(template) && entry.refreshing.compareAndSet(false, true)) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            entries.put(key, new Entry(loader.load(), ticker.read()));
+          } catch (IOException | RuntimeException e) {
+            entry.refreshing.set(false);
+          }
+        }
+      });
+    }
+    return copy(entry.value);
+  }
+
+  private static Object copy(Object value) {
+    if (value instanceof List) {
+      return new ArrayList<>((List<?>) value);
+    }
+    return value;
+  }
+
+  long size() {
+    entries.cleanUp();
+    return entries.size();
+  }
+
+  private static class Entry {
+
+    private final Object value;
+    private final long loadedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    private Entry(Object value, long loadedAt) {
+      this.value = value;
+      this.loadedAt = loadedAt;
+    }
+
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import com.google.common.base.Function;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Sets;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import jcrapi.request.Request;
+
+/**
+ * Keeps the recent elements of multi tag calls per tag. A multi tag call only asks the server for the tags without a
+ * fresh element and merges the stored and the loaded elements in the order of the given tags. Every tag ages on its
+ * own, so a partially stale call only reloads the stale tags. An update replaces the stored elements of a tag that
+ * were stored no later than the time its source is as of and renews their time to live; newer elements stay untouched.
+ *
+ * @author Michael Lieshoff
+ */
+class TagStore<T> {
+
+  private final Coalescer.TagFunction<T> tagFunction;
+
+  private final Cache<String, Element<T>> elements;
+
+  private final Set<String> queryParameters = Sets.newConcurrentHashSet();
+
+  TagStore(long maximumSize, long ttlMillis, Coalescer.TagFunction<T> tagFunction) {
+    this(maximumSize, ttlMillis, tagFunction, Ticker.systemTicker());
+  }
+
+  TagStore(long maximumSize, long ttlMillis, Coalescer.TagFunction<T> tagFunction, Ticker ticker) {
+    Preconditions.checkArgument(maximumSize > 0, "maximumSize must be > 0");
+    Preconditions.checkArgument(ttlMillis > 0, "ttlMillis must be > 0");
+    Preconditions.checkNotNull(tagFunction, "tagFunction");
+    Preconditions.checkNotNull(ticker, "ticker");
+    this.tagFunction = tagFunction;
+    this.elements = CacheBuilder.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .ticker(ticker)
+        .build();
+  }
+
+  List<T> get(Collection<String> tags, Request request, Coalescer.Loader<T> loader) throws IOException {
+    Preconditions.checkNotNull(tags, "tags");
+    Preconditions.checkNotNull(request, "request");
+    Preconditions.checkNotNull(loader, "loader");
+    Map<String, T> found = new HashMap<>();
+    Map<String, String> misses = new LinkedHashMap<>();
+    for (String tag : tags) {
+      String normalized = Tags.normalize(tag);
+      Element<T> element = elements.getIfPresent(createKey(normalized, request));
+      if (element != null) {
+        found.put(normalized, element.t);
+      } else if (!misses.containsKey(normalized)) {
+        misses.put(normalized, tag);
+      }
+    }
+    if (!misses.isEmpty()) {
+      List<T> loaded = loader.load(new ArrayList<>(misses.values()), request);
+      if (loaded != null) {
+        for (T t : loaded) {
+          String normalized = Tags.normalize(tagFunction.getTag(t));
+          put(normalized, t, request);
+          found.put(normalized, t);
+        }
+      }
+    }
+    List<T> list = new ArrayList<>(tags.size());
+    for (String tag : tags) {
+      T t = found.get(Tags.normalize(tag));
+      if (t != null) {
+        list.add(t);
+      }
+    }
+    return list;
+  }
+
+  void put(T t, Request request) {
+    Preconditions.checkNotNull(t, "t");
+    Preconditions.checkNotNull(request, "request");
+    put(Tags.normalize(tagFunction.getTag(t)), t, request);
+  }
+
+  private void put(String normalized, T t, Request request) {
+    if (normalized != null) {
+      String parameters = String.valueOf(request.getQueryParameters());
+      queryParameters.add(parameters);
+      elements.put(createKey(normalized, parameters), new Element<>(t, System.currentTimeMillis()));
+    }
+  }
+
+  void update(String tag, long asOfMillis, Function<T, T> function) {
+    Preconditions.checkNotNull(tag, "tag");
+    Preconditions.checkNotNull(function, "function");
+    String normalized = Tags.normalize(tag);
+    for (String parameters : queryParameters) {
+      String key = createKey(normalized, parameters);
+      Element<T> element = elements.getIfPresent(key);
+      if (element != null && element.storedAtMillis <= asOfMillis) {
+        T updated = function.apply(element.t);
+        if (updated != null) {
+          elements.put(key, new Element<>(updated, asOfMillis));
+        }
+      }
+    }
+  }
+
+  private static String createKey(String normalized, Request request) {
+    return createKey(normalized, String.valueOf(request.getQueryParameters()));
+  }
+
+  private static String createKey(String normalized, String parameters) {
+    return normalized + " " + parameters;
+  }
+
+  long size() {
+    elements.cleanUp();
+    return elements.size();
+  }
+
+  private static class Element<T> {
+
+    private final T t;
+    private final long storedAtMillis;
+
+    private Element(T t, long storedAtMillis) {
+      this.t = t;
+      this.storedAtMillis = storedAtMillis;
+    }
+
+  }
+
+}
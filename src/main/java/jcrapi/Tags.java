@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import org.apache.commons.lang.StringUtils;
+
+import jcrapi.model.Clan;
+import jcrapi.model.Profile;
+import jcrapi.model.TopClan;
+import jcrapi.model.TopPlayer;
+import jcrapi.model.TopWar;
+
+/**
+ * @author Michael Lieshoff
+ */
+final class Tags {
+
+  static final Coalescer.TagFunction<Profile> PROFILE_TAG = new Coalescer.TagFunction<Profile>() {
+    @Override
+    public String getTag(Profile profile) {
+      return profile.getTag();
+    }
+  };
+
+  static final Coalescer.TagFunction<Clan> CLAN_TAG = new Coalescer.TagFunction<Clan>() {
+    @Override
+    public String getTag(Clan clan) {
+      return clan.getTag();
+    }
+  };
+
+  static final Coalescer.TagFunction<TopPlayer> TOP_PLAYER_TAG = new Coalescer.TagFunction<TopPlayer>() {
+    @Override
+    public String getTag(TopPlayer topPlayer) {
+      return topPlayer.getTag();
+    }
+  };
+
+  static final Coalescer.TagFunction<TopClan> TOP_CLAN_TAG = new Coalescer.TagFunction<TopClan>() {
+    @Override
+    public String getTag(TopClan topClan) {
+      return topClan.getTag();
+    }
+  };
+
+  static final Coalescer.TagFunction<TopWar> TOP_WAR_TAG = new Coalescer.TagFunction<TopWar>() {
+    @Override
+    public String getTag(TopWar topWar) {
+      return topWar.getTag();
+    }
+  };
+
+  private Tags() {
+  }
+
+  static String normalize(String tag) {
+    return StringUtils.upperCase(StringUtils.removeStart(StringUtils.trim(tag), "#"));
+  }
+
+}
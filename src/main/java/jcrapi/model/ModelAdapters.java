@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi.model;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reading and writing helpers of the generated type adapters. They accept the same input as the reflective binding
+ * of Gson: strings for numbers and booleans, booleans for strings, and null for primitives, which keeps the default.
+ *
+ * @author Michael Lieshoff
+ */
+final class ModelAdapters {
+
+  private ModelAdapters() {
+  }
+
+  static boolean skipNull(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.NULL) {
+      in.nextNull();
+      return true;
+    }
+    return false;
+  }
+
+  static int nextInt(JsonReader in) throws IOException {
+    try {
+      return in.nextInt();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  static long nextLong(JsonReader in) throws IOException {
+    try {
+      return in.nextLong();
+    } catch (NumberFormatException e) {
+      throw new JsonSyntaxException(e);
+    }
+  }
+
+  static boolean readBoolean(JsonReader in) throws IOException {
+    if (in.peek() == JsonToken.STRING) {
+      return Boolean.parseBoolean(in.nextString());
+    }
+    return in.nextBoolean();
+  }
+
+  static String readString(JsonReader in) throws IOException {
+    JsonToken token = in.peek();
+    if (token == JsonToken.NULL) {
+      in.nextNull();
+      return null;
+    }
+    if (token == JsonToken.BOOLEAN) {
+      return Boolean.toString(in.nextBoolean());
+    }
+    return in.nextString();
+  }
+
+  static Integer readInteger(JsonReader in) throws IOException {
+    return skipNull(in) ? null : nextInt(in);
+  }
+
+  static Long readLong(JsonReader in) throws IOException {
+    return skipNull(in) ? null : nextLong(in);
+  }
+
+  static <T> List<T> readList(JsonReader in, TypeAdapter<T> adapter) throws IOException {
+    if (skipNull(in)) {
+      return null;
+    }
+    List<T> list = new ArrayList<>();
+    in.beginArray();
+    while (in.hasNext()) {
+      list.add(adapter.read(in));
+    }
+    in.endArray();
+    return list;
+  }
+
+  static <V> Map<String, V> readMap(JsonReader in, TypeAdapter<V> adapter) throws IOException {
+    if (skipNull(in)) {
+      return null;
+    }
+    Map<String, V> map = new LinkedHashMap<>();
+    in.beginObject();
+    while (in.hasNext()) {
+      String key = in.nextName();
+      if (map.put(key, adapter.read(in)) != null) {
+        throw new JsonSyntaxException("duplicate key: " + key);
+      }
+    }
+    in.endObject();
+    return map;
+  }
+
+  static <T> void writeList(JsonWriter out, List<T> list, TypeAdapter<T> adapter) throws IOException {
+    if (list == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginArray();
+    for (T element : list) {
+      adapter.write(out, element);
+    }
+    out.endArray();
+  }
+
+  static <V> void writeMap(JsonWriter out, Map<String, V> map, TypeAdapter<V> adapter) throws IOException {
+    if (map == null) {
+      out.nullValue();
+      return;
+    }
+    out.beginObject();
+    for (Map.Entry<String, V> entry : map.entrySet()) {
+      out.name(entry.getKey());
+      adapter.write(out, entry.getValue());
+    }
+    out.endObject();
+  }
+
+}
@@ -36,4 +36,19 @@ public class PaginatedRequest extends Request {
     return map;
   }
 
+  public Request forPage(final int page) {
+    Preconditions.checkArgument(page >= 0, "page must be >= 0");
+    return new Request(null, null) {
+      @Override
+      public Map<String, String> getQueryParameters() {
+        Map<String, String> map = PaginatedRequest.this.getQueryParameters();
+        map.remove("page");
+        if (page > 0) {
+          map.put("page", String.valueOf(page));
+        }
+        return map;
+      }
+    };
+  }
+
 }
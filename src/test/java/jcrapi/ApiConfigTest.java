@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.File;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ApiConfigTest {
+
+  @Test
+  public void shouldBeSwitchedOffByDefault() {
+    assertFalse(ApiConfig.builder().build().isServerCacheAware());
+    assertFalse(ApiConfig.builder().build().isSingleFlight());
+    assertFalse(ApiConfig.builder().build().isChangeDetection());
+  }
+
+  @Test
+  public void shouldBeServerCacheAware() {
+    assertTrue(ApiConfig.builder().serverCacheAware(true).build().isServerCacheAware());
+  }
+
+  @Test
+  public void shouldHaveLeaseDefaults() {
+    ApiConfig apiConfig = ApiConfig.builder().build();
+    assertEquals(ApiConfig.DEFAULT_LEASE_SIZE, apiConfig.getLeaseSize());
+    assertEquals(ApiConfig.DEFAULT_LEASE_MILLIS, apiConfig.getLeaseMillis());
+  }
+
+  @Test
+  public void shouldHaveFanoutDefaults() {
+    ApiConfig apiConfig = ApiConfig.builder().build();
+    assertEquals(ApiConfig.DEFAULT_PARALLELISM, apiConfig.getParallelism());
+    assertEquals(ApiConfig.DEFAULT_MAX_TAGS_PER_REQUEST, apiConfig.getMaxTagsPerRequest());
+    assertEquals(ApiConfig.DEFAULT_RETRIES, apiConfig.getRetries());
+  }
+
+  @Test
+  public void shouldLimitCoalesceSizeToMaxTagsPerRequest() {
+    assertEquals(3, ApiConfig.builder().maxTagsPerRequest(3).coalesceSize(10).build().getCoalesceSize());
+    assertEquals(3, ApiConfig.builder().maxTagsPerRequest(3).build().getCoalesceSize());
+  }
+
+  @Test
+  public void shouldHaveTagStoreDefaults() {
+    ApiConfig apiConfig = ApiConfig.builder().build();
+    assertEquals(0, apiConfig.getTagStoreMillis());
+    assertEquals(ApiConfig.DEFAULT_TAG_STORE_SIZE, apiConfig.getTagStoreSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeTagStoreMillis() {
+    ApiConfig.builder().tagStoreMillis(-1).build();
+  }
+
+  @Test
+  public void shouldHaveCacheDefaults() {
+    ApiConfig apiConfig = ApiConfig.builder().build();
+    assertEquals(0, apiConfig.getCacheSize());
+    assertEquals(ApiConfig.DEFAULT_CACHE_BYTES, apiConfig.getCacheBytes());
+    assertTrue(apiConfig.getCacheTtls().isEmpty());
+    assertNull(apiConfig.getCacheDirectory());
+    assertEquals(ApiConfig.DEFAULT_CACHE_DIRECTORY_BYTES, apiConfig.getCacheDirectoryBytes());
+    assertNull(apiConfig.getConstantsSnapshot());
+    assertEquals(0, apiConfig.getNegativeCacheMillis());
+    assertEquals(0, apiConfig.getSoftTtlMillis());
+    assertTrue(apiConfig.getSoftTtls().isEmpty());
+    assertEquals(0, apiConfig.getHardTtlMillis());
+    assertTrue(apiConfig.getHardTtls().isEmpty());
+    assertFalse(apiConfig.isDerivedUpdates());
+    assertFalse(apiConfig.isCacheCompression());
+    assertEquals(0, apiConfig.getMemoryBudgetBytes());
+    assertEquals(0, apiConfig.getPrefetchMillis());
+    assertFalse(apiConfig.isProjectedParsing());
+    assertFalse(apiConfig.isEarlyStop());
+    assertFalse(apiConfig.isLazyModels());
+    assertNull(apiConfig.getPublisherExecutor());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseLazyModelsWithOffHeapCache() {
+    ApiConfig.builder().lazyModels(true).offHeapBytes(1000000).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseLazyModelsWithDerivedUpdates() {
+    ApiConfig.builder().lazyModels(true).tagStoreMillis(1000).derivedUpdates(true).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseEarlyStopWithoutProjectedParsing() {
+    ApiConfig.builder().earlyStop(true).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativePrefetchMillis() {
+    ApiConfig.builder().prefetchMillis(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecausePrefetchWithoutCache() {
+    ApiConfig.builder().prefetchMillis(60000).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeMemoryBudgetBytes() {
+    ApiConfig.builder().memoryBudgetBytes(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseCacheCompressionWithoutCacheDirectory() {
+    ApiConfig.builder().cacheCompression(true).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseDerivedUpdatesWithoutTagStore() {
+    ApiConfig.builder().derivedUpdates(true).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeSoftTtlMillis() {
+    ApiConfig.builder().softTtlMillis(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeHardTtlMillis() {
+    ApiConfig.builder().hardTtlMillis(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeNegativeCacheMillis() {
+    ApiConfig.builder().negativeCacheMillis(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeCacheSize() {
+    ApiConfig.builder().cacheSize(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseTooManyOffHeapBytes() {
+    ApiConfig.builder().offHeapBytes(Integer.MAX_VALUE + 1L).build();
+  }
+
+  @Test
+  public void shouldAllowZeroRetries() {
+    assertEquals(0, ApiConfig.builder().retries(0).build().getRetries());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseNegativeRequestsPerSecond() {
+    ApiConfig.builder().requestsPerSecond(-1).build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failBecauseRateLimitFileWithoutRequestsPerSecond() {
+    ApiConfig.builder().rateLimitFile(new File("rate.lock")).build();
+  }
+
+}
@@ -18,18 +18,25 @@ package jcrapi;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.argThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.google.common.cache.CacheStats;
+
 import org.apache.commons.lang.ObjectUtils;
 import org.hamcrest.Matcher;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentMatcher;
+import org.reactivestreams.Publisher;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import jcrapi.model.AuthStats;
@@ -95,6 +102,8 @@ import jcrapi.request.TournamentsRequest;
  */
 public class ApiTest {
 
+  private ClientFactory clientFactory;
+
   private Client client;
 
   private Api api;
@@ -103,7 +112,7 @@ public class ApiTest {
 
   @Before
   public void setUp() {
-    ClientFactory clientFactory = mock(ClientFactory.class);
+    clientFactory = mock(ClientFactory.class);
     client = mock(Client.class);
     when(clientFactory.createClient("lala", "abc", AuthMode.NORMAL)).thenReturn(client);
     api = new Api("lala", "abc", clientFactory, AuthMode.NORMAL);
@@ -131,6 +140,37 @@ public class ApiTest {
     new Api("url", "");
   }
 
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullApiConfig() {
+    new Api("url", "abc", AuthMode.NORMAL, null);
+  }
+
+  @Test
+  public void shouldGetCacheStats() {
+    CacheStats cacheStats = new CacheStats(1, 2, 3, 0, 0, 4);
+    when(client.getCacheStats()).thenReturn(cacheStats);
+    assertSame(cacheStats, api.getCacheStats());
+  }
+
+  @Test
+  public void shouldGetMemoryUsage() throws Exception {
+    MemoryUsage memoryUsage = new MemoryUsage(100, 1, 2, 3);
+    when(client.getMemoryUsage()).thenReturn(memoryUsage);
+    assertSame(memoryUsage, api.getMemoryUsage());
+  }
+
+  @Test
+  public void shouldCloseClientFactory() throws Exception {
+    api.close();
+    verify(clientFactory).close();
+  }
+
+  @Test(expected = ApiException.class)
+  public void failCloseBecauseIOException() throws Exception {
+    doThrow(new IOException()).when(clientFactory).close();
+    api.close();
+  }
+
   @Test
   public void shouldGetVersion() throws Exception {
     when(client.getVersion()).thenReturn("1.0");
@@ -253,6 +293,31 @@ public class ApiTest {
     }
   }
 
+  @Test
+  public void shouldCreateBatch() {
+    assertNotNull(api.batch());
+  }
+
+  @Test
+  public void shouldGetClanRoster() throws Exception {
+    ClanRoster clanRoster = new ClanRoster(new Clan(), null, null, null);
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(client.getClanRoster(clanRequest, null)).thenReturn(clanRoster);
+    assertSame(clanRoster, api.getClanRoster(clanRequest));
+  }
+
+  @Test
+  public void failGetClanRoster() throws Exception {
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(client.getClanRoster(clanRequest, null)).thenThrow(crawlerException);
+    try {
+      api.getClanRoster(clanRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
   @Test
   public void shouldGetClans() throws Exception {
     List<Clan> clans = new ArrayList<>();
@@ -1027,4 +1092,449 @@ public class ApiTest {
     }
   }
 
+  @Test
+  public void shouldGetClanSearchPages() {
+    Pages<Clan> pages = mock(Pages.class);
+    ClanSearchRequest clanSearchRequest = ClanSearchRequest.builder().name("abc").max(2).build();
+    when(client.getClanSearchPages(clanSearchRequest)).thenReturn(pages);
+    assertSame(pages, api.getClanSearchPages(clanSearchRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetClanSearchPagesBecauseNullRequest() {
+    api.getClanSearchPages(null);
+  }
+
+  @Test
+  public void shouldGetTopPlayersPages() {
+    Pages<TopPlayer> pages = mock(Pages.class);
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().max(2).build();
+    when(client.getTopPlayersPages(topPlayersRequest)).thenReturn(pages);
+    assertSame(pages, api.getTopPlayersPages(topPlayersRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopPlayersPagesBecauseNullRequest() {
+    api.getTopPlayersPages(null);
+  }
+
+  @Test
+  public void shouldGetTopClansPages() {
+    Pages<TopClan> pages = mock(Pages.class);
+    TopClansRequest topClansRequest = TopClansRequest.builder().max(2).build();
+    when(client.getTopClansPages(topClansRequest)).thenReturn(pages);
+    assertSame(pages, api.getTopClansPages(topClansRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopClansPagesBecauseNullRequest() {
+    api.getTopClansPages(null);
+  }
+
+  @Test
+  public void shouldGetTopWarsPages() {
+    Pages<TopWar> pages = mock(Pages.class);
+    TopWarsRequest topWarsRequest = TopWarsRequest.builder().max(2).build();
+    when(client.getTopWarsPages(topWarsRequest)).thenReturn(pages);
+    assertSame(pages, api.getTopWarsPages(topWarsRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopWarsPagesBecauseNullRequest() {
+    api.getTopWarsPages(null);
+  }
+
+  @Test
+  public void shouldGetPopularClansPages() {
+    Pages<PopularClan> pages = mock(Pages.class);
+    PopularClansRequest popularClansRequest = PopularClansRequest.builder().max(2).build();
+    when(client.getPopularClansPages(popularClansRequest)).thenReturn(pages);
+    assertSame(pages, api.getPopularClansPages(popularClansRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularClansPagesBecauseNullRequest() {
+    api.getPopularClansPages(null);
+  }
+
+  @Test
+  public void shouldGetPopularPlayersPages() {
+    Pages<PopularPlayer> pages = mock(Pages.class);
+    PopularPlayersRequest popularPlayersRequest = PopularPlayersRequest.builder().max(2).build();
+    when(client.getPopularPlayersPages(popularPlayersRequest)).thenReturn(pages);
+    assertSame(pages, api.getPopularPlayersPages(popularPlayersRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularPlayersPagesBecauseNullRequest() {
+    api.getPopularPlayersPages(null);
+  }
+
+  @Test
+  public void shouldGetPopularTournamentsPages() {
+    Pages<PopularTournament> pages = mock(Pages.class);
+    PopularTournamentsRequest popularTournamentsRequest = PopularTournamentsRequest.builder().max(2).build();
+    when(client.getPopularTournamentsPages(popularTournamentsRequest)).thenReturn(pages);
+    assertSame(pages, api.getPopularTournamentsPages(popularTournamentsRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularTournamentsPagesBecauseNullRequest() {
+    api.getPopularTournamentsPages(null);
+  }
+
+  @Test
+  public void shouldGetPopularDecksPages() {
+    Pages<PopularDeck> pages = mock(Pages.class);
+    PopularDecksRequest popularDecksRequest = PopularDecksRequest.builder().max(2).build();
+    when(client.getPopularDecksPages(popularDecksRequest)).thenReturn(pages);
+    assertSame(pages, api.getPopularDecksPages(popularDecksRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularDecksPagesBecauseNullRequest() {
+    api.getPopularDecksPages(null);
+  }
+
+  @Test
+  public void shouldGetTournamentSearchPages() {
+    Pages<SearchedTournament> pages = mock(Pages.class);
+    TournamentSearchRequest tournamentSearchRequest = TournamentSearchRequest.builder("abc").max(2).build();
+    when(client.getTournamentSearchPages(tournamentSearchRequest)).thenReturn(pages);
+    assertSame(pages, api.getTournamentSearchPages(tournamentSearchRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTournamentSearchPagesBecauseNullRequest() {
+    api.getTournamentSearchPages(null);
+  }
+
+  @Test
+  public void shouldGetClanSearchPublisher() {
+    Publisher<Clan> publisher = mock(Publisher.class);
+    ClanSearchRequest clanSearchRequest = ClanSearchRequest.builder().name("abc").build();
+    when(client.getClanSearchPublisher(clanSearchRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getClanSearchPublisher(clanSearchRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetClanSearchPublisherBecauseNullRequest() {
+    api.getClanSearchPublisher(null);
+  }
+
+  @Test
+  public void shouldGetTopPlayersPublisher() {
+    Publisher<TopPlayer> publisher = mock(Publisher.class);
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(client.getTopPlayersPublisher(topPlayersRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getTopPlayersPublisher(topPlayersRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopPlayersPublisherBecauseNullRequest() {
+    api.getTopPlayersPublisher(null);
+  }
+
+  @Test
+  public void shouldGetTopClansPublisher() {
+    Publisher<TopClan> publisher = mock(Publisher.class);
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(client.getTopClansPublisher(topClansRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getTopClansPublisher(topClansRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopClansPublisherBecauseNullRequest() {
+    api.getTopClansPublisher(null);
+  }
+
+  @Test
+  public void shouldGetTopWarsPublisher() {
+    Publisher<TopWar> publisher = mock(Publisher.class);
+    TopWarsRequest topWarsRequest = TopWarsRequest.builder().build();
+    when(client.getTopWarsPublisher(topWarsRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getTopWarsPublisher(topWarsRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTopWarsPublisherBecauseNullRequest() {
+    api.getTopWarsPublisher(null);
+  }
+
+  @Test
+  public void shouldGetPopularClansPublisher() {
+    Publisher<PopularClan> publisher = mock(Publisher.class);
+    PopularClansRequest popularClansRequest = PopularClansRequest.builder().build();
+    when(client.getPopularClansPublisher(popularClansRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getPopularClansPublisher(popularClansRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularClansPublisherBecauseNullRequest() {
+    api.getPopularClansPublisher(null);
+  }
+
+  @Test
+  public void shouldGetPopularPlayersPublisher() {
+    Publisher<PopularPlayer> publisher = mock(Publisher.class);
+    PopularPlayersRequest popularPlayersRequest = PopularPlayersRequest.builder().build();
+    when(client.getPopularPlayersPublisher(popularPlayersRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getPopularPlayersPublisher(popularPlayersRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularPlayersPublisherBecauseNullRequest() {
+    api.getPopularPlayersPublisher(null);
+  }
+
+  @Test
+  public void shouldGetPopularTournamentsPublisher() {
+    Publisher<PopularTournament> publisher = mock(Publisher.class);
+    PopularTournamentsRequest popularTournamentsRequest = PopularTournamentsRequest.builder().build();
+    when(client.getPopularTournamentsPublisher(popularTournamentsRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getPopularTournamentsPublisher(popularTournamentsRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularTournamentsPublisherBecauseNullRequest() {
+    api.getPopularTournamentsPublisher(null);
+  }
+
+  @Test
+  public void shouldGetPopularDecksPublisher() {
+    Publisher<PopularDeck> publisher = mock(Publisher.class);
+    PopularDecksRequest popularDecksRequest = PopularDecksRequest.builder().build();
+    when(client.getPopularDecksPublisher(popularDecksRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getPopularDecksPublisher(popularDecksRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPopularDecksPublisherBecauseNullRequest() {
+    api.getPopularDecksPublisher(null);
+  }
+
+  @Test
+  public void shouldGetTournamentSearchPublisher() {
+    Publisher<SearchedTournament> publisher = mock(Publisher.class);
+    TournamentSearchRequest tournamentSearchRequest = TournamentSearchRequest.builder("abc").build();
+    when(client.getTournamentSearchPublisher(tournamentSearchRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getTournamentSearchPublisher(tournamentSearchRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetTournamentSearchPublisherBecauseNullRequest() {
+    api.getTournamentSearchPublisher(null);
+  }
+
+  @Test
+  public void shouldGetProfilesPublisher() {
+    Publisher<Profile> publisher = mock(Publisher.class);
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(createTags()).build();
+    when(client.getProfilesPublisher(profilesRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getProfilesPublisher(profilesRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetProfilesPublisherBecauseNullRequest() {
+    api.getProfilesPublisher(null);
+  }
+
+  @Test
+  public void shouldGetPlayerBattlesPublisher() {
+    Publisher<List<Battle>> publisher = mock(Publisher.class);
+    PlayerBattlesRequest playerBattlesRequest = PlayerBattlesRequest.builder(createTags()).build();
+    when(client.getPlayerBattlesPublisher(playerBattlesRequest)).thenReturn(publisher);
+    assertSame(publisher, api.getPlayerBattlesPublisher(playerBattlesRequest));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failGetPlayerBattlesPublisherBecauseNullRequest() {
+    api.getPlayerBattlesPublisher(null);
+  }
+
+  @Test
+  public void shouldGetGlobalTopPlayers() throws Exception {
+    List<TopPlayer> list = new ArrayList<>();
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(client.getGlobalTopPlayers(topPlayersRequest, null)).thenReturn(list);
+    assertSame(list, api.getGlobalTopPlayers(topPlayersRequest));
+  }
+
+  @Test
+  public void failGetGlobalTopPlayers() throws Exception {
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(client.getGlobalTopPlayers(topPlayersRequest, asList("DE"))).thenThrow(crawlerException);
+    try {
+      api.getGlobalTopPlayers(topPlayersRequest, asList("DE"));
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test
+  public void shouldGetGlobalTopClans() throws Exception {
+    List<TopClan> list = new ArrayList<>();
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(client.getGlobalTopClans(topClansRequest, null)).thenReturn(list);
+    assertSame(list, api.getGlobalTopClans(topClansRequest));
+  }
+
+  @Test
+  public void failGetGlobalTopClans() throws Exception {
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(client.getGlobalTopClans(topClansRequest, asList("DE"))).thenThrow(crawlerException);
+    try {
+      api.getGlobalTopClans(topClansRequest, asList("DE"));
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test
+  public void shouldGetGlobalTopWars() throws Exception {
+    List<TopWar> list = new ArrayList<>();
+    TopWarsRequest topWarsRequest = TopWarsRequest.builder().build();
+    when(client.getGlobalTopWars(topWarsRequest, null)).thenReturn(list);
+    assertSame(list, api.getGlobalTopWars(topWarsRequest));
+  }
+
+  @Test
+  public void failGetGlobalTopWars() throws Exception {
+    TopWarsRequest topWarsRequest = TopWarsRequest.builder().build();
+    when(client.getGlobalTopWars(topWarsRequest, asList("DE"))).thenThrow(crawlerException);
+    try {
+      api.getGlobalTopWars(topWarsRequest, asList("DE"));
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test
+  public void shouldPollProfile() throws Exception {
+    ProfileRequest profileRequest = ProfileRequest.builder("abc").build();
+    Polled<Profile> polled = new Polled<>(null, false);
+    when(client.pollProfile(profileRequest)).thenReturn(polled);
+    assertSame(polled, api.pollProfile(profileRequest));
+  }
+
+  @Test
+  public void failPollProfile() throws Exception {
+    ProfileRequest profileRequest = ProfileRequest.builder("abc").build();
+    when(client.pollProfile(profileRequest)).thenThrow(crawlerException);
+    try {
+      api.pollProfile(profileRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failPollProfileBecauseNullRequest() {
+    api.pollProfile(null);
+  }
+
+  @Test
+  public void shouldPollClan() throws Exception {
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    Polled<Clan> polled = new Polled<>(null, false);
+    when(client.pollClan(clanRequest)).thenReturn(polled);
+    assertSame(polled, api.pollClan(clanRequest));
+  }
+
+  @Test
+  public void failPollClan() throws Exception {
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(client.pollClan(clanRequest)).thenThrow(crawlerException);
+    try {
+      api.pollClan(clanRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failPollClanBecauseNullRequest() {
+    api.pollClan(null);
+  }
+
+  @Test
+  public void shouldPollClanWar() throws Exception {
+    ClanWarRequest clanWarRequest = ClanWarRequest.builder("abc").build();
+    Polled<ClanWar> polled = new Polled<>(null, false);
+    when(client.pollClanWar(clanWarRequest)).thenReturn(polled);
+    assertSame(polled, api.pollClanWar(clanWarRequest));
+  }
+
+  @Test
+  public void failPollClanWar() throws Exception {
+    ClanWarRequest clanWarRequest = ClanWarRequest.builder("abc").build();
+    when(client.pollClanWar(clanWarRequest)).thenThrow(crawlerException);
+    try {
+      api.pollClanWar(clanWarRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failPollClanWarBecauseNullRequest() {
+    api.pollClanWar(null);
+  }
+
+  @Test
+  public void shouldPollTopPlayers() throws Exception {
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    Polled<List<TopPlayer>> polled = new Polled<>(null, false);
+    when(client.pollTopPlayers(topPlayersRequest)).thenReturn(polled);
+    assertSame(polled, api.pollTopPlayers(topPlayersRequest));
+  }
+
+  @Test
+  public void failPollTopPlayers() throws Exception {
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(client.pollTopPlayers(topPlayersRequest)).thenThrow(crawlerException);
+    try {
+      api.pollTopPlayers(topPlayersRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failPollTopPlayersBecauseNullRequest() {
+    api.pollTopPlayers(null);
+  }
+
+  @Test
+  public void shouldPollTopClans() throws Exception {
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    Polled<List<TopClan>> polled = new Polled<>(null, false);
+    when(client.pollTopClans(topClansRequest)).thenReturn(polled);
+    assertSame(polled, api.pollTopClans(topClansRequest));
+  }
+
+  @Test
+  public void failPollTopClans() throws Exception {
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(client.pollTopClans(topClansRequest)).thenThrow(crawlerException);
+    try {
+      api.pollTopClans(topClansRequest);
+      fail();
+    } catch (ApiException e) {
+      assertEquals(400, e.getCode());
+    }
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failPollTopClansBecauseNullRequest() {
+    api.pollTopClans(null);
+  }
+
 }
@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import jcrapi.model.Clan;
+import jcrapi.model.ClanWar;
+import jcrapi.model.Profile;
+import jcrapi.model.TopPlayer;
+import jcrapi.request.ClanRequest;
+import jcrapi.request.ClanWarRequest;
+import jcrapi.request.ProfileRequest;
+import jcrapi.request.TopPlayersRequest;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class BatchTest {
+
+  private Crawler crawler;
+
+  private Batch batch;
+
+  @Before
+  public void setUp() {
+    CrawlerFactory crawlerFactory = Mockito.mock(CrawlerFactory.class);
+    crawler = Mockito.mock(Crawler.class);
+    when(crawlerFactory.createCrawler()).thenReturn(crawler);
+    batch = new Batch(new Client("lala/", "abc", AuthMode.NORMAL, crawlerFactory));
+  }
+
+  private Map<String, String> createHeaders() {
+    return ImmutableMap.<String, String>builder().put("auth", "abc").build();
+  }
+
+  private Map<String, String> createNoParameters() {
+    return Collections.emptyMap();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullClient() {
+    new Batch(null);
+  }
+
+  @Test
+  public void shouldFoldAndDeduplicateNeeds() throws IOException {
+    when(crawler.get("lala/player/A,B", createHeaders(), createNoParameters()))
+        .thenReturn("[{\"tag\":\"B\"},{\"tag\":\"A\"}]");
+    when(crawler.get("lala/clan/X", createHeaders(), createNoParameters())).thenReturn("{\"tag\":\"X\"}");
+    when(crawler.get("lala/clan/X/war", createHeaders(), createNoParameters())).thenReturn("{}");
+    when(crawler.get("lala/top/players", createHeaders(), createNoParameters())).thenReturn("[{\"tag\":\"T\"}]");
+    Batch.Handle<Profile> a = batch.profile(ProfileRequest.builder("A").build());
+    Batch.Handle<Profile> b = batch.profile(ProfileRequest.builder("#b").build());
+    assertSame(a, batch.profile(ProfileRequest.builder("a").build()));
+    Batch.Handle<Clan> x = batch.clan(ClanRequest.builder("X").build());
+    Batch.Handle<ClanWar> war = batch.clanWar(ClanWarRequest.builder("X").build());
+    assertSame(war, batch.clanWar(ClanWarRequest.builder("#x").build()));
+    Batch.Handle<List<TopPlayer>> topPlayers = batch.topPlayers(TopPlayersRequest.builder().build());
+    assertEquals(4, batch.getRequestCount());
+    assertFalse(a.isDone());
+    batch.execute();
+    assertTrue(a.isDone());
+    assertEquals("A", a.get().getTag());
+    assertEquals("B", b.get().getTag());
+    assertEquals("X", x.get().getTag());
+    assertEquals("T", topPlayers.get().get(0).getTag());
+    assertEquals(ClanWar.class, war.get().getClass());
+    verify(crawler, times(1)).get("lala/player/A,B", createHeaders(), createNoParameters());
+    verify(crawler, times(1)).get("lala/clan/X/war", createHeaders(), createNoParameters());
+  }
+
+  @Test
+  public void shouldStartHigherPrioritiesFirst() throws IOException {
+    CrawlerFactory crawlerFactory = Mockito.mock(CrawlerFactory.class);
+    when(crawlerFactory.createCrawler()).thenReturn(crawler);
+    batch = new Batch(new Client("lala/", "abc", AuthMode.NORMAL, crawlerFactory,
+        new ClientContext(ApiConfig.builder().parallelism(1).build())));
+    when(crawler.get("lala/player/A,B", createHeaders(), createNoParameters()))
+        .thenReturn("[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    when(crawler.get("lala/clan/X", createHeaders(), createNoParameters())).thenReturn("{\"tag\":\"X\"}");
+    when(crawler.get("lala/clan/X/war", createHeaders(), createNoParameters())).thenReturn("{}");
+    when(crawler.get("lala/top/players", createHeaders(), createNoParameters())).thenReturn("[]");
+    batch.topPlayers(TopPlayersRequest.builder().build());
+    batch.profile(ProfileRequest.builder("A").build());
+    batch.profile(ProfileRequest.builder("B").build());
+    batch.clan(ClanRequest.builder("X").build(), 1);
+    batch.clanWar(ClanWarRequest.builder("X").build(), -1);
+    batch.clanWar(ClanWarRequest.builder("X").build(), 5);
+    batch.execute();
+    InOrder inOrder = Mockito.inOrder(crawler);
+    inOrder.verify(crawler).get("lala/clan/X/war", createHeaders(), createNoParameters());
+    inOrder.verify(crawler).get("lala/clan/X", createHeaders(), createNoParameters());
+    inOrder.verify(crawler).get("lala/player/A,B", createHeaders(), createNoParameters());
+    inOrder.verify(crawler).get("lala/top/players", createHeaders(), createNoParameters());
+  }
+
+  @Test
+  public void shouldNotFoldDifferentQueryParameters() {
+    batch.profile(ProfileRequest.builder("A").build());
+    batch.profile(ProfileRequest.builder("B").keys(Arrays.asList("tag")).build());
+    assertEquals(2, batch.getRequestCount());
+  }
+
+  @Test
+  public void shouldFailHandleOfMissingTag() throws IOException {
+    when(crawler.get("lala/player/A,B", createHeaders(), createNoParameters())).thenReturn("[{\"tag\":\"A\"}]");
+    Batch.Handle<Profile> a = batch.profile(ProfileRequest.builder("A").build());
+    Batch.Handle<Profile> b = batch.profile(ProfileRequest.builder("B").build());
+    batch.execute();
+    assertEquals("A", a.get().getTag());
+    try {
+      b.get();
+      fail();
+    } catch (ApiException e) {
+      assertEquals(404, e.getCode());
+    }
+  }
+
+  @Test
+  public void shouldFailOnlyHandlesOfFailedRequest() throws IOException {
+    when(crawler.get("lala/clan/X", createHeaders(), createNoParameters())).thenReturn("{\"tag\":\"X\"}");
+    when(crawler.get("lala/clan/X/war", createHeaders(), createNoParameters())).thenThrow(new IOException("down"));
+    Batch.Handle<Clan> x = batch.clan(ClanRequest.builder("X").build());
+    Batch.Handle<ClanWar> war = batch.clanWar(ClanWarRequest.builder("X").build());
+    batch.execute();
+    assertEquals("X", x.get().getTag());
+    try {
+      war.get();
+      fail();
+    } catch (ApiException e) {
+      assertEquals("down", e.getMessage());
+    }
+  }
+
+  @Test
+  public void shouldFailOnlyHandlesOfMalformedAnswer() throws IOException {
+    when(crawler.get("lala/player/A", createHeaders(), createNoParameters())).thenReturn("[{\"tag\":");
+    when(crawler.get("lala/clan/X", createHeaders(), createNoParameters())).thenReturn("{\"tag\":\"X\"}");
+    when(crawler.get("lala/clan/X/war", createHeaders(), createNoParameters())).thenReturn("{\"state\":");
+    Batch.Handle<Profile> a = batch.profile(ProfileRequest.builder("A").build());
+    Batch.Handle<Clan> x = batch.clan(ClanRequest.builder("X").build());
+    Batch.Handle<ClanWar> war = batch.clanWar(ClanWarRequest.builder("X").build());
+    batch.execute();
+    assertEquals("X", x.get().getTag());
+    for (Batch.Handle<?> handle : Arrays.asList(a, war)) {
+      assertTrue(handle.isDone());
+      try {
+        handle.get();
+        fail();
+      } catch (ApiException e) {
+        assertTrue(e.getCause() instanceof RuntimeException);
+      }
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void failGetBecauseNotExecuted() {
+    batch.profile(ProfileRequest.builder("A").build()).get();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void failExecuteBecauseAlreadyExecuted() {
+    batch.execute();
+    batch.execute();
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void failAddBecauseAlreadyExecuted() {
+    batch.execute();
+    batch.clan(ClanRequest.builder("X").build());
+  }
+
+}
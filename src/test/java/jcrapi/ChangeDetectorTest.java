@@ -0,0 +1,71 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ChangeDetectorTest {
+
+  private final ChangeDetector changeDetector = new ChangeDetector(10);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoSize() {
+    new ChangeDetector(0);
+  }
+
+  @Test
+  public void shouldHashEqualBodiesEqually() {
+    assertEquals(ChangeDetector.hash("{\"tag\":\"A\"}"), ChangeDetector.hash("{\"tag\":\"A\"}"));
+  }
+
+  @Test
+  public void shouldReturnValueOfUnchangedBody() {
+    Object value = new Object();
+    changeDetector.record("a", ChangeDetector.hash("x"), value);
+    assertSame(value, changeDetector.getUnchanged("a", ChangeDetector.hash("x")));
+  }
+
+  @Test
+  public void shouldNotReturnValueOfChangedBody() {
+    changeDetector.record("a", ChangeDetector.hash("x"), new Object());
+    assertNull(changeDetector.getUnchanged("a", ChangeDetector.hash("y")));
+    assertNull(changeDetector.getUnchanged("b", ChangeDetector.hash("x")));
+  }
+
+  @Test
+  public void shouldHandOutCopiesOfLists() {
+    List<String> list = new ArrayList<>(Arrays.asList("a"));
+    changeDetector.record("a", ChangeDetector.hash("x"), list);
+    list.add("b");
+    List<String> unchanged = (List<String>) changeDetector.getUnchanged("a", ChangeDetector.hash("x"));
+    assertEquals(Arrays.asList("a"), unchanged);
+    assertNotSame(unchanged, changeDetector.getUnchanged("a", ChangeDetector.hash("x")));
+  }
+
+}
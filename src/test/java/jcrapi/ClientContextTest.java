@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ClientContextTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullApiConfig() {
+    new ClientContext(null);
+  }
+
+  @Test
+  public void shouldHaveNothingByDefault() {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().build());
+    assertNull(clientContext.getServerCacheTracker());
+    assertNull(clientContext.getThrottle());
+    assertNotNull(clientContext.getFanout());
+    assertNull(clientContext.getProfileCoalescer());
+    assertNull(clientContext.getClanCoalescer());
+    assertNull(clientContext.getSingleFlight());
+    assertNull(clientContext.getProfileStore());
+    assertNull(clientContext.getClanStore());
+    assertNull(clientContext.getResponseCache());
+    assertNull(clientContext.getDiskCache());
+    assertNull(clientContext.getOffHeapCache());
+    assertNull(clientContext.getChangeDetector());
+    assertNull(clientContext.getConstantsSnapshot());
+    assertNull(clientContext.getNegativeCache());
+    assertNull(clientContext.getStaleCache());
+    assertNull(clientContext.getDerivations());
+    assertNull(clientContext.getMemoryBudget());
+    assertNull(clientContext.getPrefetcher());
+  }
+
+  @Test
+  public void shouldHavePrefetcher() {
+    assertNotNull(new ClientContext(ApiConfig.builder().cacheSize(100).prefetchMillis(60000).build()).getPrefetcher());
+  }
+
+  @Test
+  public void shouldHaveMemoryBudget() {
+    assertNotNull(new ClientContext(ApiConfig.builder().memoryBudgetBytes(1000000).build()).getMemoryBudget());
+  }
+
+  @Test
+  public void shouldHaveCompressingDiskCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder()
+        .cacheDirectory(temporaryFolder.getRoot())
+        .cacheCompression(true)
+        .build()).getDiskCache());
+  }
+
+  @Test
+  public void shouldHaveDerivations() {
+    assertNotNull(new ClientContext(ApiConfig.builder().tagStoreMillis(1000).derivedUpdates(true).build())
+        .getDerivations());
+  }
+
+  @Test
+  public void shouldHaveStaleCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder().softTtlMillis(1000).build()).getStaleCache());
+    assertNotNull(new ClientContext(ApiConfig.builder().softTtls(ImmutableMap.of("clan/{}", 1000L)).build())
+        .getStaleCache());
+  }
+
+  @Test
+  public void shouldHaveNegativeCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder().negativeCacheMillis(60000).build()).getNegativeCache());
+  }
+
+  @Test
+  public void shouldHaveConstantsSnapshot() throws Exception {
+    assertNotNull(new ClientContext(ApiConfig.builder().constantsSnapshot(temporaryFolder.newFile()).build())
+        .getConstantsSnapshot());
+  }
+
+  @Test
+  public void shouldHaveChangeDetector() {
+    assertNotNull(new ClientContext(ApiConfig.builder().changeDetection(true).build()).getChangeDetector());
+  }
+
+  @Test
+  public void shouldHaveOffHeapCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder().offHeapBytes(1024).build()).getOffHeapCache());
+  }
+
+  @Test
+  public void shouldHaveDiskCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder().cacheDirectory(temporaryFolder.getRoot()).build())
+        .getDiskCache());
+  }
+
+  @Test
+  public void shouldHaveResponseCache() {
+    assertNotNull(new ClientContext(ApiConfig.builder().cacheSize(5).build()).getResponseCache());
+  }
+
+  @Test
+  public void shouldHaveTagStores() {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().tagStoreMillis(5).build());
+    assertNotNull(clientContext.getProfileStore());
+    assertNotNull(clientContext.getClanStore());
+  }
+
+  @Test
+  public void shouldHaveSingleFlight() {
+    assertNotNull(new ClientContext(ApiConfig.builder().singleFlight(true).build()).getSingleFlight());
+  }
+
+  @Test
+  public void shouldHaveCoalescers() {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().coalesceMillis(5).build());
+    assertNotNull(clientContext.getProfileCoalescer());
+    assertNotNull(clientContext.getClanCoalescer());
+  }
+
+  @Test
+  public void shouldHaveServerCacheTracker() {
+    assertNotNull(new ClientContext(ApiConfig.builder().serverCacheAware(true).build()).getServerCacheTracker());
+  }
+
+  @Test
+  public void shouldHaveOwnPublisherExecutor() {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().build());
+    assertNotNull(clientContext.getPublisherExecutor());
+    assertNotSame(clientContext.getFanout().getExecutorService(), clientContext.getPublisherExecutor());
+    assertSame(clientContext.getPublisherExecutor(), clientContext.getPublisherExecutor());
+  }
+
+  @Test
+  public void shouldUseSuppliedPublisherExecutor() {
+    Executor executor = MoreExecutors.directExecutor();
+    assertSame(executor, new ClientContext(ApiConfig.builder().publisherExecutor(executor).build())
+        .getPublisherExecutor());
+  }
+
+  @Test
+  public void shouldHaveLocalThrottle() {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().requestsPerSecond(5).build());
+    assertTrue(clientContext.getThrottle() instanceof LocalThrottle);
+  }
+
+  @Test
+  public void shouldHaveLeasedThrottle() throws Exception {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder()
+        .requestsPerSecond(5)
+        .rateLimitFile(temporaryFolder.newFile())
+        .build());
+    assertTrue(clientContext.getThrottle() instanceof LeasedThrottle);
+  }
+
+  @Test(expected = ClosedChannelException.class)
+  public void shouldReleaseRateLimitFileOnClose() throws Exception {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder()
+        .requestsPerSecond(5)
+        .rateLimitFile(temporaryFolder.newFile())
+        .build());
+    clientContext.close();
+    clientContext.getThrottle().tryAcquire();
+  }
+
+  @Test(expected = ClosedChannelException.class)
+  public void shouldReleaseCacheDirectoryOnClose() throws Exception {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder()
+        .cacheDirectory(temporaryFolder.newFolder())
+        .build());
+    clientContext.close();
+    clientContext.getDiskCache().put("a", "x", 1000);
+  }
+
+  @Test
+  public void shouldShutDownFanoutOnClose() throws Exception {
+    ClientContext clientContext = new ClientContext(ApiConfig.builder().build());
+    ExecutorService executorService = clientContext.getFanout().getExecutorService();
+    clientContext.close();
+    assertTrue(executorService.isShutdown());
+  }
+
+}
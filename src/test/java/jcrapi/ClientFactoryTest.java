@@ -38,4 +38,9 @@ public class ClientFactoryTest {
     new ClientFactory().createClient(null, "abc", null);
   }
 
-}
\ No newline at end of file
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullApiConfig() {
+    new ClientFactory(null);
+  }
+
+}
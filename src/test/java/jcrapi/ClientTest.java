@@ -17,22 +17,61 @@
 package jcrapi;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.anyMap;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
 
 import org.apache.commons.lang.StringUtils;
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
 
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import jcrapi.model.Battle;
+import jcrapi.model.ChestCycle;
+import jcrapi.model.ClanHistory;
+import jcrapi.model.Clan;
+import jcrapi.model.Constants;
+import jcrapi.model.Endpoints;
+import jcrapi.model.PopularPlayer;
+import jcrapi.model.Profile;
+import jcrapi.model.TopClan;
+import jcrapi.model.TopPlayer;
 import jcrapi.request.AuthStatsRequest;
 import jcrapi.request.ClanBattlesRequest;
 import jcrapi.request.ClanHistoryRequest;
@@ -69,6 +108,9 @@ import jcrapi.request.TournamentsRequest;
  */
 public class ClientTest {
 
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
   private CrawlerFactory crawlerFactory;
 
   private Crawler crawler;
@@ -475,4 +517,796 @@ public class ClientTest {
     assertEquals("ok", createClient().getHealth());
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldServeLastAnswerInsideServerCacheWindow() throws IOException {
+    TestTicker ticker = new TestTicker();
+    Client client = createClient(new ClientContext(ApiConfig.builder().serverCacheAware(true).build(), ticker));
+    when(crawler.get("lala/health", createHeaders(), null)).thenReturn("ok");
+    when(crawler.getLastResponse()).thenReturn(createResponse(false), createResponse(true), createResponse(false));
+    client.getHealth();
+    ticker.advance(30, TimeUnit.SECONDS);
+    client.getHealth();
+    client.getHealth();
+    ticker.advance(20, TimeUnit.SECONDS);
+    assertEquals("ok", client.getHealth());
+    verify(crawler, times(3)).get("lala/health", createHeaders(), null);
+  }
+
+  @Test
+  public void shouldGetProfilesInChunks() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().maxTagsPerRequest(2).parallelism(1).build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("A", "B", "C", "D", "E")).build();
+    when(crawler.get("lala/player/A", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\"}");
+    when(crawler.get("lala/player/B,C", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"B\"},{\"tag\":\"C\"}]");
+    when(crawler.get("lala/player/D,E", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"D\"},{\"tag\":\"E\"}]");
+    List<String> tags = new ArrayList<>();
+    for (Profile profile : client.getProfiles(profilesRequest)) {
+      tags.add(profile.getTag());
+    }
+    assertEquals(Arrays.asList("A", "B", "C", "D", "E"), tags);
+  }
+
+  @Test
+  public void shouldGetPlayerBattlesInChunks() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().maxTagsPerRequest(2).parallelism(1).build()));
+    PlayerBattlesRequest playerBattlesRequest = PlayerBattlesRequest.builder(Arrays.asList("A", "B", "C")).build();
+    when(crawler.get("lala/player/A/battles", createHeaders(), playerBattlesRequest.getQueryParameters()))
+        .thenReturn("[{}]");
+    when(crawler.get("lala/player/B,C/battles", createHeaders(), playerBattlesRequest.getQueryParameters()))
+        .thenReturn("[[{}],[{},{}]]");
+    List<List<Battle>> battles = client.getPlayerBattles(playerBattlesRequest);
+    assertEquals(3, battles.size());
+    assertEquals(1, battles.get(0).size());
+    assertEquals(2, battles.get(2).size());
+  }
+
+  @Test
+  public void shouldGetProfileThroughCoalescer() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().coalesceMillis(1).build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("abc").build();
+    when(crawler.get("lala/player/ABC", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"ABC\"}");
+    assertEquals("ABC", client.getProfile(profileRequest).getTag());
+  }
+
+  @Test
+  public void shouldGetClanThroughCoalescer() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().coalesceMillis(1).build()));
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(crawler.get("lala/clan/ABC", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"ABC\"}");
+    assertEquals("ABC", client.getClan(clanRequest).getTag());
+  }
+
+  @Test
+  public void shouldNotRecordCoalescedTagsAsMissingOnBatchNotFound() throws Exception {
+    final Client client = createClient(new ClientContext(ApiConfig.builder()
+        .coalesceMillis(60000)
+        .coalesceSize(2)
+        .negativeCacheMillis(60000)
+        .build()));
+    CrawlerException notFound = new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "not found"));
+    when(crawler.get(anyString(), anyMap(), anyMap()))
+        .thenThrow(notFound)
+        .thenThrow(notFound)
+        .thenReturn("[{\"tag\":\"2PGG\"},{\"tag\":\"8L9L\"}]");
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    for (int round = 0; round < 3; round++) {
+      List<Future<Profile>> futures = new ArrayList<>();
+      for (final String tag : Arrays.asList("2PGG", "8L9L")) {
+        futures.add(executorService.submit(new Callable<Profile>() {
+          @Override
+          public Profile call() throws Exception {
+            return client.getProfile(ProfileRequest.builder(tag).build());
+          }
+        }));
+      }
+      for (Future<Profile> future : futures) {
+        try {
+          Profile profile = future.get();
+          assertEquals(2, round);
+          assertNotNull(profile);
+        } catch (ExecutionException e) {
+          assertTrue(round < 2);
+          assertEquals(404, ((CrawlerException) e.getCause()).getStatusCode());
+        }
+      }
+    }
+    executorService.shutdown();
+    verify(crawler, times(3)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldShareRunningCallWithSingleFlight() throws Exception {
+    final Client client = createClient(new ClientContext(ApiConfig.builder().singleFlight(true).build()));
+    final TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(crawler.get("lala/top/players", createHeaders(), topPlayersRequest.getQueryParameters()))
+        .thenAnswer(new Answer<String>() {
+          @Override
+          public String answer(InvocationOnMock invocation) throws Throwable {
+            Thread.sleep(500);
+            return "[{\"tag\":\"ABC\"}]";
+          }
+        });
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    List<Future<List<TopPlayer>>> futures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      futures.add(executorService.submit(new Callable<List<TopPlayer>>() {
+        @Override
+        public List<TopPlayer> call() throws Exception {
+          return client.getTopPlayers(topPlayersRequest);
+        }
+      }));
+    }
+    executorService.shutdown();
+    List<TopPlayer> first = futures.get(0).get();
+    List<TopPlayer> second = futures.get(1).get();
+    assertEquals("ABC", first.get(0).getTag());
+    assertNotSame(first, second);
+    assertSame(first.get(0), second.get(0));
+    verify(crawler, times(1)).get("lala/top/players", createHeaders(), topPlayersRequest.getQueryParameters());
+  }
+
+  @Test
+  public void shouldGetClanRoster() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().maxTagsPerRequest(2).build()));
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(crawler.get("lala/clan/abc", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"ABC\",\"members\":[{\"tag\":\"#A\"},{\"tag\":\"B\"},{\"tag\":\"C\"}]}");
+    when(crawler.get("lala/player/A", createHeaders(), null)).thenReturn("{\"tag\":\"A\"}");
+    when(crawler.get("lala/player/B,C", createHeaders(), null))
+        .thenReturn("[{\"tag\":\"C\"},{\"tag\":\"B\"}]");
+    when(crawler.get("lala/player/A/battles", createHeaders(), null)).thenReturn("[{}]");
+    when(crawler.get("lala/player/B,C/battles", createHeaders(), null)).thenReturn("[[{},{}],[{}]]");
+    when(crawler.get("lala/player/A/chests", createHeaders(), null)).thenReturn("{\"giant\":1}");
+    when(crawler.get("lala/player/B,C/chests", createHeaders(), null)).thenReturn("[{\"giant\":2},{\"giant\":3}]");
+    final List<Profile> streamed = Collections.synchronizedList(new ArrayList<Profile>());
+    ClanRoster clanRoster = client.getClanRoster(clanRequest, new ClanRosterListener() {
+      @Override
+      public void onClan(Clan clan) {
+      }
+
+      @Override
+      public void onProfiles(List<Profile> profiles) {
+        streamed.addAll(profiles);
+      }
+
+      @Override
+      public void onBattles(Map<String, List<Battle>> battles) {
+      }
+
+      @Override
+      public void onChests(Map<String, ChestCycle> chests) {
+      }
+    });
+    assertEquals("ABC", clanRoster.getClan().getTag());
+    assertEquals(Arrays.asList("A", "B", "C"), new ArrayList<>(clanRoster.getProfiles().keySet()));
+    assertEquals("A", clanRoster.getProfiles().get("A").getTag());
+    assertEquals(1, clanRoster.getBattles().get("A").size());
+    assertEquals(2, clanRoster.getBattles().get("B").size());
+    assertEquals(1, clanRoster.getBattles().get("C").size());
+    assertEquals(2, clanRoster.getChests().get("B").getGiant());
+    assertEquals(3, clanRoster.getChests().get("C").getGiant());
+    assertEquals(3, streamed.size());
+  }
+
+  @Test
+  public void shouldMatchRosterBattlesAndChestsByTagNotPosition() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().maxTagsPerRequest(3).build()));
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(crawler.get("lala/clan/abc", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"ABC\",\"members\":[{\"tag\":\"A\"},{\"tag\":\"B\"},{\"tag\":\"C\"}]}");
+    when(crawler.get("lala/player/A,B,C", createHeaders(), null))
+        .thenReturn("[{\"tag\":\"A\"},{\"tag\":\"B\"},{\"tag\":\"C\"}]");
+    when(crawler.get("lala/player/A,B,C/battles", createHeaders(), null))
+        .thenReturn("[[{\"team\":[{\"tag\":\"#C\"}]}],[{\"team\":[{\"tag\":\"#A\"}]},{\"team\":[{\"tag\":\"#A\"}]}]]");
+    when(crawler.get("lala/player/A,B,C/chests", createHeaders(), null))
+        .thenReturn("[{\"giant\":1},{\"giant\":3}]");
+    when(crawler.get("lala/player/A/chests", createHeaders(), null)).thenReturn("{\"giant\":1}");
+    when(crawler.get("lala/player/B/chests", createHeaders(), null))
+        .thenThrow(new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "Not Found")));
+    when(crawler.get("lala/player/C/chests", createHeaders(), null)).thenReturn("{\"giant\":3}");
+    ClanRoster clanRoster = client.getClanRoster(clanRequest, null);
+    assertEquals(Arrays.asList("A", "C"), new ArrayList<>(clanRoster.getBattles().keySet()));
+    assertEquals(2, clanRoster.getBattles().get("A").size());
+    assertEquals(1, clanRoster.getBattles().get("C").size());
+    assertEquals(Arrays.asList("A", "C"), new ArrayList<>(clanRoster.getChests().keySet()));
+    assertEquals(3, clanRoster.getChests().get("C").getGiant());
+  }
+
+  @Test
+  public void shouldGetClanRosterWithoutMembers() throws IOException {
+    ClanRequest clanRequest = ClanRequest.builder("abc").build();
+    when(crawler.get("lala/clan/abc", createHeaders(), clanRequest.getQueryParameters())).thenReturn("{}");
+    ClanRoster clanRoster = createClient().getClanRoster(clanRequest, null);
+    assertTrue(clanRoster.getProfiles().isEmpty());
+    verify(crawler, times(1)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldGetTopPlayersPages() throws IOException {
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().locationKey("EU").max(2).build();
+    when(crawler.get("lala/top/players/EU", createHeaders(), topPlayersRequest.forPage(0).getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    when(crawler.get("lala/top/players/EU", createHeaders(), topPlayersRequest.forPage(1).getQueryParameters()))
+        .thenReturn("[{\"tag\":\"C\"}]");
+    List<String> tags = new ArrayList<>();
+    for (TopPlayer topPlayer : createClient().getTopPlayersPages(topPlayersRequest)) {
+      tags.add(topPlayer.getTag());
+    }
+    assertEquals(Arrays.asList("A", "B", "C"), tags);
+  }
+
+  @Test
+  public void shouldGetPopularPlayersPublisher() throws Exception {
+    PopularPlayersRequest popularPlayersRequest = PopularPlayersRequest.builder().build();
+    when(crawler.open("lala/popular/players", createHeaders(), popularPlayersRequest.getQueryParameters()))
+        .thenReturn(new StringReader("[{\"tag\":\"A\"},{\"tag\":\"B\"}]"));
+    final List<String> tags = Collections.synchronizedList(new ArrayList<String>());
+    final CountDownLatch done = new CountDownLatch(1);
+    createClient().getPopularPlayersPublisher(popularPlayersRequest).subscribe(new Subscriber<PopularPlayer>() {
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(PopularPlayer popularPlayer) {
+        tags.add(popularPlayer.getTag());
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+        done.countDown();
+      }
+
+      @Override
+      public void onComplete() {
+        done.countDown();
+      }
+    });
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertEquals(Arrays.asList("A", "B"), tags);
+  }
+
+  @Test
+  public void shouldDeliverOnSuppliedPublisherExecutor() throws Exception {
+    final AtomicInteger executed = new AtomicInteger();
+    Client client = createClient(new ClientContext(ApiConfig.builder().publisherExecutor(new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        executed.incrementAndGet();
+        runnable.run();
+      }
+    }).build()));
+    PopularPlayersRequest popularPlayersRequest = PopularPlayersRequest.builder().build();
+    when(crawler.open("lala/popular/players", createHeaders(), popularPlayersRequest.getQueryParameters()))
+        .thenReturn(new StringReader("[{\"tag\":\"A\"}]"));
+    final List<String> tags = new ArrayList<>();
+    client.getPopularPlayersPublisher(popularPlayersRequest).subscribe(new Subscriber<PopularPlayer>() {
+      @Override
+      public void onSubscribe(Subscription subscription) {
+        subscription.request(Long.MAX_VALUE);
+      }
+
+      @Override
+      public void onNext(PopularPlayer popularPlayer) {
+        tags.add(popularPlayer.getTag());
+      }
+
+      @Override
+      public void onError(Throwable throwable) {
+      }
+
+      @Override
+      public void onComplete() {
+        tags.add("complete");
+      }
+    });
+    assertEquals(Arrays.asList("A", "complete"), tags);
+    assertEquals(1, executed.get());
+  }
+
+  @Test
+  public void shouldGetGlobalTopPlayersOfAllRegions() throws IOException {
+    when(crawler.get("lala/constants", createHeaders(), ImmutableMap.of("keys", "regions")))
+        .thenReturn("{\"regions\":[{\"key\":\"_EU\",\"isCountry\":false},{\"key\":\"DE\",\"isCountry\":true},"
+            + "{\"key\":\"_AS\",\"isCountry\":false}]}");
+    TopPlayersRequest topPlayersRequest = TopPlayersRequest.builder().build();
+    when(crawler.get("lala/top/players/_EU", createHeaders(), topPlayersRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\",\"trophies\":9000},{\"tag\":\"C\",\"trophies\":7000}]");
+    when(crawler.get("lala/top/players/_AS", createHeaders(), topPlayersRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"B\",\"trophies\":8000}]");
+    List<String> tags = new ArrayList<>();
+    for (TopPlayer topPlayer : createClient().getGlobalTopPlayers(topPlayersRequest, null)) {
+      tags.add(topPlayer.getTag());
+    }
+    assertEquals(Arrays.asList("A", "B", "C"), tags);
+  }
+
+  @Test
+  public void shouldGetGlobalTopClansOfLocations() throws IOException {
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(crawler.get("lala/top/clans/DE", createHeaders(), topClansRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\",\"score\":100}]");
+    when(crawler.get("lala/top/clans/FR", createHeaders(), topClansRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"B\",\"score\":200}]");
+    assertEquals("B", createClient().getGlobalTopClans(topClansRequest, Arrays.asList("DE", "FR")).get(0).getTag());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failGetGlobalTopWarsBecauseLocationKey() throws IOException {
+    createClient().getGlobalTopWars(TopWarsRequest.builder().locationKey("DE").build(), null);
+  }
+
+  @Test
+  public void shouldRequestOnlyTagsMissingInTagStore() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().tagStoreMillis(60000).build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("A", "B")).build();
+    when(crawler.get("lala/player/A,B", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    client.getProfiles(profilesRequest);
+    profilesRequest = ProfilesRequest.builder(Arrays.asList("C", "B", "A")).build();
+    when(crawler.get("lala/player/C", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"C\"}");
+    List<Profile> profiles = client.getProfiles(profilesRequest);
+    assertEquals("C", profiles.get(0).getTag());
+    assertEquals("B", profiles.get(1).getTag());
+    assertEquals("A", profiles.get(2).getTag());
+    verify(crawler, times(2)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldServeClansFromTagStore() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().tagStoreMillis(60000).build()));
+    ClansRequest clansRequest = ClansRequest.builder(Arrays.asList("A")).build();
+    when(crawler.get("lala/clan/A", createHeaders(), clansRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\"}");
+    client.getClans(clansRequest);
+    assertEquals("A", client.getClans(clansRequest).get(0).getTag());
+    verify(crawler, times(1)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldServeParsedAnswerFromResponseCache() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .cacheSize(100)
+        .cacheTtls(ImmutableMap.of("constants", 60000L))
+        .build()));
+    when(crawler.get("lala/constants", createHeaders(), null)).thenReturn("{}");
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\"}");
+    Constants constants = client.getConstants(null);
+    assertSame(constants, client.getConstants(null));
+    client.getProfile(profileRequest);
+    client.getProfile(profileRequest);
+    verify(crawler, times(1)).get("lala/constants", createHeaders(), null);
+    verify(crawler, times(2)).get("lala/player/A", createHeaders(), profileRequest.getQueryParameters());
+    assertEquals(1, client.getCacheStats().hitCount());
+  }
+
+  @Test
+  public void shouldHaveEmptyCacheStatsWithoutResponseCache() {
+    assertEquals(0, createClient().getCacheStats().requestCount());
+  }
+
+  @Test
+  public void shouldServeAnswerFromDiskCacheAfterRestart() throws IOException {
+    ApiConfig apiConfig = ApiConfig.builder()
+        .cacheDirectory(temporaryFolder.getRoot())
+        .cacheTtls(ImmutableMap.of("constants", 60000L))
+        .build();
+    when(crawler.get("lala/constants", createHeaders(), null)).thenReturn("{}");
+    createClient(new ClientContext(apiConfig)).getConstants(null);
+    assertNotNull(createClient(new ClientContext(apiConfig)).getConstants(null));
+    verify(crawler, times(1)).get("lala/constants", createHeaders(), null);
+  }
+
+  @Test
+  public void shouldServeParsedAnswerFromOffHeapCache() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .offHeapBytes(1024 * 1024)
+        .cacheTtlMillis(60000)
+        .build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("A", "B")).build();
+    when(crawler.get("lala/player/A,B", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\",\"trophies\":1},{\"tag\":\"B\",\"trophies\":2}]");
+    List<Profile> profiles = client.getProfiles(profilesRequest);
+    List<Profile> cached = client.getProfiles(profilesRequest);
+    assertNotSame(profiles.get(1), cached.get(1));
+    assertEquals(2, cached.get(1).getTrophies());
+    verify(crawler, times(1)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldServeCollectionModelsFromOffHeapCache() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .offHeapBytes(1024 * 1024)
+        .cacheTtlMillis(60000)
+        .build()));
+    ClanHistoryRequest clanHistoryRequest = ClanHistoryRequest.builder("xyz").build();
+    when(crawler.get("lala/endpoints", createHeaders(), null)).thenReturn("[\"a\",\"b\"]");
+    when(crawler.get("lala/clan/xyz/history", createHeaders(), clanHistoryRequest.getQueryParameters()))
+        .thenReturn("{\"2018-01-01\":{\"donations\":7,\"members\":[{\"tag\":\"A\"}]}}");
+    client.getEndpoints();
+    client.getClanHistory(clanHistoryRequest);
+    Endpoints endpoints = client.getEndpoints();
+    ClanHistory clanHistory = client.getClanHistory(clanHistoryRequest);
+    assertEquals(Arrays.asList("a", "b"), endpoints);
+    assertEquals(Integer.valueOf(7), clanHistory.get("2018-01-01").getDonations());
+    assertEquals("A", clanHistory.get("2018-01-01").getMembers().get(0).getTag());
+    verify(crawler, times(1)).get("lala/endpoints", createHeaders(), null);
+    verify(crawler, times(1)).get("lala/clan/xyz/history", createHeaders(), clanHistoryRequest.getQueryParameters());
+  }
+
+  @Test
+  public void shouldPollUnchangedProfile() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().changeDetection(true).build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":1}", "{\"tag\":\"A\",\"trophies\":1}",
+            "{\"tag\":\"A\",\"trophies\":2}");
+    Polled<Profile> first = client.pollProfile(profileRequest);
+    Polled<Profile> second = client.pollProfile(profileRequest);
+    Polled<Profile> third = client.pollProfile(profileRequest);
+    assertTrue(first.isChanged());
+    assertFalse(second.isChanged());
+    assertSame(first.getValue(), second.getValue());
+    assertTrue(third.isChanged());
+    assertEquals(2, third.getValue().getTrophies());
+  }
+
+  @Test
+  public void shouldNotParseUnchangedAnswerAgain() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().changeDetection(true).build()));
+    TopClansRequest topClansRequest = TopClansRequest.builder().build();
+    when(crawler.get("lala/top/clans", createHeaders(), topClansRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"A\"}]");
+    List<TopClan> topClans = client.getTopClans(topClansRequest);
+    assertSame(topClans.get(0), client.getTopClans(topClansRequest).get(0));
+    assertFalse(client.pollTopClans(topClansRequest).isChanged());
+  }
+
+  @Test
+  public void shouldPollChangedWithoutChangeDetection() throws IOException {
+    ClanWarRequest clanWarRequest = ClanWarRequest.builder("A").build();
+    when(crawler.get("lala/clan/A/war", createHeaders(), clanWarRequest.getQueryParameters())).thenReturn("{}");
+    createClient().pollClanWar(clanWarRequest);
+    assertTrue(createClient().pollClanWar(clanWarRequest).isChanged());
+  }
+
+  @Test
+  public void shouldKeepConstantsInSnapshot() throws IOException {
+    ApiConfig apiConfig = ApiConfig.builder().constantsSnapshot(temporaryFolder.newFile()).build();
+    when(crawler.get("lala/version", createHeaders(), null)).thenReturn("1.0");
+    when(crawler.get("lala/constants", createHeaders(), null)).thenReturn("{\"rewardGold\":[1,2]}");
+    createClient(new ClientContext(apiConfig)).getConstants(null);
+    Constants constants = createClient(new ClientContext(apiConfig)).getConstants(ConstantsRequest.builder().build());
+    assertEquals(Arrays.asList(1, 2), constants.getRewardGold());
+    verify(crawler, times(1)).get("lala/constants", createHeaders(), null);
+  }
+
+  @Test
+  public void shouldNotAskForProfileKnownAsMissing() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().negativeCacheMillis(60000).build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("2PGG").build();
+    when(crawler.get("lala/player/2PGG", createHeaders(), profileRequest.getQueryParameters()))
+        .thenThrow(new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "not found")));
+    for (int i = 0; i < 2; i++) {
+      try {
+        client.getProfile(profileRequest);
+        fail();
+      } catch (CrawlerException e) {
+        assertEquals(404, e.getStatusCode());
+      }
+    }
+    verify(crawler, times(1)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test(expected = CrawlerException.class)
+  public void failGetClanBecauseInvalidTag() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().negativeCacheMillis(60000).build()));
+    try {
+      client.getClan(ClanRequest.builder("ABC").build());
+    } finally {
+      verify(crawler, times(0)).get(anyString(), anyMap(), anyMap());
+    }
+  }
+
+  @Test
+  public void shouldDropProfilesKnownAsMissing() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder().negativeCacheMillis(60000).build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("2PGG", "ABC", "8L9L")).build();
+    when(crawler.get("lala/player/2PGG,8L9L", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"8L9L\"}]");
+    when(crawler.get("lala/player/8L9L", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"8L9L\"}");
+    assertEquals(1, client.getProfiles(profilesRequest).size());
+    List<Profile> profiles = client.getProfiles(profilesRequest);
+    assertEquals(1, profiles.size());
+    assertEquals("8L9L", profiles.get(0).getTag());
+    verify(crawler, times(1)).get("lala/player/8L9L", createHeaders(), profilesRequest.getQueryParameters());
+    assertEquals(0, client.getClans(ClansRequest.builder(Arrays.asList("ABC")).build()).size());
+  }
+
+  @Test
+  public void shouldServeStaleProfileWhileRevalidating() throws Exception {
+    TestTicker ticker = new TestTicker();
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .softTtls(ImmutableMap.of("player/{}", 1000L))
+        .build(), ticker));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    final CountDownLatch refreshed = new CountDownLatch(1);
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"name\":\"old\"}")
+        .thenAnswer(new Answer<String>() {
+          @Override
+          public String answer(InvocationOnMock invocation) {
+            refreshed.countDown();
+            return "{\"name\":\"new\"}";
+          }
+        });
+    assertEquals("old", client.getProfile(profileRequest).getName());
+    assertEquals("old", client.getProfile(profileRequest).getName());
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertEquals("old", client.getProfile(profileRequest).getName());
+    assertTrue(refreshed.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 100 && !"new".equals(client.getProfile(profileRequest).getName()); i++) {
+      Thread.sleep(10);
+    }
+    assertEquals("new", client.getProfile(profileRequest).getName());
+    verify(crawler, times(2)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldPatchStoredProfilesFromClan() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .tagStoreMillis(60000)
+        .derivedUpdates(true)
+        .build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("A")).build();
+    when(crawler.get("lala/player/A", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":1000}");
+    ClanRequest clanRequest = ClanRequest.builder("C").build();
+    when(crawler.get("lala/clan/C", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"C\",\"members\":[{\"tag\":\"A\",\"trophies\":1100}]}");
+    client.getProfiles(profilesRequest);
+    client.getClan(clanRequest);
+    Profile profile = client.getProfiles(profilesRequest).get(0);
+    assertEquals(1100, profile.getTrophies());
+    assertEquals("C", profile.getClan().getTag());
+    assertEquals("C", client.getClans(ClansRequest.builder(Arrays.asList("C")).build()).get(0).getTag());
+    verify(crawler, times(2)).get(anyString(), anyMap(), anyMap());
+  }
+
+  @Test
+  public void shouldServePatchedProfileAfterClan() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .tagStoreMillis(60000)
+        .derivedUpdates(true)
+        .build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":1000}");
+    ClanRequest clanRequest = ClanRequest.builder("C").build();
+    when(crawler.get("lala/clan/C", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"C\",\"members\":[{\"tag\":\"A\",\"trophies\":1100}]}");
+    client.getProfile(profileRequest);
+    client.getClan(clanRequest);
+    Profile profile = client.getProfile(profileRequest);
+    assertEquals(1100, profile.getTrophies());
+    assertEquals("C", profile.getClan().getTag());
+    assertEquals("C", client.getClan(clanRequest).getTag());
+    verify(crawler, times(1)).get("lala/player/A", createHeaders(), profileRequest.getQueryParameters());
+    verify(crawler, times(1)).get("lala/clan/C", createHeaders(), clanRequest.getQueryParameters());
+  }
+
+  @Test
+  public void shouldPatchStoredProfilesFromBattles() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .tagStoreMillis(60000)
+        .derivedUpdates(true)
+        .build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("A")).build();
+    when(crawler.get("lala/player/A", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":1000}");
+    PlayerBattlesRequest playerBattlesRequest = PlayerBattlesRequest.builder(Arrays.asList("A")).build();
+    when(crawler.get("lala/player/A/battles", createHeaders(), playerBattlesRequest.getQueryParameters()))
+        .thenReturn("[{\"utcTime\":" + (TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) + 1)
+            + ",\"team\":[{\"tag\":\"A\",\"startTrophies\":1200,\"trophyChange\":-20}]}]");
+    client.getProfiles(profilesRequest);
+    client.getPlayerBattles(playerBattlesRequest);
+    assertEquals(1180, client.getProfiles(profilesRequest).get(0).getTrophies());
+  }
+
+  @Test
+  public void shouldAccountMemory() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .cacheSize(100)
+        .cacheTtlMillis(60000)
+        .memoryBudgetBytes(1000000)
+        .build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    Response response = new Response();
+    response.setRaw("{\"tag\":\"A\"}");
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\"}");
+    when(crawler.getLastResponse()).thenReturn(response);
+    client.getProfile(profileRequest);
+    MemoryUsage memoryUsage = client.getMemoryUsage();
+    assertEquals(1000000, memoryUsage.getMaximumBytes());
+    assertEquals(0, memoryUsage.getInFlightBytes());
+    assertEquals(22, memoryUsage.getRawBytes());
+    assertEquals(22, memoryUsage.getCacheBytes());
+  }
+
+  @Test
+  public void shouldGetMemoryUsageWithoutBudget() {
+    MemoryUsage memoryUsage = createClient().getMemoryUsage();
+    assertEquals(0, memoryUsage.getMaximumBytes());
+    assertEquals(0, memoryUsage.getTotalBytes());
+  }
+
+  @Test
+  public void shouldPrefetchLikelyFollowUp() throws Exception {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .cacheSize(100)
+        .cacheTtlMillis(60000)
+        .prefetchMillis(60000)
+        .build()));
+    final CountDownLatch prefetched = new CountDownLatch(1);
+    when(crawler.get(anyString(), anyMap(), anyMap())).thenAnswer(new Answer<String>() {
+      @Override
+      public String answer(InvocationOnMock invocation) {
+        if ("lala/clan/XYZ/war".equals(invocation.getArguments()[0])) {
+          prefetched.countDown();
+        }
+        return "{}";
+      }
+    });
+    for (int i = 0; i < Prefetcher.MINIMUM_TRIALS; i++) {
+      client.getClan(ClanRequest.builder("T" + i).build());
+      client.getClanWar(ClanWarRequest.builder("T" + i).build());
+    }
+    client.getClan(ClanRequest.builder("XYZ").build());
+    assertTrue(prefetched.await(5, TimeUnit.SECONDS));
+    for (int i = 0; i < 100 && client.getCacheStats().loadSuccessCount() < 2 * Prefetcher.MINIMUM_TRIALS + 2; i++) {
+      Thread.sleep(10);
+    }
+    ClanWarRequest clanWarRequest = ClanWarRequest.builder("XYZ").build();
+    client.getClanWar(clanWarRequest);
+    assertEquals(1, client.getCacheStats().hitCount());
+    verify(crawler, times(1)).get("lala/clan/XYZ/war", createHeaders(), clanWarRequest.getQueryParameters());
+  }
+
+  @Test
+  public void shouldAbortPrefetchWithoutSparePermit() throws Exception {
+    ClientContext clientContext = Mockito.spy(new ClientContext(ApiConfig.builder()
+        .cacheSize(100)
+        .cacheTtlMillis(60000)
+        .prefetchMillis(60000)
+        .build()));
+    final AtomicInteger acquired = new AtomicInteger();
+    final CountDownLatch refused = new CountDownLatch(1);
+    Mockito.doReturn(new Throttle() {
+      @Override
+      public void acquire() {
+        acquired.incrementAndGet();
+      }
+
+      @Override
+      public boolean tryAcquire() {
+        refused.countDown();
+        return false;
+      }
+    }).when(clientContext).getThrottle();
+    Client client = createClient(clientContext);
+    when(crawler.get(anyString(), anyMap(), anyMap())).thenReturn("{}");
+    for (int i = 0; i < Prefetcher.MINIMUM_TRIALS; i++) {
+      client.getClan(ClanRequest.builder("T" + i).build());
+      client.getClanWar(ClanWarRequest.builder("T" + i).build());
+    }
+    client.getClan(ClanRequest.builder("XYZ").build());
+    assertTrue(refused.await(5, TimeUnit.SECONDS));
+    assertEquals(2 * Prefetcher.MINIMUM_TRIALS + 1, acquired.get());
+    verify(crawler, never()).get("lala/clan/XYZ/war", createHeaders(), ClanWarRequest.builder("XYZ").build()
+        .getQueryParameters());
+  }
+
+  @Test
+  public void shouldParseProjectedProfile() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .projectedParsing(true)
+        .earlyStop(true)
+        .build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").keys(Arrays.asList("tag", "name")).build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":4711,\"name\":\"lala\",\"cards\":[{\"name\":\"x\"}]}");
+    Profile profile = client.getProfile(profileRequest);
+    assertEquals("A", profile.getTag());
+    assertEquals("lala", profile.getName());
+    assertEquals(0, profile.getTrophies());
+    assertNull(profile.getCards());
+  }
+
+  @Test
+  public void shouldKeepTagOfProjectedProfileThroughCoalescer() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .coalesceMillis(1)
+        .projectedParsing(true)
+        .build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("ABC").keys(Arrays.asList("name", "trophies")).build();
+    when(crawler.get("lala/player/ABC", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"ABC\",\"name\":\"lala\",\"trophies\":4711,\"cards\":[{\"name\":\"x\"}]}]");
+    Profile profile = client.getProfile(profileRequest);
+    assertEquals("ABC", profile.getTag());
+    assertEquals("lala", profile.getName());
+    assertNull(profile.getCards());
+  }
+
+  @Test
+  public void shouldNotRecordProjectedProfilesAsMissing() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .negativeCacheMillis(60000)
+        .projectedParsing(true)
+        .build()));
+    ProfilesRequest profilesRequest = ProfilesRequest.builder(Arrays.asList("2PGG", "8L9L"))
+        .keys(Arrays.asList("name"))
+        .build();
+    when(crawler.get("lala/player/2PGG,8L9L", createHeaders(), profilesRequest.getQueryParameters()))
+        .thenReturn("[{\"tag\":\"2PGG\",\"name\":\"a\"},{\"tag\":\"8L9L\",\"name\":\"b\"}]");
+    assertEquals(2, client.getProfiles(profilesRequest).size());
+    assertEquals(2, client.getProfiles(profilesRequest).size());
+    verify(crawler, times(2)).get("lala/player/2PGG,8L9L", createHeaders(), profilesRequest.getQueryParameters());
+  }
+
+  @Test
+  public void shouldParseFullProfileWithoutProjectedParsing() throws IOException {
+    ProfileRequest profileRequest = ProfileRequest.builder("A").keys(Arrays.asList("tag", "name")).build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":4711,\"name\":\"lala\"}");
+    assertEquals(4711, createClient().getProfile(profileRequest).getTrophies());
+  }
+
+  @Test
+  public void shouldGetLazyProfile() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .lazyModels(true)
+        .build()));
+    ProfileRequest profileRequest = ProfileRequest.builder("A").build();
+    when(crawler.get("lala/player/A", createHeaders(), profileRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"trophies\":4711}");
+    Profile profile = client.getProfile(profileRequest);
+    assertTrue(profile instanceof LazyProfile);
+    assertEquals("A", profile.getTag());
+    assertEquals(4711, profile.getTrophies());
+  }
+
+  @Test
+  public void shouldGetLazyClan() throws IOException {
+    Client client = createClient(new ClientContext(ApiConfig.builder()
+        .lazyModels(true)
+        .build()));
+    ClanRequest clanRequest = ClanRequest.builder("A").build();
+    when(crawler.get("lala/clan/A", createHeaders(), clanRequest.getQueryParameters()))
+        .thenReturn("{\"tag\":\"A\",\"members\":[{\"tag\":\"B\"}]}");
+    Clan clan = client.getClan(clanRequest);
+    assertTrue(clan instanceof LazyClan);
+    assertEquals("B", clan.getMembers().get(0).getTag());
+  }
+
+  private Client createClient(ClientContext clientContext) {
+    return new Client("lala/", "abc", AuthMode.NORMAL, crawlerFactory, clientContext);
+  }
+
+  private Response createResponse(boolean cached) {
+    Response response = new Response();
+    response.getResponseHeaders().put(Response.X_CACHED, String.valueOf(cached));
+    return response;
+  }
+
+}
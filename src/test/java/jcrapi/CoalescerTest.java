@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jcrapi.model.Profile;
+import jcrapi.request.ProfileRequest;
+import jcrapi.request.Request;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class CoalescerTest {
+
+  private final List<List<String>> loads = Collections.synchronizedList(new ArrayList<List<String>>());
+
+  private Coalescer.Loader<Profile> loader;
+
+  private Coalescer.TagFunction<Profile> tagFunction;
+
+  @Before
+  public void setUp() {
+    loader = new Coalescer.Loader<Profile>() {
+      @Override
+      public List<Profile> load(List<String> tags, Request request) throws IOException {
+        loads.add(tags);
+        List<Profile> profiles = new ArrayList<>();
+        for (String tag : tags) {
+          if (!"MISSING".equals(tag)) {
+            profiles.add(createProfile(tag));
+          }
+        }
+        return profiles;
+      }
+    };
+    tagFunction = new Coalescer.TagFunction<Profile>() {
+      @Override
+      public String getTag(Profile profile) {
+        return profile.getTag();
+      }
+    };
+  }
+
+  private Profile createProfile(String tag) {
+    Profile profile = new Profile();
+    profile.setTag(tag);
+    return profile;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroWindow() {
+    new Coalescer<>(0, 1, tagFunction);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroBatchSize() {
+    new Coalescer<>(1, 0, tagFunction);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullTagFunction() {
+    new Coalescer<Profile>(1, 1, null);
+  }
+
+  @Test
+  public void shouldMergeCallsOfWindow() throws Exception {
+    List<Future<Profile>> futures = getConcurrently(new Coalescer<>(500, 10, tagFunction), "A", "#b", "C");
+    assertEquals("A", futures.get(0).get().getTag());
+    assertEquals("B", futures.get(1).get().getTag());
+    assertEquals("C", futures.get(2).get().getTag());
+    assertEquals(1, loads.size());
+    assertEquals(3, loads.get(0).size());
+  }
+
+  private List<Future<Profile>> getConcurrently(final Coalescer<Profile> coalescer, String... tags) {
+    ExecutorService executorService = Executors.newFixedThreadPool(tags.length);
+    List<Future<Profile>> futures = new ArrayList<>();
+    for (final String tag : tags) {
+      futures.add(executorService.submit(new Callable<Profile>() {
+        @Override
+        public Profile call() throws Exception {
+          return coalescer.get(tag, ProfileRequest.builder(tag).build(), loader);
+        }
+      }));
+    }
+    executorService.shutdown();
+    return futures;
+  }
+
+  @Test
+  public void shouldFireFullBatchBeforeWindowEnds() throws Exception {
+    long start = System.currentTimeMillis();
+    List<Future<Profile>> futures = getConcurrently(new Coalescer<>(10000, 2, tagFunction), "A", "B");
+    assertEquals("A", futures.get(0).get().getTag());
+    assertEquals("B", futures.get(1).get().getTag());
+    assertTrue(System.currentTimeMillis() - start < 5000);
+  }
+
+  @Test
+  public void shouldNotMergeDifferentQueryParameters() throws IOException {
+    Coalescer<Profile> coalescer = new Coalescer<>(1, 10, tagFunction);
+    coalescer.get("A", ProfileRequest.builder("A").keys(Arrays.asList("tag")).build(), loader);
+    coalescer.get("B", ProfileRequest.builder("B").build(), loader);
+    assertEquals(2, loads.size());
+  }
+
+  @Test
+  public void failBecauseTagMissingInAnswer() throws IOException {
+    try {
+      new Coalescer<>(1, 10, tagFunction).get("MISSING", ProfileRequest.builder("MISSING").build(), loader);
+      fail();
+    } catch (CrawlerException e) {
+      assertEquals(404, e.getStatusCode());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void failBecauseLoadFailed() throws IOException {
+    new Coalescer<>(1, 10, tagFunction).get("A", ProfileRequest.builder("A").build(),
+        new Coalescer.Loader<Profile>() {
+          @Override
+          public List<Profile> load(List<String> tags, Request request) throws IOException {
+            throw new IOException("down");
+          }
+        });
+  }
+
+  @Test
+  public void failAllCallersBecauseLoadThrewError() throws Exception {
+    loader = new Coalescer.Loader<Profile>() {
+      @Override
+      public List<Profile> load(List<String> tags, Request request) throws IOException {
+        throw new OutOfMemoryError("heap");
+      }
+    };
+    for (Future<Profile> future : getConcurrently(new Coalescer<>(500, 10, tagFunction), "A", "B")) {
+      try {
+        future.get(5, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertEquals("heap", e.getCause().getMessage());
+      }
+    }
+  }
+
+}
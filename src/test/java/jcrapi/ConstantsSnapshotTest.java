@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.gson.Gson;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import jcrapi.model.Constants;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ConstantsSnapshotTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final List<String> calls = new ArrayList<>();
+
+  private final List<Runnable> tasks = new ArrayList<>();
+
+  private final Executor executor = new Executor() {
+    @Override
+    public void execute(Runnable runnable) {
+      tasks.add(runnable);
+    }
+  };
+
+  private String version = "1.0";
+
+  private final ConstantsSnapshot.Source source = new ConstantsSnapshot.Source() {
+    @Override
+    public String getVersion() throws IOException {
+      calls.add("version");
+      return version;
+    }
+
+    @Override
+    public Constants getConstants() throws IOException {
+      calls.add("constants");
+      return new Gson().fromJson("{\"regions\":[{\"key\":\"_EU\",\"name\":\"Europe " + version + "\"}]}",
+          Constants.class);
+    }
+  };
+
+  private File getFile() {
+    return new File(temporaryFolder.getRoot(), "constants.snapshot");
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullFile() {
+    new ConstantsSnapshot(null, executor);
+  }
+
+  @Test
+  public void shouldFetchWithoutSnapshot() throws IOException {
+    ConstantsSnapshot constantsSnapshot = new ConstantsSnapshot(getFile(), executor);
+    Constants constants = constantsSnapshot.get(source);
+    assertEquals("Europe 1.0", constants.getRegions().get(0).getName());
+    assertSame(constants, constantsSnapshot.get(source));
+    assertEquals(2, calls.size());
+    assertEquals(0, tasks.size());
+  }
+
+  @Test
+  public void shouldLoadSnapshotAndCheckVersionInBackground() throws IOException {
+    new ConstantsSnapshot(getFile(), executor).get(source);
+    calls.clear();
+    ConstantsSnapshot constantsSnapshot = new ConstantsSnapshot(getFile(), executor);
+    assertEquals("Europe 1.0", constantsSnapshot.get(source).getRegions().get(0).getName());
+    assertEquals(0, calls.size());
+    assertEquals(1, tasks.size());
+    tasks.get(0).run();
+    assertEquals(1, calls.size());
+    constantsSnapshot.get(source);
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void shouldRefreshSnapshotOfOtherVersion() throws IOException {
+    new ConstantsSnapshot(getFile(), executor).get(source);
+    version = "2.0";
+    ConstantsSnapshot constantsSnapshot = new ConstantsSnapshot(getFile(), MoreExecutors.directExecutor());
+    Constants constants = constantsSnapshot.get(source);
+    assertEquals("Europe 1.0", constants.getRegions().get(0).getName());
+    Constants refreshed = constantsSnapshot.get(source);
+    assertNotSame(constants, refreshed);
+    assertEquals("Europe 2.0", refreshed.getRegions().get(0).getName());
+    assertEquals("Europe 2.0", new ConstantsSnapshot(getFile(), executor).get(source).getRegions().get(0).getName());
+  }
+
+  @Test
+  public void shouldIgnoreBrokenSnapshot() throws IOException {
+    com.google.common.io.Files.write(new byte[]{1, 2, 3}, getFile());
+    assertEquals("Europe 1.0", new ConstantsSnapshot(getFile(), executor).get(source).getRegions().get(0).getName());
+    assertEquals(2, calls.size());
+  }
+
+  @Test
+  public void shouldCheckAgainAfterFailedCheck() throws IOException {
+    new ConstantsSnapshot(getFile(), executor).get(source);
+    ConstantsSnapshot constantsSnapshot = new ConstantsSnapshot(getFile(), executor);
+    constantsSnapshot.get(new ConstantsSnapshot.Source() {
+      @Override
+      public String getVersion() throws IOException {
+        throw new IOException("down");
+      }
+
+      @Override
+      public Constants getConstants() throws IOException {
+        throw new IOException("down");
+      }
+    });
+    tasks.get(0).run();
+    constantsSnapshot.get(source);
+    assertEquals(2, tasks.size());
+  }
+
+}
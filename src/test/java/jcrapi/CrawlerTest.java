@@ -22,6 +22,7 @@ import static org.mockito.Matchers.argThat;
 import static org.mockito.Mockito.when;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.io.CharStreams;
 
 import org.apache.http.HttpResponse;
 import org.apache.http.ProtocolVersion;
@@ -37,6 +38,7 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Mockito;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -92,6 +94,18 @@ public class CrawlerTest {
     assertEquals(expectedResult, new Crawler(httpClientFactory).get("the-url", createHeaders()));
   }
 
+  @Test
+  public void shouldOpenAbc() throws IOException {
+    HttpResponse
+        httpResponse =
+        new BasicHttpResponse(new BasicStatusLine(new ProtocolVersion("http", 100, 1), 200, ""));
+    httpResponse.setEntity(new StringEntity("break-out-prison"));
+    when(httpClient.execute((HttpUriRequest) anyObject())).thenReturn(httpResponse);
+    try (Reader reader = new Crawler(httpClientFactory).open("the-url", createHeaders(), null)) {
+      assertEquals("break-out-prison", CharStreams.toString(reader));
+    }
+  }
+
   @Test
   public void shouldGetErrorStatus() throws IOException {
     String expectedResult = "break-out-prison";
@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jcrapi.model.Battle;
+import jcrapi.model.Clan;
+import jcrapi.model.Profile;
+import jcrapi.request.ClanRequest;
+import jcrapi.request.ProfileRequest;
+import jcrapi.request.Request;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class DerivationsTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final TagStore<Profile> profileStore = new TagStore<>(100, 1000, Tags.PROFILE_TAG, ticker);
+
+  private final TagStore<Clan> clanStore = new TagStore<>(100, 1000, Tags.CLAN_TAG, ticker);
+
+  private final Derivations derivations = new Derivations(profileStore, clanStore);
+
+  private final Request request = ProfileRequest.builder("A").build();
+
+  private final Gson gson = new Gson();
+
+  private int loads;
+
+  private final Coalescer.Loader<Profile> loader = new Coalescer.Loader<Profile>() {
+    @Override
+    public List<Profile> load(List<String> tags, Request request) throws IOException {
+      loads++;
+      List<Profile> profiles = new ArrayList<>();
+      for (String tag : tags) {
+        profiles.add(gson.fromJson("{\"tag\":\"#" + tag + "\",\"trophies\":1000,\"clan\":{\"tag\":\"#C\"}}",
+            Profile.class));
+      }
+      return profiles;
+    }
+  };
+
+  private Profile original;
+
+  @Before
+  public void setUp() throws IOException {
+    original = profileStore.get(Arrays.asList("A"), request, loader).get(0);
+  }
+
+  private Profile getProfile() throws IOException {
+    return profileStore.get(Arrays.asList("A"), request, loader).get(0);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullProfileStore() {
+    new Derivations(null, clanStore);
+  }
+
+  @Test
+  public void shouldPatchMembersOfClan() throws IOException {
+    Clan clan = gson.fromJson("{\"tag\":\"#D\",\"name\":\"dd\",\"members\":[{\"tag\":\"#a\",\"trophies\":1200,"
+        + "\"role\":\"elder\",\"donations\":50,\"arena\":{\"name\":\"Arena 9\"}},{\"tag\":\"#B\"}]}", Clan.class);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    derivations.onClan(clan, ClanRequest.builder("D").build(), System.currentTimeMillis() + 1);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    Profile profile = getProfile();
+    assertEquals(1, loads);
+    assertNotSame(original, profile);
+    assertEquals(1000, original.getTrophies());
+    assertEquals(1200, profile.getTrophies());
+    assertEquals("Arena 9", profile.getArena().getName());
+    assertEquals("#D", profile.getClan().getTag());
+    assertEquals("dd", profile.getClan().getName());
+    assertEquals("elder", profile.getClan().getRole());
+    assertEquals(50, profile.getClan().getDonations());
+    assertEquals(1, profileStore.size());
+    assertEquals(1, clanStore.size());
+  }
+
+  @Test
+  public void shouldPatchPlayersOfLatestBattle() throws IOException {
+    long now = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
+    List<Battle> battles = gson.fromJson("[{\"utcTime\":" + (now + 2) + ",\"team\":[{\"tag\":\"#A\","
+        + "\"startTrophies\":1100,\"trophyChange\":30,\"deck\":[{\"name\":\"Knight\",\"level\":9}]}],"
+        + "\"opponent\":[{\"tag\":\"#B\"}]},{\"utcTime\":" + (now + 1) + ",\"team\":[{\"tag\":\"#A\","
+        + "\"startTrophies\":1070,\"trophyChange\":30,\"clan\":{\"tag\":\"#C\"}}]}]",
+        new TypeToken<List<Battle>>() { }.getType());
+    derivations.onBattles(battles);
+    Profile profile = getProfile();
+    assertEquals(1130, profile.getTrophies());
+    assertNull(profile.getClan());
+    assertEquals("Knight", profile.getCurrentDeck().get(0).getName());
+    assertEquals(9, profile.getCurrentDeck().get(0).getLevel());
+    assertEquals(1000, original.getTrophies());
+  }
+
+  @Test
+  public void shouldNotPatchProfileStoredAfterBattle() throws IOException {
+    long dayAgo = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()) - TimeUnit.DAYS.toSeconds(1);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    derivations.onBattles(gson.<List<Battle>>fromJson("[{\"utcTime\":" + dayAgo + ",\"team\":[{\"tag\":\"#A\","
+        + "\"startTrophies\":900,\"trophyChange\":-30}]}]", new TypeToken<List<Battle>>() { }.getType()));
+    assertSame(original, getProfile());
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    assertEquals(1000, getProfile().getTrophies());
+    assertEquals(2, loads);
+  }
+
+  @Test
+  public void shouldNotPatchProfileStoredAfterClanCall() throws IOException {
+    Clan clan = gson.fromJson("{\"tag\":\"#D\",\"members\":[{\"tag\":\"#A\",\"trophies\":1200}]}", Clan.class);
+    derivations.onClan(clan, null, System.currentTimeMillis() - 1000);
+    assertSame(original, getProfile());
+  }
+
+  @Test
+  public void shouldKeepClanOfSameTag() throws IOException {
+    derivations.onBattles(gson.<List<Battle>>fromJson("[{\"team\":[{\"tag\":\"#A\",\"clan\":{\"tag\":\"#c\"}}]}]",
+        new TypeToken<List<Battle>>() { }.getType()));
+    assertEquals(original.getClan(), getProfile().getClan());
+    assertEquals(1000, getProfile().getTrophies());
+  }
+
+  @Test
+  public void shouldIgnoreMissingData() {
+    derivations.onClan(null, null, 0);
+    derivations.onClan(new Clan(), null, 0);
+    derivations.onBattles(null);
+    assertEquals(0, clanStore.size());
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Charsets;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class DictionaryCompressorTest {
+
+  private static final String[] CARDS = {"Knight", "Archers", "Goblins", "Giant", "P.E.K.K.A", "Minions", "Balloon",
+      "Witch", "Barbarians", "Golem", "Skeletons", "Valkyrie"};
+
+  static String createProfile(int i) {
+    StringBuilder s = new StringBuilder("{\"tag\":\"" + Integer.toString(i * 7919, 36).toUpperCase()
+        + "\",\"name\":\"player" + i + "\",\"trophies\":" + (3000 + i * 13 % 2000)
+        + ",\"arena\":{\"name\":\"Arena " + i % 12 + "\",\"arena\":\"League " + i % 4 + "\"},\"currentDeck\":[");
+    for (int c = 0; c < 8; c++) {
+      String card = CARDS[(i + c * 5) % CARDS.length];
+      s.append(c > 0 ? "," : "").append("{\"name\":\"").append(card).append("\",\"level\":").append(1 + (i + c) % 13)
+          .append(",\"maxLevel\":13,\"icon\":\"https://royaleapi.github.io/cr-api-assets/cards-150/")
+          .append(card.toLowerCase()).append(".png\",\"key\":\"").append(card.toLowerCase())
+          .append("\",\"elixir\":").append(2 + c % 5).append(",\"type\":\"Troop\",\"rarity\":\"Common\"}");
+    }
+    return s.append("]}").toString();
+  }
+
+  private static List<String> createProfiles(int from, int count) {
+    List<String> profiles = new ArrayList<>();
+    for (int i = from; i < from + count; i++) {
+      profiles.add(createProfile(i));
+    }
+    return profiles;
+  }
+
+  private static int deflate(byte[] bytes) {
+    Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    deflater.setInput(bytes);
+    deflater.finish();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    while (!deflater.finished()) {
+      out.write(buffer, 0, deflater.deflate(buffer));
+    }
+    deflater.end();
+    return out.size();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseEmptyDictionary() {
+    new DictionaryCompressor(new byte[0]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseTooLargeDictionary() {
+    new DictionaryCompressor(new byte[DictionaryCompressor.MAX_DICTIONARY_SIZE + 1]);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failTrainBecauseNoSize() {
+    DictionaryCompressor.train(createProfiles(0, 10), 0);
+  }
+
+  @Test
+  public void shouldRoundTrip() throws DataFormatException {
+    DictionaryCompressor compressor = DictionaryCompressor.train(createProfiles(0, 64), 8192);
+    for (String profile : createProfiles(1000, 10)) {
+      byte[] bytes = profile.getBytes(Charsets.UTF_8);
+      byte[] compressed = compressor.compress(bytes);
+      assertArrayEquals(bytes, compressor.decompress(compressed, 0, compressed.length, bytes.length));
+    }
+  }
+
+  @Test
+  public void shouldCompressBetterThanWithoutDictionary() {
+    DictionaryCompressor compressor = DictionaryCompressor.train(createProfiles(0, 64), 8192);
+    int withDictionary = 0;
+    int withoutDictionary = 0;
+    for (String profile : createProfiles(1000, 50)) {
+      byte[] bytes = profile.getBytes(Charsets.UTF_8);
+      withDictionary += compressor.compress(bytes).length;
+      withoutDictionary += deflate(bytes);
+    }
+    assertTrue(withDictionary + " vs " + withoutDictionary, withDictionary * 2 < withoutDictionary);
+  }
+
+  @Test
+  public void shouldTrainWithinSize() {
+    assertTrue(DictionaryCompressor.train(createProfiles(0, 64), 1000).getDictionary().length <= 1000);
+  }
+
+  @Test
+  public void shouldTrainWithoutCommonSegments() throws DataFormatException {
+    DictionaryCompressor compressor = DictionaryCompressor.train(Arrays.asList("a", "b"), 100);
+    byte[] compressed = compressor.compress(new byte[] {'x'});
+    assertEquals("x", new String(compressor.decompress(compressed, 0, compressed.length, 1), Charsets.UTF_8));
+  }
+
+  @Test
+  public void shouldHaveIdOfDictionary() {
+    assertEquals(new DictionaryCompressor(new byte[] {1, 2}).getId(), new DictionaryCompressor(new byte[] {1, 2})
+        .getId());
+    assertNotEquals(new DictionaryCompressor(new byte[] {1, 2}).getId(), new DictionaryCompressor(new byte[] {2, 1})
+        .getId());
+  }
+
+}
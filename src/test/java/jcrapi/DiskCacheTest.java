@@ -0,0 +1,250 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.ClosedChannelException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class DiskCacheTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final Clock clock = Clock.fixed(Instant.ofEpochMilli(1000000), ZoneOffset.UTC);
+
+  private DiskCache createDiskCache(File directory, Clock clock) throws IOException {
+    return new DiskCache(directory, 4 * 1024, 64, clock);
+  }
+
+  private DiskCache createCompressingDiskCache(Executor executor) throws IOException {
+    return new DiskCache(temporaryFolder.getRoot(), 4 * 1024 * 1024, 1024, true, executor, clock);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullDirectory() throws IOException {
+    new DiskCache(null, 4 * 1024, 64);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseTooFewSlots() throws IOException {
+    new DiskCache(temporaryFolder.getRoot(), 4 * 1024, 1);
+  }
+
+  @Test
+  public void shouldGetPutValue() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    diskCache.put("a", "{\"tag\":\"A\"}", 1000);
+    diskCache.put("b", "äöü", 1000);
+    assertEquals("{\"tag\":\"A\"}", diskCache.get("a"));
+    assertEquals("äöü", diskCache.get("b"));
+    assertNull(diskCache.get("c"));
+  }
+
+  @Test
+  public void shouldOverwriteValue() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    diskCache.put("a", "x", 1000);
+    diskCache.put("a", "y", 1000);
+    assertEquals("y", diskCache.get("a"));
+  }
+
+  @Test
+  public void shouldExpireValue() throws IOException {
+    createDiskCache(temporaryFolder.getRoot(), clock).put("a", "x", 1000);
+    assertEquals("x", createDiskCache(temporaryFolder.getRoot(), Clock.offset(clock, Duration.ofMillis(999)))
+        .get("a"));
+    assertNull(createDiskCache(temporaryFolder.getRoot(), Clock.offset(clock, Duration.ofMillis(1000))).get("a"));
+  }
+
+  @Test
+  public void shouldShareValuesBetweenInstances() throws IOException {
+    DiskCache writer = createDiskCache(temporaryFolder.getRoot(), clock);
+    DiskCache reader = createDiskCache(temporaryFolder.getRoot(), clock);
+    writer.put("a", "x", 1000);
+    assertEquals("x", reader.get("a"));
+    reader.put("b", "y", 1000);
+    assertEquals("y", writer.get("b"));
+  }
+
+  @Test
+  public void shouldDropOldestSegmentWhenFull() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    String value = "0123456789012345678901234567890123456789012345678901234567890123456789";
+    for (int i = 0; i < 60; i++) {
+      diskCache.put("key" + i, value, 1000);
+    }
+    assertNull(diskCache.get("key0"));
+    assertEquals(value, diskCache.get("key59"));
+  }
+
+  @Test
+  public void shouldNotStoreValueLargerThanSegment() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    diskCache.put("a", new String(new char[2000]), 1000);
+    assertNull(diskCache.get("a"));
+  }
+
+  @Test
+  public void shouldMissTornRecord() throws IOException {
+    createDiskCache(temporaryFolder.getRoot(), clock).put("a", "xyz", 1000);
+    try (RandomAccessFile file = new RandomAccessFile(new File(temporaryFolder.getRoot(), "segment-0"), "rw")) {
+      file.seek(10);
+      file.write(0x7f);
+    }
+    assertNull(createDiskCache(temporaryFolder.getRoot(), clock).get("a"));
+  }
+
+  @Test
+  public void shouldClearOnChangedLayout() throws IOException {
+    createDiskCache(temporaryFolder.getRoot(), clock).put("a", "x", 1000);
+    assertNull(new DiskCache(temporaryFolder.getRoot(), 4 * 1024, 128, clock).get("a"));
+  }
+
+  @Test
+  public void shouldMissAfterClose() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    diskCache.put("a", "x", 1000);
+    diskCache.close();
+    assertNull(diskCache.get("a"));
+    assertEquals("x", createDiskCache(temporaryFolder.getRoot(), clock).get("a"));
+  }
+
+  @Test(expected = ClosedChannelException.class)
+  public void failPutBecauseClosed() throws IOException {
+    DiskCache diskCache = createDiskCache(temporaryFolder.getRoot(), clock);
+    diskCache.close();
+    diskCache.put("a", "x", 1000);
+  }
+
+  @Test
+  public void shouldCompressAfterTrainingDictionary() throws IOException {
+    DiskCache diskCache = createCompressingDiskCache(MoreExecutors.directExecutor());
+    for (int i = 0; i < 100; i++) {
+      diskCache.put("key" + i, DictionaryCompressorTest.createProfile(i), 1000);
+    }
+    File[] dictionaries = temporaryFolder.getRoot().listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.startsWith("dictionary-");
+      }
+    });
+    assertEquals(1, dictionaries.length);
+    long plainSize = 0;
+    for (int i = 0; i < 100; i++) {
+      assertEquals(DictionaryCompressorTest.createProfile(i), diskCache.get("key" + i));
+      plainSize += DictionaryCompressorTest.createProfile(i).length();
+    }
+    long segmentSize = 0;
+    try (RandomAccessFile file = new RandomAccessFile(new File(temporaryFolder.getRoot(), "index"), "r")) {
+      file.seek(16);
+      segmentSize = file.readLong();
+    }
+    assertTrue(segmentSize < plainSize * 3 / 4);
+  }
+
+  @Test
+  public void shouldWritePlainWhileTrainingDictionary() throws IOException {
+    final List<Runnable> tasks = new ArrayList<>();
+    DiskCache diskCache = createCompressingDiskCache(new Executor() {
+      @Override
+      public void execute(Runnable runnable) {
+        tasks.add(runnable);
+      }
+    });
+    for (int i = 0; i < 100; i++) {
+      diskCache.put("key" + i, DictionaryCompressorTest.createProfile(i), 1000);
+    }
+    assertEquals(1, tasks.size());
+    long plainSize = getWritePosition();
+    assertEquals(0, getDictionaries().length);
+    tasks.get(0).run();
+    assertEquals(1, getDictionaries().length);
+    diskCache.put("key100", DictionaryCompressorTest.createProfile(100), 1000);
+    assertTrue(getWritePosition() - plainSize < DictionaryCompressorTest.createProfile(100).length() * 3 / 4);
+    assertEquals(DictionaryCompressorTest.createProfile(100), diskCache.get("key100"));
+    assertEquals(DictionaryCompressorTest.createProfile(0), diskCache.get("key0"));
+  }
+
+  private File[] getDictionaries() {
+    return temporaryFolder.getRoot().listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.startsWith("dictionary-");
+      }
+    });
+  }
+
+  private long getWritePosition() throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(new File(temporaryFolder.getRoot(), "index"), "r")) {
+      file.seek(16);
+      return file.readLong();
+    }
+  }
+
+  @Test
+  public void shouldReadCompressedRecordsInOtherInstance() throws IOException {
+    DiskCache diskCache = createCompressingDiskCache(MoreExecutors.directExecutor());
+    for (int i = 0; i < 100; i++) {
+      diskCache.put("key" + i, DictionaryCompressorTest.createProfile(i), 1000);
+    }
+    DiskCache other = new DiskCache(temporaryFolder.getRoot(), 4 * 1024 * 1024, 1024, clock);
+    assertEquals(DictionaryCompressorTest.createProfile(99), other.get("key99"));
+    assertEquals(DictionaryCompressorTest.createProfile(0), other.get("key0"));
+  }
+
+  @Test
+  public void shouldMissRecordOfLostDictionary() throws IOException {
+    DiskCache diskCache = createCompressingDiskCache(MoreExecutors.directExecutor());
+    for (int i = 0; i < 100; i++) {
+      diskCache.put("key" + i, DictionaryCompressorTest.createProfile(i), 1000);
+    }
+    for (File file : temporaryFolder.getRoot().listFiles()) {
+      if (file.getName().startsWith("dictionary-")) {
+        assertTrue(file.delete());
+      }
+    }
+    DiskCache other = createCompressingDiskCache(MoreExecutors.directExecutor());
+    assertNull(other.get("key99"));
+    assertEquals(DictionaryCompressorTest.createProfile(0), other.get("key0"));
+    other.put("new", "value", 1000);
+    assertEquals("value", other.get("new"));
+  }
+
+}
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class EndpointTemplateTest {
+
+  @Test
+  public void shouldReplaceTag() {
+    assertEquals("player/{}", EndpointTemplate.of("player/2PGGCJJL"));
+  }
+
+  @Test
+  public void shouldReplaceMultipleTags() {
+    assertEquals("player/{}/battles", EndpointTemplate.of("player/2PGGCJJL,8L9L9GL/battles"));
+  }
+
+  @Test
+  public void shouldReplaceLocationKey() {
+    assertEquals("top/players/{}", EndpointTemplate.of("top/players/EU"));
+  }
+
+  @Test
+  public void shouldKeepLiterals() {
+    assertEquals("clan/search", EndpointTemplate.of("clan/search"));
+    assertEquals("tournaments/1k", EndpointTemplate.of("tournaments/1k"));
+  }
+
+}
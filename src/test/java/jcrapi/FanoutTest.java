@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.Sets;
+
+import org.apache.http.HttpVersion;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class FanoutTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroParallelism() {
+    new Fanout(0, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNegativeRetries() {
+    new Fanout(1, -1);
+  }
+
+  @Test
+  public void shouldKeepInputOrder() throws IOException {
+    List<Integer> result = new Fanout(4, 0).map(Arrays.asList(5, 4, 3, 2, 1), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        sleep(input * 10);
+        return input * 2;
+      }
+    });
+    assertEquals(Arrays.asList(10, 8, 6, 4, 2), result);
+  }
+
+  private void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Test
+  public void shouldRunInParallel() throws IOException {
+    final CountDownLatch latch = new CountDownLatch(3);
+    final Set<String> threads = Collections.synchronizedSet(Sets.<String>newHashSet());
+    new Fanout(3, 0).map(Arrays.asList(1, 2, 3), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        threads.add(Thread.currentThread().getName());
+        latch.countDown();
+        try {
+          assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        return input;
+      }
+    });
+    assertEquals(3, threads.size());
+  }
+
+  @Test
+  public void shouldRetryFailedCallOnItsOwn() throws IOException {
+    final AtomicInteger calls = new AtomicInteger();
+    List<Integer> result = new Fanout(1, 2, 1).map(Arrays.asList(1, 2), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        calls.incrementAndGet();
+        if (input == 2 && calls.get() < 4) {
+          throw new IOException("timeout");
+        }
+        return input;
+      }
+    });
+    assertEquals(Arrays.asList(1, 2), result);
+    assertEquals(4, calls.get());
+  }
+
+  @Test(expected = CrawlerException.class)
+  public void failWithoutRetryOnClientError() throws IOException {
+    final AtomicInteger calls = new AtomicInteger();
+    try {
+      new Fanout(1, 2).map(Arrays.asList(1), new Fanout.Call<Integer, Integer>() {
+        @Override
+        public Integer call(Integer input) throws IOException {
+          calls.incrementAndGet();
+          throw new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 404, "Not Found"));
+        }
+      });
+    } finally {
+      assertEquals(1, calls.get());
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void failAfterRetries() throws IOException {
+    new Fanout(2, 1, 1).map(Arrays.asList(1, 2), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        throw new IOException("down");
+      }
+    });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNegativeBackoff() {
+    new Fanout(1, 1, -1);
+  }
+
+  @Test
+  public void shouldBackOffBeforeRetry() throws IOException {
+    final AtomicInteger calls = new AtomicInteger();
+    long start = System.currentTimeMillis();
+    new Fanout(1, 2, 100).map(Arrays.asList(1), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        if (calls.incrementAndGet() < 3) {
+          throw new CrawlerException(new BasicStatusLine(HttpVersion.HTTP_1_1, 429, "Too Many Requests"));
+        }
+        return input;
+      }
+    });
+    assertEquals(3, calls.get());
+    assertTrue(System.currentTimeMillis() - start >= 300);
+  }
+
+  @Test(expected = StackOverflowError.class)
+  public void failBecauseCallThrewError() throws IOException {
+    new Fanout(2, 0).map(Arrays.asList(1, 2, 3), new Fanout.Call<Integer, Integer>() {
+      @Override
+      public Integer call(Integer input) throws IOException {
+        if (input == 2) {
+          throw new StackOverflowError();
+        }
+        return input;
+      }
+    });
+  }
+
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class FileLeaseCoordinatorTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullFile() throws IOException {
+    new FileLeaseCoordinator(null, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroRate() throws IOException {
+    new FileLeaseCoordinator(temporaryFolder.newFile(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failLeaseBecauseNothingWanted() throws IOException {
+    new FileLeaseCoordinator(temporaryFolder.newFile(), 1).lease(0);
+  }
+
+  @Test
+  public void shouldGrantUpToCapacity() throws IOException {
+    FileLeaseCoordinator fileLeaseCoordinator = new FileLeaseCoordinator(temporaryFolder.newFile(), 2);
+    assertEquals(2, fileLeaseCoordinator.lease(5));
+    assertEquals(0, fileLeaseCoordinator.lease(1));
+  }
+
+  @Test
+  public void shouldShareBucketBetweenCoordinatorsOfSameFile() throws IOException {
+    File file = temporaryFolder.newFile();
+    FileLeaseCoordinator first = new FileLeaseCoordinator(file, 2);
+    FileLeaseCoordinator second = new FileLeaseCoordinator(file, 2);
+    assertEquals(1, first.lease(1));
+    assertEquals(1, second.lease(5));
+    assertEquals(0, first.lease(1));
+  }
+
+  @Test
+  public void shouldRefill() throws Exception {
+    FileLeaseCoordinator fileLeaseCoordinator = new FileLeaseCoordinator(temporaryFolder.newFile(), 20);
+    assertEquals(20, fileLeaseCoordinator.lease(20));
+    Thread.sleep(200);
+    assertEquals(3, fileLeaseCoordinator.lease(3));
+  }
+
+  @Test(expected = ClosedChannelException.class)
+  public void failLeaseBecauseClosed() throws IOException {
+    FileLeaseCoordinator fileLeaseCoordinator = new FileLeaseCoordinator(temporaryFolder.newFile(), 2);
+    fileLeaseCoordinator.close();
+    fileLeaseCoordinator.lease(1);
+  }
+
+  @Test
+  public void shouldGetMillisPerPermit() throws IOException {
+    assertEquals(200, new FileLeaseCoordinator(temporaryFolder.newFile(), 5).getMillisPerPermit());
+  }
+
+}
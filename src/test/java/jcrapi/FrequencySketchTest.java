@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class FrequencySketchTest {
+
+  private final FrequencySketch frequencySketch = new FrequencySketch(16);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoSize() {
+    new FrequencySketch(0);
+  }
+
+  @Test
+  public void shouldCountAccesses() {
+    for (int i = 0; i < 5; i++) {
+      frequencySketch.increment("a");
+    }
+    frequencySketch.increment("b");
+    assertTrue(frequencySketch.frequency("a") >= 5);
+    assertTrue(frequencySketch.frequency("a") > frequencySketch.frequency("b"));
+  }
+
+  @Test
+  public void shouldLimitCount() {
+    for (int i = 0; i < 20; i++) {
+      frequencySketch.increment("a");
+    }
+    assertEquals(15, frequencySketch.frequency("a"));
+  }
+
+  @Test
+  public void shouldAgeCounts() {
+    for (int i = 0; i < 15; i++) {
+      frequencySketch.increment("a");
+    }
+    for (int i = 0; i < 160; i++) {
+      frequencySketch.increment("key" + i);
+    }
+    assertTrue(frequencySketch.frequency("a") < 15);
+  }
+
+}
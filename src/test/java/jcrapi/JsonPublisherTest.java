@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import jcrapi.model.Profile;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class JsonPublisherTest {
+
+  private final Map<String, String> answers = new HashMap<>();
+
+  private final List<String> opened = new ArrayList<>();
+
+  private boolean closed;
+
+  private final JsonPublisher.Opener opener = new JsonPublisher.Opener() {
+    @Override
+    public Reader open(String url) throws IOException {
+      opened.add(url);
+      String answer = answers.get(url);
+      if (answer == null) {
+        throw new IOException("no answer for " + url);
+      }
+      return new StringReader(answer) {
+        @Override
+        public void close() {
+          closed = true;
+          super.close();
+        }
+      };
+    }
+  };
+
+  private JsonPublisher<Profile> createPublisher(JsonPublisher.Source... sources) {
+    return new JsonPublisher<>(Arrays.asList(sources), Profile.class, new Gson(), opener,
+        MoreExecutors.directExecutor());
+  }
+
+  private JsonPublisher.Source createSource(String url) {
+    return new JsonPublisher.Source(url, false);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullOpener() {
+    new JsonPublisher<>(new ArrayList<JsonPublisher.Source>(), Profile.class, new Gson(), null,
+        MoreExecutors.directExecutor());
+  }
+
+  @Test
+  public void shouldPublishOnlyRequestedElements() {
+    answers.put("a", "[{\"tag\":\"A\"},{\"tag\":\"B\"},{\"tag\":\"C\"}]");
+    TestSubscriber subscriber = new TestSubscriber();
+    createPublisher(createSource("a")).subscribe(subscriber);
+    assertTrue(opened.isEmpty());
+    subscriber.subscription.request(2);
+    assertEquals(Arrays.asList("A", "B"), subscriber.tags);
+    assertFalse(subscriber.completed);
+    subscriber.subscription.request(1);
+    assertEquals(Arrays.asList("A", "B", "C"), subscriber.tags);
+    assertTrue(subscriber.completed);
+    assertTrue(closed);
+  }
+
+  @Test
+  public void shouldPublishAllSources() {
+    answers.put("a", "[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    answers.put("b", "{\"tag\":\"C\"}");
+    answers.put("c", "[]");
+    TestSubscriber subscriber = new TestSubscriber();
+    createPublisher(createSource("a"), createSource("b"), createSource("c")).subscribe(subscriber);
+    subscriber.subscription.request(Long.MAX_VALUE);
+    assertEquals(Arrays.asList("A", "B", "C"), subscriber.tags);
+    assertTrue(subscriber.completed);
+  }
+
+  @Test
+  public void shouldPublishWholeAnswerAsOneElement() {
+    answers.put("a", "[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    Type type = new TypeToken<List<Profile>>() {
+    }.getType();
+    final List<List<Profile>> lists = new ArrayList<>();
+    new JsonPublisher<List<Profile>>(Arrays.asList(new JsonPublisher.Source("a", true)), type, new Gson(), opener,
+        MoreExecutors.directExecutor()).subscribe(new Subscriber<List<Profile>>() {
+          @Override
+          public void onSubscribe(Subscription subscription) {
+            subscription.request(5);
+          }
+
+          @Override
+          public void onNext(List<Profile> profiles) {
+            lists.add(profiles);
+          }
+
+          @Override
+          public void onError(Throwable throwable) {
+          }
+
+          @Override
+          public void onComplete() {
+          }
+        });
+    assertEquals(1, lists.size());
+    assertEquals(2, lists.get(0).size());
+  }
+
+  @Test
+  public void shouldStopOnCancel() {
+    answers.put("a", "[{\"tag\":\"A\"},{\"tag\":\"B\"}]");
+    TestSubscriber subscriber = new TestSubscriber();
+    createPublisher(createSource("a")).subscribe(subscriber);
+    subscriber.subscription.request(1);
+    subscriber.subscription.cancel();
+    subscriber.subscription.request(1);
+    assertEquals(Arrays.asList("A"), subscriber.tags);
+    assertFalse(subscriber.completed);
+    assertTrue(closed);
+  }
+
+  @Test
+  public void shouldSignalFailureOfSource() {
+    TestSubscriber subscriber = new TestSubscriber();
+    createPublisher(createSource("missing")).subscribe(subscriber);
+    subscriber.subscription.request(1);
+    assertTrue(subscriber.error instanceof IOException);
+  }
+
+  @Test
+  public void shouldSignalNonPositiveRequest() {
+    TestSubscriber subscriber = new TestSubscriber();
+    createPublisher(createSource("a")).subscribe(subscriber);
+    subscriber.subscription.request(0);
+    assertTrue(subscriber.error instanceof IllegalArgumentException);
+  }
+
+  private static class TestSubscriber implements Subscriber<Profile> {
+
+    private Subscription subscription;
+    private final List<String> tags = new ArrayList<>();
+    private Throwable error;
+    private boolean completed;
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(Profile profile) {
+      tags.add(profile.getTag());
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+
+  }
+
+}
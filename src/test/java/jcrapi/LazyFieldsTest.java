@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.base.Defaults;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import jcrapi.model.Clan;
+import jcrapi.model.ModelTypeAdapterFactory;
+import jcrapi.model.Profile;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class LazyFieldsTest {
+
+  private static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+      .create();
+
+  @Test
+  public void shouldIndexTopLevelFields() {
+    String json = " { \"a\" : 1, \"b\":{\"c\":[1,\"}\"]}, \"d\\\"e\":\"x\\\"y\",\"f\":null } ";
+    Map<String, Integer> positions = LazyFields.index(json);
+    assertEquals(4, positions.size());
+    assertEquals(json.indexOf('1'), (int) positions.get("a"));
+    assertEquals(json.indexOf("{\"c\""), (int) positions.get("b"));
+    assertEquals(json.indexOf("\"x"), (int) positions.get("d\"e"));
+    assertEquals(json.indexOf("null"), (int) positions.get("f"));
+  }
+
+  @Test
+  public void shouldIndexEmptyObject() {
+    assertTrue(LazyFields.index("{ }").isEmpty());
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void failIndexBecauseNoObject() {
+    LazyFields.index("[1,2]");
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void failIndexBecauseTruncated() {
+    LazyFields.index("{\"a\":\"b");
+  }
+
+  @Test
+  public void shouldClaimOnce() {
+    LazyFields fields = new LazyFields(GSON, "{\"a\":4711,\"b\":\"x\"}");
+    assertEquals(4711, (int) fields.claim("a", Integer.class, 0));
+    assertEquals(815, (int) fields.claim("a", Integer.class, 815));
+    assertEquals(1, fields.getPendingCount());
+  }
+
+  @Test
+  public void shouldReturnDefaultForMissingAndNull() {
+    LazyFields fields = new LazyFields(GSON, "{\"a\":null}");
+    assertEquals(815, (int) fields.claim("a", Integer.class, 815));
+    assertNull(fields.claim("b", String.class, null));
+  }
+
+  @Test
+  public void shouldReleaseAnswerOnceAllFieldsClaimed() {
+    LazyFields fields = new LazyFields(GSON, "{\"a\":1,\"b\":2}");
+    fields.claim("a", Integer.class, 0);
+    assertFalse(fields.isReleased());
+    fields.release("b");
+    assertTrue(fields.isReleased());
+  }
+
+  @Test
+  public void shouldDecodeLikeEagerProfile() throws Exception {
+    String json = readFile("profile.json");
+    LazyProfile profile = new LazyProfile(new LazyFields(GSON, json));
+    assertEquals(GSON.fromJson(json, Profile.class).getTrophies(), profile.getTrophies());
+    assertEquals(GSON.toJson(GSON.fromJson(json, Profile.class)), GSON.toJson(profile, Profile.class));
+  }
+
+  @Test
+  public void shouldDecodeLikeEagerClan() throws Exception {
+    String json = readFile("clan.json");
+    LazyClan clan = new LazyClan(new LazyFields(GSON, json));
+    assertEquals(GSON.toJson(GSON.fromJson(json, Clan.class)), GSON.toJson(clan, Clan.class));
+  }
+
+  @Test
+  public void shouldDecodeTouchedFieldsOnly() throws Exception {
+    LazyFields fields = new LazyFields(GSON, readFile("profile.json"));
+    int count = fields.getPendingCount();
+    LazyProfile profile = new LazyProfile(fields);
+    profile.getName();
+    profile.getName();
+    profile.getTrophies();
+    assertEquals(count - 2, fields.getPendingCount());
+  }
+
+  @Test
+  public void shouldPreferSetter() {
+    LazyProfile profile = new LazyProfile(new LazyFields(GSON, "{\"name\":\"old\"}"));
+    profile.setName("new");
+    assertEquals("new", profile.getName());
+  }
+
+  @Test
+  public void shouldClaimEveryFieldOfProfile() throws Exception {
+    assertClaimEveryField(Profile.class, LazyProfile.class);
+  }
+
+  @Test
+  public void shouldClaimEveryFieldOfClan() throws Exception {
+    assertClaimEveryField(Clan.class, LazyClan.class);
+  }
+
+  private static void assertClaimEveryField(Class<?> modelClass, Class<?> lazyClass) throws Exception {
+    Constructor<?> constructor = lazyClass.getDeclaredConstructor(LazyFields.class);
+    for (Field field : modelClass.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || field.isSynthetic()) {
+        continue;
+      }
+      String name = field.getName();
+      String suffix = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+      LazyFields fields = new LazyFields(GSON, "{\"" + name + "\":null}");
+      lazyClass.getDeclaredMethod((field.getType() == boolean.class ? "is" : "get") + suffix)
+          .invoke(constructor.newInstance(fields));
+      assertEquals(name, 0, fields.getPendingCount());
+      fields = new LazyFields(GSON, "{\"" + name + "\":null}");
+      lazyClass.getDeclaredMethod("set" + suffix, field.getType())
+          .invoke(constructor.newInstance(fields), Defaults.defaultValue(field.getType()));
+      assertEquals(name, 0, fields.getPendingCount());
+    }
+  }
+
+  private static String readFile(String filename) throws Exception {
+    return FileUtils.readFileToString(new File("src/test/java/jcrapi/" + filename));
+  }
+
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class LeasedThrottleTest {
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private FileLeaseCoordinator fileLeaseCoordinator;
+
+  private TestTicker ticker;
+
+  @Before
+  public void setUp() {
+    fileLeaseCoordinator = mock(FileLeaseCoordinator.class);
+    ticker = new TestTicker();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullCoordinator() {
+    new LeasedThrottle(null, 1, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroLeaseSize() {
+    new LeasedThrottle(fileLeaseCoordinator, 0, 1);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroLeaseMillis() {
+    new LeasedThrottle(fileLeaseCoordinator, 1, 0);
+  }
+
+  @Test
+  public void shouldSpendLeaseLocally() throws IOException {
+    when(fileLeaseCoordinator.lease(3)).thenReturn(3);
+    LeasedThrottle leasedThrottle = new LeasedThrottle(fileLeaseCoordinator, 3, 1000, ticker);
+    assertTrue(leasedThrottle.tryAcquire());
+    assertTrue(leasedThrottle.tryAcquire());
+    assertTrue(leasedThrottle.tryAcquire());
+    verify(fileLeaseCoordinator, times(1)).lease(3);
+  }
+
+  @Test
+  public void shouldDropExpiredLease() throws IOException {
+    when(fileLeaseCoordinator.lease(3)).thenReturn(3, 0);
+    LeasedThrottle leasedThrottle = new LeasedThrottle(fileLeaseCoordinator, 3, 1000, ticker);
+    assertTrue(leasedThrottle.tryAcquire());
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertFalse(leasedThrottle.tryAcquire());
+  }
+
+  @Test
+  public void shouldWaitForNextLease() throws IOException {
+    when(fileLeaseCoordinator.lease(1)).thenReturn(0, 0, 1);
+    when(fileLeaseCoordinator.getMillisPerPermit()).thenReturn(1L);
+    new LeasedThrottle(fileLeaseCoordinator, 1, 1000, ticker).acquire();
+    verify(fileLeaseCoordinator, times(3)).lease(1);
+  }
+
+  @Test
+  public void shouldNotHoldThrottleWhileWaiting() throws Exception {
+    when(fileLeaseCoordinator.lease(1)).thenReturn(0);
+    when(fileLeaseCoordinator.getMillisPerPermit()).thenReturn(60000L);
+    final LeasedThrottle leasedThrottle = new LeasedThrottle(fileLeaseCoordinator, 1, 1000, ticker);
+    Thread waiting = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          leasedThrottle.acquire();
+        } catch (IOException e) {
+          // interrupted below
+        }
+      }
+    });
+    waiting.start();
+    verify(fileLeaseCoordinator, timeout(5000)).lease(1);
+    long start = System.currentTimeMillis();
+    assertFalse(leasedThrottle.tryAcquire());
+    assertTrue(System.currentTimeMillis() - start < 5000);
+    waiting.interrupt();
+    waiting.join();
+  }
+
+  @Test
+  public void shouldShareRateLimitBetweenJvms() throws Exception {
+    File file = temporaryFolder.newFile();
+    List<Process> processes = new ArrayList<>();
+    long start = System.currentTimeMillis();
+    for (int i = 0; i < 3; i++) {
+      processes.add(new ProcessBuilder(new File(System.getProperty("java.home"), "bin/java").getPath(),
+          "-cp", System.getProperty("java.class.path"), TestLeaseNode.class.getName(), file.getPath(), "10", "15")
+          .redirectErrorStream(true)
+          .start());
+    }
+    for (Process process : processes) {
+      BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()));
+      assertEquals("15", reader.readLine());
+      assertEquals(0, process.waitFor());
+    }
+    assertTrue(System.currentTimeMillis() - start >= 3000);
+  }
+
+}
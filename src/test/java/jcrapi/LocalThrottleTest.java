@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class LocalThrottleTest {
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroRate() {
+    new LocalThrottle(0);
+  }
+
+  @Test
+  public void shouldAcquire() {
+    LocalThrottle localThrottle = new LocalThrottle(1000);
+    localThrottle.acquire();
+    localThrottle.acquire();
+  }
+
+  @Test
+  public void shouldTryAcquire() {
+    assertTrue(new LocalThrottle(1).tryAcquire());
+  }
+
+}
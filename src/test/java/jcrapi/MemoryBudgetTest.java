@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class MemoryBudgetTest {
+
+  private final ResponseCache responseCache = new ResponseCache(100, 10000, 60000, ImmutableMap.<String, Long>of(),
+      new TestTicker());
+
+  private final MemoryBudget memoryBudget = new MemoryBudget(1000, responseCache);
+
+  private static Response createResponse(int length) {
+    Response response = new Response();
+    response.setRaw(new String(new char[length]));
+    return response;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoBytes() {
+    new MemoryBudget(0, null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failAcquireBecauseNegativeBytes() throws Exception {
+    memoryBudget.acquire(-1);
+  }
+
+  @Test
+  public void shouldWeighStrings() {
+    assertEquals(0, MemoryBudget.weigh(null));
+    assertEquals(6, MemoryBudget.weigh("abc"));
+  }
+
+  @Test
+  public void shouldAccountInFlightBytes() throws Exception {
+    memoryBudget.acquire(300);
+    memoryBudget.acquire(200);
+    assertEquals(500, memoryBudget.getUsage().getInFlightBytes());
+    memoryBudget.release(300);
+    assertEquals(200, memoryBudget.getUsage().getInFlightBytes());
+    assertEquals(1000, memoryBudget.getUsage().getMaximumBytes());
+  }
+
+  @Test
+  public void shouldAccountRawBodies() {
+    Response response = createResponse(100);
+    memoryBudget.retain(response);
+    memoryBudget.retain(createResponse(50));
+    assertEquals(300, memoryBudget.getUsage().getRawBytes());
+    response.setRaw(null);
+    memoryBudget.retain(response);
+    assertEquals(100, memoryBudget.getUsage().getRawBytes());
+    memoryBudget.retain(null);
+  }
+
+  @Test
+  public void shouldDropRawBodiesBeforeCacheEntries() {
+    responseCache.put("player/{}", "a", "x", 400);
+    Response response1 = createResponse(200);
+    memoryBudget.retain(response1);
+    assertEquals(800, memoryBudget.getUsage().getTotalBytes());
+    Response response2 = createResponse(200);
+    memoryBudget.retain(response2);
+    assertNull(response1.getRaw());
+    assertNotNull(response2.getRaw());
+    assertEquals(400, memoryBudget.getUsage().getRawBytes());
+    assertEquals(400, memoryBudget.getUsage().getCacheBytes());
+  }
+
+  @Test
+  public void shouldDropOldestRawBodiesFirst() {
+    Response response1 = createResponse(150);
+    Response response2 = createResponse(150);
+    Response response3 = createResponse(150);
+    memoryBudget.retain(response1);
+    memoryBudget.retain(response2);
+    memoryBudget.retain(response3);
+    memoryBudget.retain(response1);
+    Response response4 = createResponse(150);
+    memoryBudget.retain(response4);
+    assertNull(response2.getRaw());
+    assertNotNull(response1.getRaw());
+    assertNotNull(response3.getRaw());
+    assertNotNull(response4.getRaw());
+    assertEquals(900, memoryBudget.getUsage().getRawBytes());
+  }
+
+  @Test
+  public void shouldEvictCacheEntriesUnderPressure() throws Exception {
+    responseCache.put("player/{}", "a", "x", 400);
+    responseCache.put("player/{}", "b", "y", 400);
+    memoryBudget.acquire(300);
+    assertEquals(400, memoryBudget.getUsage().getCacheBytes());
+    assertEquals(700, memoryBudget.getUsage().getTotalBytes());
+  }
+
+  @Test
+  public void shouldAdmitLargeParseWhenIdle() throws Exception {
+    memoryBudget.acquire(5000);
+    assertEquals(5000, memoryBudget.getUsage().getInFlightBytes());
+  }
+
+  @Test
+  public void shouldLetParseWaitUntilOtherIsDone() throws Exception {
+    memoryBudget.acquire(800);
+    final AtomicBoolean acquired = new AtomicBoolean();
+    final CountDownLatch done = new CountDownLatch(1);
+    Thread thread = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        try {
+          memoryBudget.acquire(500);
+          acquired.set(true);
+        } catch (Exception e) {
+          // failed test
+        }
+        done.countDown();
+      }
+    });
+    thread.start();
+    assertFalse(done.await(200, TimeUnit.MILLISECONDS));
+    assertFalse(acquired.get());
+    memoryBudget.release(800);
+    assertTrue(done.await(5, TimeUnit.SECONDS));
+    assertTrue(acquired.get());
+    assertEquals(500, memoryBudget.getUsage().getInFlightBytes());
+  }
+
+}
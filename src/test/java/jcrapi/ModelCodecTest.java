@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.List;
+import jcrapi.model.AuthStats;
+import jcrapi.model.Battle;
+import jcrapi.model.Profile;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ModelCodecTest {
+
+  private static final String PROFILE = "{\"tag\":\"2PGGCJJL\",\"name\":\"Ümit\",\"trophies\":-3,\"expLevel\":13,"
+      + "\"arena\":{\"name\":\"Arena 1\",\"arenaID\":1,\"trophyLimit\":400},\"clan\":null,"
+      + "\"cards\":[{\"name\":\"Knight\",\"level\":9,\"iconUrls\":{\"medium\":\"http://x\"}},{\"name\":\"Golem\"}],"
+      + "\"achievements\":[]}";
+
+  private final Gson gson = new Gson();
+
+  private Object roundTrip(Object value, Type type) {
+    return ModelCodec.decode(ByteBuffer.wrap(ModelCodec.encode(value, type)), type);
+  }
+
+  @Test
+  public void shouldRoundTripModel() {
+    Profile profile = gson.fromJson(PROFILE, Profile.class);
+    Profile decoded = (Profile) roundTrip(profile, Profile.class);
+    assertEquals(gson.toJson(profile), gson.toJson(decoded));
+    assertEquals("Ümit", decoded.getName());
+    assertEquals(-3, decoded.getTrophies());
+    assertNull(decoded.getClan());
+  }
+
+  @Test
+  public void shouldBeSmallerThanJson() {
+    Profile profile = gson.fromJson(PROFILE, Profile.class);
+    assertTrue(ModelCodec.encode(profile, Profile.class).length < gson.toJson(profile).length());
+  }
+
+  @Test
+  public void shouldRoundTripNestedLists() {
+    Type type = new TypeToken<List<List<Battle>>>() {
+    }.getType();
+    List<List<Battle>> battles = gson.fromJson("[[{\"type\":\"PvP\",\"utcTime\":1520000000}],[],null]", type);
+    assertEquals(gson.toJson(battles), gson.toJson(roundTrip(battles, type)));
+  }
+
+  @Test
+  public void shouldRoundTripMaps() {
+    AuthStats authStats = gson.fromJson("{\"id\":7,\"requestCount\":{\"a\":\"1\",\"b\":null}}", AuthStats.class);
+    assertEquals(gson.toJson(authStats), gson.toJson(roundTrip(authStats, AuthStats.class)));
+  }
+
+  @Test
+  public void shouldRoundTripNull() {
+    assertNull(roundTrip(null, Profile.class));
+  }
+
+  @Test
+  public void shouldHaveStableFingerprint() {
+    assertEquals(ModelCodec.fingerprint(Profile.class), ModelCodec.fingerprint(Profile.class));
+    assertTrue(ModelCodec.fingerprint(Profile.class) != ModelCodec.fingerprint(AuthStats.class));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failEncodeBecauseRawList() {
+    ModelCodec.encode(new java.util.ArrayList<String>(), List.class);
+  }
+
+}
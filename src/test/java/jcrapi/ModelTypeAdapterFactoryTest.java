@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import jcrapi.model.AuthStats;
+import jcrapi.model.Battle;
+import jcrapi.model.ChestCycle;
+import jcrapi.model.Clan;
+import jcrapi.model.ClanHistory;
+import jcrapi.model.ClanWar;
+import jcrapi.model.ClanWarLog;
+import jcrapi.model.Constants;
+import jcrapi.model.KnownTournament;
+import jcrapi.model.ModelTypeAdapterFactory;
+import jcrapi.model.PopularPlayer;
+import jcrapi.model.Profile;
+import jcrapi.model.Status;
+import jcrapi.model.TopWar;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ModelTypeAdapterFactoryTest {
+
+  private static final Gson REFLECTIVE = new Gson();
+
+  private static final Gson GENERATED = new GsonBuilder()
+      .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+      .create();
+
+  @Test
+  public void shouldUseGeneratedAdapters() {
+    TypeAdapter<Profile> adapter = GENERATED.getAdapter(Profile.class);
+    assertEquals("ProfileTypeAdapter", adapter.getClass().getSimpleName());
+  }
+
+  @Test
+  public void shouldLeaveOtherTypesToGson() {
+    assertEquals(REFLECTIVE.getAdapter(String.class).getClass(), GENERATED.getAdapter(String.class).getClass());
+  }
+
+  @Test
+  public void shouldReadLikeReflection() throws IOException {
+    assertSame("profile.json", Profile.class);
+    assertSame("profiles.json", new TypeToken<List<Profile>>() {
+    }.getType());
+    assertSame("clan.json", Clan.class);
+    assertSame("multiClans.json", new TypeToken<List<Clan>>() {
+    }.getType());
+    assertSame("clanHistory.json", ClanHistory.class);
+    assertSame("clanWar.json", ClanWar.class);
+    assertSame("clanWarLog.json", new TypeToken<List<ClanWarLog>>() {
+    }.getType());
+    assertSame("multiPlayerBattles.json", new TypeToken<List<List<Battle>>>() {
+    }.getType());
+    assertSame("playerChests.json", ChestCycle.class);
+    assertSame("popularPlayers.json", new TypeToken<List<PopularPlayer>>() {
+    }.getType());
+    assertSame("knownTournaments.json", new TypeToken<List<KnownTournament>>() {
+    }.getType());
+    assertSame("topWars.json", new TypeToken<List<TopWar>>() {
+    }.getType());
+    assertSame("constants.json", Constants.class);
+    assertSame("status.json", Status.class);
+    assertSame("authStats.json", AuthStats.class);
+  }
+
+  @Test
+  public void shouldWriteLikeReflection() throws IOException {
+    Profile profile = REFLECTIVE.fromJson(read("profile.json"), Profile.class);
+    assertEquals(REFLECTIVE.toJson(profile), GENERATED.toJson(profile));
+    PopularPlayer popularPlayer = REFLECTIVE.fromJson(read("popularPlayers.json"), PopularPlayer[].class)[0];
+    assertEquals(REFLECTIVE.toJson(popularPlayer), GENERATED.toJson(popularPlayer));
+    Constants constants = REFLECTIVE.fromJson(read("constants.json"), Constants.class);
+    assertEquals(REFLECTIVE.toJson(constants), GENERATED.toJson(constants));
+  }
+
+  @Test
+  public void shouldSkipUnknownFields() {
+    Profile profile = GENERATED.fromJson("{\"unknown\":{\"a\":[1,2]},\"tag\":\"ABC\"}", Profile.class);
+    assertEquals("ABC", profile.getTag());
+  }
+
+  @Test
+  public void shouldKeepDefaultForNullPrimitive() {
+    assertEquals(0, GENERATED.fromJson("{\"trophies\":null}", Profile.class).getTrophies());
+  }
+
+  @Test
+  public void shouldCoerceLikeReflection() {
+    Profile profile = GENERATED.fromJson("{\"tag\":true,\"trophies\":\"4711\"}", Profile.class);
+    assertEquals("true", profile.getTag());
+    assertEquals(4711, profile.getTrophies());
+    assertTrue(GENERATED.fromJson("{\"open\":\"true\"}", KnownTournament.class).isOpen());
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void failReadBecauseFraction() {
+    GENERATED.fromJson("{\"trophies\":1.5}", Profile.class);
+  }
+
+  @Test
+  public void shouldReadNull() {
+    assertNull(GENERATED.fromJson("null", Profile.class));
+    assertNull(GENERATED.fromJson("{\"cards\":null}", Profile.class).getCards());
+  }
+
+  private static void assertSame(String filename, Type type) throws IOException {
+    String json = read(filename);
+    Object expected = REFLECTIVE.fromJson(json, type);
+    Object actual = GENERATED.fromJson(json, type);
+    assertEquals(new JsonParser().parse(REFLECTIVE.toJson(expected)),
+        new JsonParser().parse(REFLECTIVE.toJson(actual)));
+  }
+
+  private static String read(String filename) throws IOException {
+    return FileUtils.readFileToString(new File("src/test/java/jcrapi/" + filename));
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class NegativeCacheTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final NegativeCache negativeCache = new NegativeCache(10, 1000, ticker);
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoSize() {
+    new NegativeCache(0, 1000);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoTtl() {
+    new NegativeCache(10, 0);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullTicker() {
+    new NegativeCache(10, 1000, null);
+  }
+
+  @Test
+  public void shouldValidateTags() {
+    assertTrue(NegativeCache.isValid("2PGGCJJL"));
+    assertTrue(NegativeCache.isValid("#2pggcjjl"));
+    assertFalse(NegativeCache.isValid("2PGGCJJA"));
+    assertFalse(NegativeCache.isValid(""));
+    assertFalse(NegativeCache.isValid(null));
+  }
+
+  @Test
+  public void shouldKnowInvalidTagsAsBad() {
+    assertTrue(negativeCache.isBad("ABC"));
+    assertFalse(negativeCache.isBad("2PGGCJJL"));
+  }
+
+  @Test
+  public void shouldRememberNotFoundForTtl() {
+    negativeCache.recordNotFound("#2pggcjjl");
+    assertTrue(negativeCache.isBad("2PGGCJJL"));
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertFalse(negativeCache.isBad("2PGGCJJL"));
+  }
+
+  @Test
+  public void shouldKeepTagNotFoundTwice() {
+    negativeCache.recordNotFound("2PGGCJJL");
+    ticker.advance(1, TimeUnit.SECONDS);
+    negativeCache.recordNotFound("2PGGCJJL");
+    ticker.advance(1, TimeUnit.DAYS);
+    assertTrue(negativeCache.isBad("2PGGCJJL"));
+    assertFalse(negativeCache.isBad("2PGGCJJ"));
+  }
+
+  @Test
+  public void shouldIgnoreInvalidNotFound() {
+    negativeCache.recordNotFound("ABC");
+    assertTrue(negativeCache.isBad("ABC"));
+  }
+
+  @Test
+  public void shouldFilterBadTags() {
+    negativeCache.recordNotFound("2PGG");
+    assertEquals(Arrays.asList("8L9L", "#2PGGCJJL"),
+        negativeCache.filter(Arrays.asList("8L9L", "2PGG", "XYZ", "#2PGGCJJL")));
+  }
+
+  @Test
+  public void shouldGrowBeyondInitialCapacity() {
+    NegativeCache negativeCache = new NegativeCache(100000, 1000, ticker);
+    String[] alphabet = {"0", "2", "8", "9", "P", "Y", "L", "Q", "G", "R", "J", "C", "U", "V"};
+    for (int i = 0; i < 30000; i++) {
+      String tag = alphabet[i % 14] + alphabet[i / 14 % 14] + alphabet[i / 196 % 14] + alphabet[i / 2744 % 14] + "P";
+      negativeCache.recordNotFound(tag);
+      negativeCache.recordNotFound(tag);
+    }
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertTrue(negativeCache.isBad("0000P"));
+    assertTrue(negativeCache.isBad("VVJ8P"));
+    int falsePositives = 0;
+    for (int i = 0; i < 10000; i++) {
+      String tag = alphabet[i % 14] + alphabet[i / 14 % 14] + alphabet[i / 196 % 14] + alphabet[i / 2744 % 14] + "Q";
+      if (negativeCache.isBad(tag)) {
+        falsePositives++;
+      }
+    }
+    assertTrue(falsePositives < 50);
+  }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jcrapi.model.Profile;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class OffHeapCacheTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final OffHeapCache offHeapCache = new OffHeapCache(1024, 64, ticker);
+
+  private Profile createProfile(String tag) {
+    Profile profile = new Profile();
+    profile.setTag(tag);
+    profile.setTrophies(4000);
+    return profile;
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoBytes() {
+    new OffHeapCache(0, 64, ticker);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseTooFewSlots() {
+    new OffHeapCache(1024, 1, ticker);
+  }
+
+  @Test
+  public void shouldDecodeFreshObject() {
+    Profile profile = createProfile("A");
+    offHeapCache.put("a", profile, Profile.class, 1000);
+    Profile cached = (Profile) offHeapCache.get("a", Profile.class);
+    assertNotSame(profile, cached);
+    assertEquals("A", cached.getTag());
+    assertEquals(4000, cached.getTrophies());
+    assertNull(offHeapCache.get("b", Profile.class));
+  }
+
+  @Test
+  public void shouldKeepLists() {
+    Type type = new TypeToken<List<Profile>>() {
+    }.getType();
+    offHeapCache.put("a", Arrays.asList(createProfile("A"), createProfile("B")), type, 1000);
+    assertEquals("B", ((List<Profile>) offHeapCache.get("a", type)).get(1).getTag());
+  }
+
+  @Test
+  public void shouldExpire() {
+    offHeapCache.put("a", createProfile("A"), Profile.class, 1000);
+    ticker.advance(999, TimeUnit.MILLISECONDS);
+    assertEquals("A", ((Profile) offHeapCache.get("a", Profile.class)).getTag());
+    ticker.advance(1, TimeUnit.MILLISECONDS);
+    assertNull(offHeapCache.get("a", Profile.class));
+  }
+
+  @Test
+  public void shouldOverwriteOldestRecords() {
+    for (int i = 0; i < 100; i++) {
+      offHeapCache.put("key" + i, createProfile("TAG" + i), Profile.class, 1000);
+    }
+    assertNull(offHeapCache.get("key0", Profile.class));
+    assertEquals("TAG99", ((Profile) offHeapCache.get("key99", Profile.class)).getTag());
+    assertEquals(1024, offHeapCache.getUsedBytes());
+  }
+
+  @Test
+  public void shouldReplaceValueOfKey() {
+    offHeapCache.put("a", createProfile("A"), Profile.class, 1000);
+    offHeapCache.put("a", createProfile("B"), Profile.class, 1000);
+    assertEquals("B", ((Profile) offHeapCache.get("a", Profile.class)).getTag());
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import jcrapi.request.PopularClansRequest;
+import jcrapi.request.Request;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class PagesTest {
+
+  private final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+  private final List<String> loadedPages = Collections.synchronizedList(new ArrayList<String>());
+
+  @After
+  public void tearDown() {
+    executorService.shutdownNow();
+  }
+
+  private Pages.Loader<Integer> createLoader(final int total) {
+    return new Pages.Loader<Integer>() {
+      @Override
+      public List<Integer> load(Request request) throws IOException {
+        String page = request.getQueryParameters().get("page");
+        loadedPages.add(page);
+        int from = (page == null ? 0 : Integer.parseInt(page)) * 2;
+        List<Integer> list = new ArrayList<>();
+        for (int i = from; i < Math.min(total, from + 2); i++) {
+          list.add(i);
+        }
+        return list;
+      }
+    };
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoMax() {
+    new Pages<>(PopularClansRequest.builder().build(), createLoader(1), executorService);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullLoader() {
+    new Pages<Integer>(PopularClansRequest.builder().max(2).build(), null, executorService);
+  }
+
+  @Test
+  public void shouldIterateAllPagesUntilShortPage() {
+    Pages<Integer> pages = new Pages<>(PopularClansRequest.builder().max(2).build(), createLoader(5), executorService);
+    List<Integer> list = new ArrayList<>();
+    for (Integer i : pages) {
+      list.add(i);
+    }
+    assertEquals(Arrays.asList(0, 1, 2, 3, 4), list);
+    assertEquals(Arrays.asList(null, "1", "2"), loadedPages);
+  }
+
+  @Test
+  public void shouldStopAfterEmptyPage() {
+    Pages<Integer> pages = new Pages<>(PopularClansRequest.builder().max(2).build(), createLoader(4), executorService);
+    assertEquals(Arrays.asList(0, 1, 2, 3), pages.stream().collect(Collectors.toList()));
+    assertEquals(3, loadedPages.size());
+  }
+
+  @Test
+  public void shouldStartAtPageOfRequest() {
+    Pages<Integer> pages = new Pages<>(PopularClansRequest.builder().max(2).page(1).build(), createLoader(5),
+        executorService);
+    assertEquals(Arrays.asList(2, 3, 4), pages.stream().collect(Collectors.toList()));
+  }
+
+  @Test
+  public void shouldPrefetchNextPage() throws Exception {
+    Iterator<Integer> iterator = new Pages<>(PopularClansRequest.builder().max(2).build(), createLoader(5),
+        executorService).iterator();
+    assertEquals(0, (int) iterator.next());
+    for (int i = 0; i < 100 && loadedPages.size() < 2; i++) {
+      Thread.sleep(10);
+    }
+    assertEquals(Arrays.asList(null, "1"), loadedPages);
+  }
+
+  @Test
+  public void shouldNotHaveNextForEmptyResult() {
+    Iterator<Integer> iterator = new Pages<>(PopularClansRequest.builder().max(2).build(), createLoader(0),
+        executorService).iterator();
+    assertFalse(iterator.hasNext());
+    try {
+      iterator.next();
+      fail();
+    } catch (NoSuchElementException e) {
+      assertTrue(true);
+    }
+  }
+
+  @Test
+  public void failBecauseLoadFailed() {
+    Pages<Integer> pages = new Pages<>(PopularClansRequest.builder().max(2).build(), new Pages.Loader<Integer>() {
+      @Override
+      public List<Integer> load(Request request) throws IOException {
+        throw new IOException("down");
+      }
+    }, executorService);
+    try {
+      pages.iterator().hasNext();
+      fail();
+    } catch (ApiException e) {
+      assertEquals("down", e.getMessage());
+    }
+  }
+
+}
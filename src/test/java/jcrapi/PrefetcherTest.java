@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class PrefetcherTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final List<Runnable> tasks = new ArrayList<>();
+
+  private final Executor executor = new Executor() {
+    @Override
+    public void execute(Runnable runnable) {
+      tasks.add(runnable);
+    }
+  };
+
+  private final Prefetcher prefetcher = new Prefetcher(1000, executor, ticker);
+
+  private final List<String> prefetched = new ArrayList<>();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoWindow() {
+    new Prefetcher(0, executor, ticker);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullExecutor() {
+    new Prefetcher(1000, null, ticker);
+  }
+
+  @Test
+  public void shouldNotPrefetchUnknownPair() throws Exception {
+    offer("ABC");
+    assertEquals(0, prefetcher.getProbability("clan/{}", "clan/{}/war"), 0);
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Test
+  public void shouldPrefetchAfterLearning() throws Exception {
+    learn(Prefetcher.MINIMUM_TRIALS, Prefetcher.MINIMUM_TRIALS);
+    assertEquals(1, prefetcher.getProbability("clan/{}", "clan/{}/war"), 0);
+    assertTrue(tasks.isEmpty());
+    offer("XYZ");
+    assertEquals(1, tasks.size());
+    runTasks();
+    assertEquals("[XYZ]", prefetched.toString());
+  }
+
+  @Test
+  public void shouldNotPrefetchBelowThreshold() throws Exception {
+    learn(10, 4);
+    assertEquals(0.4, prefetcher.getProbability("clan/{}", "clan/{}/war"), 0.001);
+    offer("XYZ");
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Test
+  public void shouldNotPrefetchBeforeMinimumTrials() throws Exception {
+    learn(Prefetcher.MINIMUM_TRIALS - 1, Prefetcher.MINIMUM_TRIALS - 1);
+    offer("XYZ");
+    assertTrue(tasks.isEmpty());
+  }
+
+  @Test
+  public void shouldNotCountFollowUpsAfterWindow() throws Exception {
+    for (int i = 0; i < Prefetcher.MINIMUM_TRIALS; i++) {
+      offer("T" + i);
+      ticker.advance(1001, TimeUnit.MILLISECONDS);
+      prefetcher.observe("clan/{}/war", "T" + i);
+    }
+    assertEquals(0, prefetcher.getProbability("clan/{}", "clan/{}/war"), 0);
+  }
+
+  @Test
+  public void shouldCountFollowUpOnlyOnce() throws Exception {
+    offer("ABC");
+    prefetcher.observe("clan/{}/war", "ABC");
+    prefetcher.observe("clan/{}/war", "ABC");
+    assertEquals(1, prefetcher.getProbability("clan/{}", "clan/{}/war"), 0);
+  }
+
+  @Test
+  public void shouldNotLearnOrOfferWhilePrefetching() throws Exception {
+    learn(Prefetcher.MINIMUM_TRIALS, Prefetcher.MINIMUM_TRIALS);
+    prefetcher.offer("clan/{}", "clan/{}/war", "XYZ", new Prefetcher.Prefetch() {
+      @Override
+      public void run() throws IOException {
+        assertTrue(Prefetcher.isPrefetching());
+        prefetcher.observe("clan/{}/war", "XYZ");
+        prefetcher.offer("player/{}", "clan/{}", "ABC", prefetch("ABC"));
+      }
+    });
+    runTasks();
+    assertFalse(Prefetcher.isPrefetching());
+    assertEquals(Prefetcher.MINIMUM_TRIALS / (Prefetcher.MINIMUM_TRIALS + 1.0),
+        prefetcher.getProbability("clan/{}", "clan/{}/war"), 0.001);
+    assertEquals(0, prefetcher.getProbability("player/{}", "clan/{}"), 0);
+  }
+
+  @Test
+  public void shouldSwallowFailedPrefetch() throws Exception {
+    learn(Prefetcher.MINIMUM_TRIALS, Prefetcher.MINIMUM_TRIALS);
+    prefetcher.offer("clan/{}", "clan/{}/war", "XYZ", new Prefetcher.Prefetch() {
+      @Override
+      public void run() throws IOException {
+        throw new IOException("failed");
+      }
+    });
+    runTasks();
+    assertFalse(Prefetcher.isPrefetching());
+  }
+
+  private void learn(int trials, int hits) throws IOException {
+    for (int i = 0; i < trials; i++) {
+      offer("T" + i);
+      if (i < hits) {
+        prefetcher.observe("clan/{}/war", "#T" + i);
+      }
+    }
+    tasks.clear();
+  }
+
+  private void offer(String tag) throws IOException {
+    prefetcher.offer("clan/{}", "clan/{}/war", tag, prefetch(tag));
+  }
+
+  private Prefetcher.Prefetch prefetch(final String tag) {
+    return new Prefetcher.Prefetch() {
+      @Override
+      public void run() throws IOException {
+        prefetched.add(tag);
+      }
+    };
+  }
+
+  private void runTasks() {
+    List<Runnable> copy = new ArrayList<>(tasks);
+    tasks.clear();
+    for (Runnable task : copy) {
+      task.run();
+    }
+  }
+
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.reflect.TypeToken;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import jcrapi.model.Battle;
+import jcrapi.model.Card;
+import jcrapi.model.ModelTypeAdapterFactory;
+import jcrapi.model.Profile;
+import jcrapi.request.ProfileRequest;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ProjectionTest {
+
+  private static final Gson GSON = new GsonBuilder()
+      .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+      .create();
+
+  private static final List<String> NONE = Collections.emptyList();
+
+  @Test
+  public void shouldHaveNoProjectionWithoutKeysAndExcludes() {
+    assertNull(Projection.of(ProfileRequest.builder("ABC").build()));
+    assertNull(Projection.of(NONE, NONE));
+  }
+
+  @Test
+  public void shouldCreateFromRequest() {
+    Projection projection = Projection.of(ProfileRequest.builder("ABC")
+        .keys(Arrays.asList("tag", "clan.name"))
+        .excludes(Arrays.asList("clan.badge"))
+        .build());
+    assertTrue(projection.includes("tag"));
+    assertTrue(projection.includes("clan"));
+    assertFalse(projection.includes("cards"));
+    assertNull(projection.get("tag"));
+    assertTrue(projection.get("clan").includes("name"));
+    assertFalse(projection.get("clan").includes("badge"));
+    assertEquals(2, projection.getKeys().size());
+  }
+
+  @Test
+  public void shouldKeepWholeFieldOverNestedKeys() {
+    Projection projection = Projection.of(Arrays.asList("clan.name", "clan"), NONE);
+    assertNull(projection.get("clan"));
+  }
+
+  @Test
+  public void shouldKeepFieldOutsideKeys() {
+    Projection projection = Projection.of(Arrays.asList("name"), Arrays.asList("tag"));
+    projection.keep("tag");
+    assertTrue(projection.includes("tag"));
+    assertTrue(projection.includes("name"));
+    assertFalse(projection.includes("cards"));
+    assertEquals(2, projection.getKeys().size());
+  }
+
+  @Test
+  public void shouldNotRestrictByKeepingField() {
+    Projection projection = Projection.of(NONE, Arrays.asList("cards"));
+    projection.keep("tag");
+    assertTrue(projection.includes("tag"));
+    assertTrue(projection.includes("name"));
+    assertFalse(projection.includes("cards"));
+  }
+
+  @Test
+  public void shouldReadKeysOnly() throws Exception {
+    Profile profile = read(Arrays.asList("tag", "name", "trophies"), NONE, false);
+    Profile full = GSON.fromJson(readFile("profile.json"), Profile.class);
+    assertEquals(full.getTag(), profile.getTag());
+    assertEquals(full.getName(), profile.getName());
+    assertEquals(full.getTrophies(), profile.getTrophies());
+    assertNull(profile.getCards());
+    assertNull(profile.getClan());
+    assertNull(profile.getStats());
+  }
+
+  @Test
+  public void shouldReadNestedKeys() throws Exception {
+    Profile profile = read(Arrays.asList("clan.name"), NONE, false);
+    assertNotNull(profile.getClan().getName());
+    assertNull(profile.getClan().getTag());
+    assertNull(profile.getClan().getBadge());
+    assertNull(profile.getTag());
+  }
+
+  @Test
+  public void shouldReadWithoutExcludes() throws Exception {
+    Profile profile = read(NONE, Arrays.asList("cards", "achievements", "currentDeck.iconUrls"), false);
+    assertNotNull(profile.getTag());
+    assertNotNull(profile.getStats());
+    assertNull(profile.getCards());
+    assertNull(profile.getAchievements());
+    assertFalse(profile.getCurrentDeck().isEmpty());
+    for (Card card : profile.getCurrentDeck()) {
+      assertNotNull(card.getName());
+      assertNull(card.getIconUrls());
+    }
+  }
+
+  @Test
+  public void shouldProjectElementsOfLists() throws Exception {
+    Projection projection = Projection.of(Arrays.asList("type", "team.tag"), NONE);
+    List<List<Battle>> battles = projection.read(GSON, readFile("multiPlayerBattles.json"),
+        new TypeToken<List<List<Battle>>>() {
+        }.getType(), false);
+    List<List<Battle>> full = GSON.fromJson(readFile("multiPlayerBattles.json"), new TypeToken<List<List<Battle>>>() {
+    }.getType());
+    assertEquals(full.size(), battles.size());
+    Battle battle = battles.get(0).get(0);
+    assertEquals(full.get(0).get(0).getType(), battle.getType());
+    assertEquals(full.get(0).get(0).getTeam().get(0).getTag(), battle.getTeam().get(0).getTag());
+    assertNull(battle.getTeam().get(0).getDeck());
+    assertNull(battle.getOpponent());
+  }
+
+  @Test
+  public void shouldStopEarly() {
+    Projection projection = Projection.of(Arrays.asList("tag", "name"), NONE);
+    Profile profile = projection.read(GSON, "{\"tag\":\"ABC\",\"name\":\"lala\",\"cards\":[{\"name\":", Profile.class,
+        true);
+    assertEquals("ABC", profile.getTag());
+    assertEquals("lala", profile.getName());
+  }
+
+  @Test(expected = JsonSyntaxException.class)
+  public void failReadBecauseRestNotSkippedWithoutEarlyStop() {
+    Projection projection = Projection.of(Arrays.asList("tag", "name"), NONE);
+    projection.read(GSON, "{\"tag\":\"ABC\",\"name\":\"lala\",\"cards\":[{\"name\":", Profile.class, false);
+  }
+
+  @Test
+  public void shouldReadToEndIfKeyIsMissing() throws Exception {
+    Profile profile = read(Arrays.asList("tag", "unknown"), NONE, true);
+    assertNotNull(profile.getTag());
+  }
+
+  @Test
+  public void shouldProjectReflectiveBinding() throws Exception {
+    Projection projection = Projection.of(Arrays.asList("tag", "clan.name"), NONE);
+    Profile profile = projection.read(new Gson(), readFile("profile.json"), Profile.class, true);
+    assertNotNull(profile.getTag());
+    assertNotNull(profile.getClan().getName());
+    assertNull(profile.getClan().getBadge());
+    assertNull(profile.getCards());
+  }
+
+  private static Profile read(List<String> keys, List<String> excludes, boolean stopEarly) throws Exception {
+    return Projection.of(keys, excludes).read(GSON, readFile("profile.json"), Profile.class, stopEarly);
+  }
+
+  private static String readFile(String filename) throws Exception {
+    return FileUtils.readFileToString(new File("src/test/java/jcrapi/" + filename));
+  }
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import jcrapi.model.TopPlayer;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class RankingsTest {
+
+  private TopPlayer createTopPlayer(String tag, int trophies) {
+    TopPlayer topPlayer = new TopPlayer();
+    topPlayer.setTag(tag);
+    topPlayer.setTrophies(trophies);
+    return topPlayer;
+  }
+
+  private List<String> getTags(List<TopPlayer> topPlayers) {
+    List<String> tags = new ArrayList<>();
+    for (TopPlayer topPlayer : topPlayers) {
+      tags.add(topPlayer.getTag());
+    }
+    return tags;
+  }
+
+  @Test
+  public void shouldMergeSortedRankings() {
+    List<TopPlayer> europe = Arrays.asList(createTopPlayer("A", 9000), createTopPlayer("C", 7000));
+    List<TopPlayer> asia = Arrays.asList(createTopPlayer("B", 8000), createTopPlayer("D", 6000),
+        createTopPlayer("E", 5000));
+    List<TopPlayer> merged = Rankings.merge(Arrays.asList(europe, asia), Rankings.BY_TROPHIES, Tags.TOP_PLAYER_TAG);
+    assertEquals(Arrays.asList("A", "B", "C", "D", "E"), getTags(merged));
+  }
+
+  @Test
+  public void shouldTakeEntryOfSeveralRankingsOnce() {
+    List<TopPlayer> europe = Arrays.asList(createTopPlayer("A", 9000), createTopPlayer("B", 8000));
+    List<TopPlayer> germany = Arrays.asList(createTopPlayer("#a", 9000), createTopPlayer("C", 100));
+    List<TopPlayer> merged = Rankings.merge(Arrays.asList(europe, germany), Rankings.BY_TROPHIES,
+        Tags.TOP_PLAYER_TAG);
+    assertEquals(Arrays.asList("A", "B", "C"), getTags(merged));
+  }
+
+  @Test
+  public void shouldMergeEmptyRankings() {
+    List<TopPlayer> empty = Collections.emptyList();
+    assertEquals(0, Rankings.merge(Arrays.asList(empty, empty), Rankings.BY_TROPHIES, Tags.TOP_PLAYER_TAG).size());
+  }
+
+}
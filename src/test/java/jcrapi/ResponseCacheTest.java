@@ -0,0 +1,169 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ResponseCacheTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final Map<String, Long> ttls = ImmutableMap.of("constants", 60000L, "health", 0L);
+
+  private ResponseCache createResponseCache(int maximumSize, long maximumBytes) {
+    return new ResponseCache(maximumSize, maximumBytes, 1000, ttls, ticker);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoSize() {
+    new ResponseCache(0, 100, 0, ttls, ticker);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullTtls() {
+    new ResponseCache(10, 100, 0, null, ticker);
+  }
+
+  @Test
+  public void shouldUseTtlOfTemplate() {
+    ResponseCache responseCache = createResponseCache(10, 1000);
+    assertEquals(60000, responseCache.getTtlMillis("constants"));
+    assertEquals(0, responseCache.getTtlMillis("health"));
+    assertEquals(1000, responseCache.getTtlMillis("player/{}"));
+  }
+
+  @Test
+  public void shouldHitUntilExpired() {
+    ResponseCache responseCache = createResponseCache(10, 1000);
+    responseCache.put("player/{}", "a", "x", 10);
+    responseCache.put("constants", "b", "y", 10);
+    assertEquals("x", responseCache.get("a"));
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertNull(responseCache.get("a"));
+    assertEquals("y", responseCache.get("b"));
+    assertEquals(2, responseCache.stats().hitCount());
+    assertEquals(1, responseCache.stats().missCount());
+    assertEquals(1, responseCache.stats().evictionCount());
+  }
+
+  @Test
+  public void shouldNotStoreTemplateWithoutTtl() {
+    ResponseCache responseCache = createResponseCache(10, 1000);
+    responseCache.put("health", "a", "x", 10);
+    assertEquals(0, responseCache.size());
+  }
+
+  @Test
+  public void shouldHandOutCopiesOfLists() {
+    ResponseCache responseCache = createResponseCache(10, 1000);
+    List<String> list = new ArrayList<>(Arrays.asList("x"));
+    responseCache.put("player/{}", "a", list, 10);
+    list.add("y");
+    List<String> cached = (List<String>) responseCache.get("a");
+    assertEquals(Arrays.asList("x"), cached);
+    cached.add("z");
+    assertNotSame(cached, responseCache.get("a"));
+    assertEquals(Arrays.asList("x"), responseCache.get("a"));
+  }
+
+  @Test
+  public void shouldBoundEntries() {
+    ResponseCache responseCache = createResponseCache(100, 100000);
+    for (int i = 0; i < 500; i++) {
+      responseCache.put("player/{}", "key" + i, "value", 10);
+    }
+    assertEquals(100, responseCache.size());
+    assertEquals(400, responseCache.stats().evictionCount());
+  }
+
+  @Test
+  public void shouldBoundBytes() {
+    ResponseCache responseCache = createResponseCache(100, 100);
+    for (int i = 0; i < 10; i++) {
+      responseCache.put("player/{}", "key" + i, "value", 30);
+    }
+    assertEquals(3, responseCache.size());
+    assertEquals(90, responseCache.getBytes());
+    responseCache.put("player/{}", "big", "value", 101);
+    assertNull(responseCache.get("big"));
+  }
+
+  @Test
+  public void shouldKeepHotEntriesDuringScan() {
+    ResponseCache responseCache = createResponseCache(100, 100000);
+    for (int i = 0; i < 50; i++) {
+      responseCache.get("hot" + i);
+      responseCache.put("constants", "hot" + i, "value", 10);
+    }
+    for (int round = 0; round < 5; round++) {
+      for (int i = 0; i < 50; i++) {
+        assertNotNull(responseCache.get("hot" + i));
+      }
+    }
+    for (int i = 0; i < 1000; i++) {
+      responseCache.get("scan" + i);
+      responseCache.put("player/{}", "scan" + i, "value", 10);
+    }
+    for (int i = 0; i < 50; i++) {
+      assertNotNull("hot" + i, responseCache.get("hot" + i));
+    }
+  }
+
+  @Test
+  public void shouldCountPuts() {
+    ResponseCache responseCache = createResponseCache(10, 1000);
+    responseCache.put("player/{}", "a", "x", 10);
+    responseCache.put("player/{}", "a", "y", 10);
+    assertEquals(2, responseCache.stats().loadCount());
+    assertEquals(1, responseCache.size());
+    assertEquals("y", responseCache.get("a"));
+  }
+
+  @Test
+  public void shouldEvictToBytes() {
+    ResponseCache responseCache = createResponseCache(100, 1000);
+    responseCache.put("player/{}", "a", "x", 100);
+    responseCache.put("player/{}", "b", "y", 100);
+    responseCache.put("player/{}", "c", "z", 100);
+    responseCache.evictTo(150);
+    assertEquals(100, responseCache.getBytes());
+    assertEquals(1, responseCache.size());
+    assertEquals(2, responseCache.stats().evictionCount());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failEvictToBecauseNegativeBytes() {
+    createResponseCache(100, 1000).evictTo(-1);
+  }
+
+}
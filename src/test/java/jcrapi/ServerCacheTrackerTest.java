@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class ServerCacheTrackerTest {
+
+  private static final String TEMPLATE = "player/{}";
+
+  private TestTicker ticker;
+
+  private ServerCacheTracker serverCacheTracker;
+
+  @Before
+  public void setUp() {
+    ticker = new TestTicker();
+    serverCacheTracker = new ServerCacheTracker(10, ticker);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseZeroSize() {
+    new ServerCacheTracker(0, ticker);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullTicker() {
+    new ServerCacheTracker(10, null);
+  }
+
+  @Test
+  public void shouldNotServeWithoutLearnedWindow() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    assertNull(serverCacheTracker.lookup(TEMPLATE, "player/A"));
+  }
+
+  @Test
+  public void shouldLearnWindowFromCachedAnswer() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(90, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    assertEquals(90000, serverCacheTracker.getWindowMillis(TEMPLATE));
+  }
+
+  @Test
+  public void shouldServeInsideWindowForAllTagsOfTemplate() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(90, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    serverCacheTracker.record(TEMPLATE, "player/B", "{b}", false);
+    ticker.advance(60, TimeUnit.SECONDS);
+    assertEquals("{b}", serverCacheTracker.lookup(TEMPLATE, "player/B"));
+    ticker.advance(30, TimeUnit.SECONDS);
+    assertNull(serverCacheTracker.lookup(TEMPLATE, "player/B"));
+  }
+
+  @Test
+  public void shouldNotLearnIfCachedBodyChanged() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(90, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{changed}", true);
+    assertEquals(0, serverCacheTracker.getWindowMillis(TEMPLATE));
+  }
+
+  @Test
+  public void shouldGrowWindowWithLaterCachedAnswersOfCycle() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(10, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    ticker.advance(80, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    assertEquals(90000, serverCacheTracker.getWindowMillis(TEMPLATE));
+  }
+
+  @Test
+  public void shouldKeepSmallestGapOfCycles() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(90, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(10, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    assertEquals(10000, serverCacheTracker.getWindowMillis(TEMPLATE));
+  }
+
+  @Test
+  public void shouldNotStretchWindowByRefreshOfOtherClient() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(90, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    ticker.advance(30, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    // another client refreshes the server cache after 100 seconds with unchanged data
+    ticker.advance(150, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    assertEquals(90000, serverCacheTracker.getWindowMillis(TEMPLATE));
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(100, TimeUnit.SECONDS);
+    assertNull(serverCacheTracker.lookup(TEMPLATE, "player/A"));
+  }
+
+  @Test
+  public void shouldForgetOldCycles() {
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+    ticker.advance(10, TimeUnit.SECONDS);
+    serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    for (int i = 0; i < ServerCacheTracker.CYCLES; i++) {
+      serverCacheTracker.record(TEMPLATE, "player/A", "{}", false);
+      ticker.advance(90, TimeUnit.SECONDS);
+      serverCacheTracker.record(TEMPLATE, "player/A", "{}", true);
+    }
+    assertEquals(90000, serverCacheTracker.getWindowMillis(TEMPLATE));
+  }
+
+}
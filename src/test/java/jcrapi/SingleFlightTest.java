@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class SingleFlightTest {
+
+  private final SingleFlight singleFlight = new SingleFlight();
+
+  private final AtomicInteger calls = new AtomicInteger();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  @Test(expected = NullPointerException.class)
+  public void failBecauseNullKey() throws IOException {
+    singleFlight.execute(null, createCall("a"));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failBecauseNullCall() throws IOException {
+    singleFlight.execute("a", null);
+  }
+
+  private SingleFlight.Call<List<String>> createCall(final String result) {
+    return new SingleFlight.Call<List<String>>() {
+      @Override
+      public List<String> call() throws IOException {
+        calls.incrementAndGet();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        return Arrays.asList(result);
+      }
+    };
+  }
+
+  @Test
+  public void shouldShareRunningCall() throws Exception {
+    List<Future<List<String>>> futures = executeConcurrently(3, "a", createCall("x"));
+    awaitWaiting(3);
+    release.countDown();
+    List<String> first = futures.get(0).get();
+    for (Future<List<String>> future : futures) {
+      assertEquals(Arrays.asList("x"), future.get());
+    }
+    assertNotSame(first, futures.get(1).get());
+    assertEquals(1, calls.get());
+    assertEquals(0, singleFlight.size());
+  }
+
+  private List<Future<List<String>>> executeConcurrently(int count, final String key,
+                                                         final SingleFlight.Call<List<String>> call) {
+    ExecutorService executorService = Executors.newFixedThreadPool(count);
+    List<Future<List<String>>> futures = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      futures.add(executorService.submit(new Callable<List<String>>() {
+        @Override
+        public List<String> call() throws Exception {
+          return singleFlight.execute(key, call);
+        }
+      }));
+    }
+    executorService.shutdown();
+    return futures;
+  }
+
+  private void awaitWaiting(int count) throws InterruptedException {
+    while (calls.get() == 0) {
+      Thread.sleep(10);
+    }
+    Thread.sleep(100 * count);
+  }
+
+  @Test
+  public void shouldNotShareDifferentKeys() throws Exception {
+    release.countDown();
+    singleFlight.execute("a", createCall("x"));
+    singleFlight.execute("b", createCall("y"));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void shouldCallAgainAfterFinishedCall() throws Exception {
+    release.countDown();
+    singleFlight.execute("a", createCall("x"));
+    singleFlight.execute("a", createCall("x"));
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  public void shouldShareObjects() throws Exception {
+    final Object object = new Object();
+    SingleFlight.Call<Object> call = new SingleFlight.Call<Object>() {
+      @Override
+      public Object call() throws IOException {
+        return object;
+      }
+    };
+    assertSame(object, singleFlight.execute("a", call));
+  }
+
+  @Test
+  public void shouldHandFailureToAllCallers() throws Exception {
+    final CountDownLatch started = new CountDownLatch(1);
+    List<Future<List<String>>> futures = executeConcurrently(2, "a", new SingleFlight.Call<List<String>>() {
+      @Override
+      public List<String> call() throws IOException {
+        calls.incrementAndGet();
+        started.countDown();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        throw new IOException("down");
+      }
+    });
+    started.await();
+    awaitWaiting(2);
+    release.countDown();
+    for (Future<List<String>> future : futures) {
+      try {
+        future.get();
+        fail();
+      } catch (ExecutionException e) {
+        assertEquals("down", e.getCause().getMessage());
+      }
+    }
+    assertEquals(1, calls.get());
+  }
+
+  @Test
+  public void shouldHandErrorToAllCallers() throws Exception {
+    List<Future<List<String>>> futures = executeConcurrently(2, "a", new SingleFlight.Call<List<String>>() {
+      @Override
+      public List<String> call() throws IOException {
+        calls.incrementAndGet();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        throw new StackOverflowError("deep");
+      }
+    });
+    awaitWaiting(2);
+    release.countDown();
+    for (Future<List<String>> future : futures) {
+      try {
+        future.get(5, TimeUnit.SECONDS);
+        fail();
+      } catch (ExecutionException e) {
+        assertEquals("deep", e.getCause().getMessage());
+      }
+    }
+    assertEquals(1, calls.get());
+    assertEquals(0, singleFlight.size());
+  }
+
+  @Test
+  public void shouldCopyInnerLists() throws Exception {
+    final SingleFlight.Call<List<List<String>>> call = new SingleFlight.Call<List<List<String>>>() {
+      @Override
+      public List<List<String>> call() throws IOException {
+        calls.incrementAndGet();
+        try {
+          release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+        return Arrays.asList(Arrays.asList("x"));
+      }
+    };
+    ExecutorService executorService = Executors.newFixedThreadPool(2);
+    List<Future<List<List<String>>>> futures = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      futures.add(executorService.submit(new Callable<List<List<String>>>() {
+        @Override
+        public List<List<String>> call() throws Exception {
+          return singleFlight.execute("a", call);
+        }
+      }));
+    }
+    executorService.shutdown();
+    awaitWaiting(2);
+    release.countDown();
+    List<List<String>> first = futures.get(0).get();
+    List<List<String>> second = futures.get(1).get();
+    assertEquals(first, second);
+    assertNotSame(first.get(0), second.get(0));
+    assertEquals(1, calls.get());
+  }
+
+}
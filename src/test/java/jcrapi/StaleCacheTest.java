@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import com.google.common.collect.ImmutableMap;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class StaleCacheTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final List<Runnable> tasks = new ArrayList<>();
+
+  private final Executor executor = new Executor() {
+    @Override
+    public void execute(Runnable runnable) {
+      tasks.add(runnable);
+    }
+  };
+
+  private final StaleCache staleCache = new StaleCache(10, 1000, ImmutableMap.of("clan/{}", 5000L), 10000,
+      ImmutableMap.of("clan/{}", 0L), executor, ticker);
+
+  private int loads;
+
+  private final StaleCache.Loader loader = new StaleCache.Loader() {
+    @Override
+    public Object load() throws IOException {
+      return "value" + ++loads;
+    }
+  };
+
+  private final Map<String, Long> noTtls = ImmutableMap.of();
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoSize() {
+    new StaleCache(0, 1000, noTtls, 0, noTtls, executor, ticker);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNegativeSoftTtl() {
+    new StaleCache(10, -1, noTtls, 0, noTtls, executor, ticker);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNegativeHardTtl() {
+    new StaleCache(10, 1000, noTtls, -1, noTtls, executor, ticker);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullExecutor() {
+    new StaleCache(10, 1000, noTtls, 0, noTtls, null, ticker);
+  }
+
+  @Test
+  public void shouldHaveTtlsPerTemplate() {
+    assertEquals(1000, staleCache.getSoftTtlMillis("player/{}"));
+    assertEquals(5000, staleCache.getSoftTtlMillis("clan/{}"));
+    assertEquals(10000, staleCache.getHardTtlMillis("player/{}"));
+    assertEquals(0, staleCache.getHardTtlMillis("clan/{}"));
+  }
+
+  @Test
+  public void shouldServeFreshAnswer() throws IOException {
+    assertEquals("value1", staleCache.get("player/{}", "a", loader));
+    assertEquals("value1", staleCache.get("player/{}", "a", loader));
+    assertEquals(1, loads);
+    assertEquals(0, tasks.size());
+  }
+
+  @Test
+  public void shouldServeStaleAnswerWhileRefreshingOnce() throws IOException {
+    staleCache.get("player/{}", "a", loader);
+    ticker.advance(1, TimeUnit.SECONDS);
+    assertEquals("value1", staleCache.get("player/{}", "a", loader));
+    assertEquals("value1", staleCache.get("player/{}", "a", loader));
+    assertEquals(1, tasks.size());
+    tasks.get(0).run();
+    assertEquals("value2", staleCache.get("player/{}", "a", loader));
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void shouldRefreshAgainAfterFailedRefresh() throws IOException {
+    staleCache.get("player/{}", "a", loader);
+    ticker.advance(1, TimeUnit.SECONDS);
+    staleCache.get("player/{}", "a", new StaleCache.Loader() {
+      @Override
+      public Object load() throws IOException {
+        throw new IOException("down");
+      }
+    });
+    tasks.get(0).run();
+    assertEquals("value1", staleCache.get("player/{}", "a", loader));
+    assertEquals(2, tasks.size());
+  }
+
+  @Test
+  public void shouldLoadAfterHardTtl() throws IOException {
+    staleCache.get("player/{}", "a", loader);
+    ticker.advance(10, TimeUnit.SECONDS);
+    assertEquals("value2", staleCache.get("player/{}", "a", loader));
+    assertEquals(0, tasks.size());
+  }
+
+  @Test
+  public void shouldServeStaleWithoutHardTtl() throws IOException {
+    staleCache.get("clan/{}", "a", loader);
+    ticker.advance(1, TimeUnit.DAYS);
+    assertEquals("value1", staleCache.get("clan/{}", "a", loader));
+    assertEquals(1, tasks.size());
+  }
+
+  @Test
+  public void shouldCopyLists() throws IOException {
+    final List<String> list = Arrays.asList("a", "b");
+    StaleCache.Loader listLoader = new StaleCache.Loader() {
+      @Override
+      public Object load() throws IOException {
+        return list;
+      }
+    };
+    assertNotSame(list, staleCache.get("player/{}", "a", listLoader));
+    assertEquals(list, staleCache.get("player/{}", "a", listLoader));
+    assertEquals(1, staleCache.size());
+  }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.base.Function;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jcrapi.model.Profile;
+import jcrapi.request.ProfileRequest;
+import jcrapi.request.Request;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class TagStoreTest {
+
+  private final TestTicker ticker = new TestTicker();
+
+  private final TagStore<Profile> tagStore = new TagStore<>(100, 1000, Tags.PROFILE_TAG, ticker);
+
+  private final List<List<String>> loads = new ArrayList<>();
+
+  private final Request request = ProfileRequest.builder("A").build();
+
+  private final Coalescer.Loader<Profile> loader = new Coalescer.Loader<Profile>() {
+    @Override
+    public List<Profile> load(List<String> tags, Request request) throws IOException {
+      loads.add(tags);
+      List<Profile> profiles = new ArrayList<>();
+      for (String tag : tags) {
+        if (!"MISSING".equals(tag)) {
+          Profile profile = new Profile();
+          profile.setTag("#" + Tags.normalize(tag));
+          profiles.add(profile);
+        }
+      }
+      return profiles;
+    }
+  };
+
+  @Test(expected = IllegalArgumentException.class)
+  public void failCreateBecauseNoTtl() {
+    new TagStore<>(100, 0, Tags.PROFILE_TAG);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void failCreateBecauseNullTagFunction() {
+    new TagStore<Profile>(100, 1000, null);
+  }
+
+  private List<String> getTags(List<Profile> profiles) {
+    List<String> tags = new ArrayList<>();
+    for (Profile profile : profiles) {
+      tags.add(profile.getTag());
+    }
+    return tags;
+  }
+
+  @Test
+  public void shouldLoadOnlyMissingTags() throws IOException {
+    tagStore.get(Arrays.asList("A", "B"), request, loader);
+    List<Profile> profiles = tagStore.get(Arrays.asList("C", "#b", "A", "D"), request, loader);
+    assertEquals(Arrays.asList("#C", "#B", "#A", "#D"), getTags(profiles));
+    assertEquals(Arrays.asList(Arrays.asList("A", "B"), Arrays.asList("C", "D")), loads);
+  }
+
+  @Test
+  public void shouldNotLoadIfAllTagsAreFresh() throws IOException {
+    tagStore.get(Arrays.asList("A", "B"), request, loader);
+    assertEquals(Arrays.asList("#B", "#A"), getTags(tagStore.get(Arrays.asList("B", "A"), request, loader)));
+    assertEquals(1, loads.size());
+  }
+
+  @Test
+  public void shouldReloadOnlyStaleTags() throws IOException {
+    tagStore.get(Arrays.asList("A"), request, loader);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    tagStore.get(Arrays.asList("B"), request, loader);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    tagStore.get(Arrays.asList("A", "B"), request, loader);
+    assertEquals(Arrays.asList("A"), loads.get(2));
+  }
+
+  @Test
+  public void shouldSeparateQueryParameters() throws IOException {
+    tagStore.get(Arrays.asList("A"), request, loader);
+    tagStore.get(Arrays.asList("A"), ProfileRequest.builder("A").keys(Arrays.asList("name")).build(), loader);
+    assertEquals(2, loads.size());
+    assertEquals(2, tagStore.size());
+  }
+
+  @Test
+  public void shouldServePutElement() throws IOException {
+    Profile profile = new Profile();
+    profile.setTag("#A");
+    tagStore.put(profile, request);
+    assertSame(profile, tagStore.get(Arrays.asList("A"), request, loader).get(0));
+    assertEquals(0, loads.size());
+  }
+
+  @Test
+  public void shouldUpdateElementsOfAllQueryParameters() throws IOException {
+    Request keysRequest = ProfileRequest.builder("A").keys(Arrays.asList("name")).build();
+    tagStore.get(Arrays.asList("A", "B"), request, loader);
+    tagStore.get(Arrays.asList("A"), keysRequest, loader);
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    tagStore.update("#a", Long.MAX_VALUE, new Function<Profile, Profile>() {
+      @Override
+      public Profile apply(Profile profile) {
+        Profile updated = new Profile();
+        updated.setTag(profile.getTag());
+        updated.setName("updated");
+        return updated;
+      }
+    });
+    ticker.advance(600, TimeUnit.MILLISECONDS);
+    assertEquals("updated", tagStore.get(Arrays.asList("A"), request, loader).get(0).getName());
+    assertEquals("updated", tagStore.get(Arrays.asList("A"), keysRequest, loader).get(0).getName());
+    assertEquals(2, loads.size());
+    tagStore.get(Arrays.asList("B"), request, loader);
+    assertEquals(3, loads.size());
+  }
+
+  @Test
+  public void shouldKeepElementIfUpdateReturnsNull() throws IOException {
+    Profile profile = tagStore.get(Arrays.asList("A"), request, loader).get(0);
+    tagStore.update("A", Long.MAX_VALUE, new Function<Profile, Profile>() {
+      @Override
+      public Profile apply(Profile profile) {
+        return null;
+      }
+    });
+    assertSame(profile, tagStore.get(Arrays.asList("A"), request, loader).get(0));
+  }
+
+  @Test
+  public void shouldNotUpdateElementNewerThanSource() throws IOException {
+    Profile profile = tagStore.get(Arrays.asList("A"), request, loader).get(0);
+    tagStore.update("A", System.currentTimeMillis() - TimeUnit.DAYS.toMillis(1), new Function<Profile, Profile>() {
+      @Override
+      public Profile apply(Profile profile) {
+        return new Profile();
+      }
+    });
+    assertSame(profile, tagStore.get(Arrays.asList("A"), request, loader).get(0));
+  }
+
+  @Test
+  public void shouldSkipTagsMissingInAnswer() throws IOException {
+    assertEquals(Arrays.asList("#A"), getTags(tagStore.get(Arrays.asList("A", "MISSING"), request, loader)));
+    tagStore.get(Arrays.asList("MISSING"), request, loader);
+    assertEquals(2, loads.size());
+  }
+
+}
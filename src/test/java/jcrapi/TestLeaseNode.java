@@ -0,0 +1,37 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package jcrapi;
+
+import java.io.File;
+
+/**
+ * @author Michael Lieshoff
+ */
+public class TestLeaseNode {
+
+  public static void main(String[] args) throws Exception {
+    FileLeaseCoordinator fileLeaseCoordinator =
+        new FileLeaseCoordinator(new File(args[0]), Double.parseDouble(args[1]));
+    LeasedThrottle leasedThrottle = new LeasedThrottle(fileLeaseCoordinator, 2, 1000);
+    int permits = Integer.parseInt(args[2]);
+    for (int i = 0; i < permits; i++) {
+      leasedThrottle.acquire();
+    }
+    System.out.println(permits);
+  }
+
+}
@@ -4,10 +4,13 @@ import static jcrapi.request.BuilderTestUtil.invokeBuildMethod;
 import static jcrapi.request.BuilderTestUtil.invokeMaxMethod;
 import static jcrapi.request.BuilderTestUtil.invokePageMethod;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
+import java.util.Map;
+
 import jcrapi.request.PaginatedRequest.PaginatedRequestBuilder;
 
 /**
@@ -61,4 +64,16 @@ public abstract class PaginatedRequestTestBase<A extends PaginatedRequest> exten
     assertEquals("75", getPaginatedRequest().getQueryParameters().get("page"));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldQueryForPage() throws Exception {
+    Map<String, String> queryParameters = getPaginatedRequest().forPage(3).getQueryParameters();
+    assertEquals("3", queryParameters.get("page"));
+    assertEquals("50", queryParameters.get("max"));
+  }
+
+  @Test
+  public void shouldQueryForFirstPage() throws Exception {
+    assertFalse(getPaginatedRequest().forPage(0).getQueryParameters().containsKey("page"));
+  }
+
+}